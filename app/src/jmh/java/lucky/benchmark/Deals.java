@@ -0,0 +1,44 @@
+package lucky.benchmark;
+
+import lucky.clock.VirtualGameClock;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import lucky.players.Player;
+import lucky.players.PlayerFactory;
+
+import java.util.Random;
+
+/**
+ * Builds realistic end-of-game positions for the benchmarks: two public cards and two private cards
+ * per player, dealt at random from a full pack the same way the game deals them.
+ */
+final class Deals {
+    static final int NB_PLAYERS = 4;
+    static final int NB_POSITIONS = 1024; // Power of two so that the next position is a mask away
+    static final long SEED = 30008;
+
+    final GameHand[] playingAreas = new GameHand[NB_POSITIONS];
+    final Player[][] players = new Player[NB_POSITIONS][NB_PLAYERS];
+
+    Deals(Random random) {
+        for (int position = 0; position < NB_POSITIONS; position++) {
+            GameHand pack = GameDeck.getInstance().toHand();
+            playingAreas[position] = new GameHand();
+            playingAreas[position].dealACardToHand(pack, random);
+            playingAreas[position].dealACardToHand(pack, random);
+            for (int i = 0; i < NB_PLAYERS; i++) {
+                players[position][i] = newPlayer("random");
+                players[position][i].setHand(new GameHand());
+                players[position][i].getHand().dealACardToHand(pack, random);
+                players[position][i].getHand().dealACardToHand(pack, random);
+            }
+        }
+    }
+
+    /**
+     * Creates a bot that never waits, so only its decision logic is measured.
+     */
+    static Player newPlayer(String playerType) {
+        return PlayerFactory.getInstance().createPlayer(playerType, 0, new VirtualGameClock());
+    }
+}
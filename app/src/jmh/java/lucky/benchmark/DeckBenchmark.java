@@ -0,0 +1,62 @@
+package lucky.benchmark;
+
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building, refilling and dealing the deck and looking up cards by name, as auto movements do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DeckBenchmark {
+    private static final int NB_NAMES = 256;
+    private final GameDeck deck = GameDeck.getInstance();
+    private final String[] cardNames = new String[NB_NAMES];
+    private GameHand pack;
+    private final GameHand resetPack = new GameHand();
+    private int nameIndex;
+
+    @Setup
+    public void setup() {
+        pack = deck.toHand();
+        Random random = new Random(Deals.SEED);
+        for (int i = 0; i < NB_NAMES; i++) {
+            GameCard card = pack.randomCard(random);
+            cardNames[i] = card.getRank().getRankCardValue() + card.getSuit().getSuitShortHand();
+        }
+    }
+
+    @Benchmark
+    public GameHand[] dealingOut() {
+        return deck.dealingOut(Deals.NB_PLAYERS, 2, false);
+    }
+
+    @Benchmark
+    public GameHand toHand() {
+        return deck.toHand();
+    }
+
+    @Benchmark
+    public GameHand resetPack() {
+        deck.resetPack(resetPack);
+        return resetPack;
+    }
+
+    @Benchmark
+    public GameCard getCardFromList() {
+        nameIndex = (nameIndex + 1) & (NB_NAMES - 1);
+        return pack.getCardFromList(cardNames[nameIndex]);
+    }
+}
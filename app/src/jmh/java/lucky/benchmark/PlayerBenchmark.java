@@ -0,0 +1,62 @@
+package lucky.benchmark;
+
+import lucky.GameState;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import lucky.players.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one bot turn: drawing a card and choosing the discard, for each bot type.
+ * The drawn card is put back into the pack after each turn so that every call sees a two-card hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PlayerBenchmark {
+    private static final int NB_DISCARDED_CARDS = 8; // Roughly the discards seen halfway through a game
+
+    @Param({"random", "basic", "clever"})
+    public String playerType;
+
+    private Player player;
+    private GameHand pack;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        random = new Random(Deals.SEED);
+        pack = GameDeck.getInstance().toHand();
+        player = Deals.newPlayer(playerType);
+        player.setHand(new GameHand());
+        GameState gameState = new GameState(Deals.NB_PLAYERS, Deals.SEED);
+        player.joinGame(gameState, 0);
+        player.getHand().dealACardToHand(pack, random);
+        player.getHand().dealACardToHand(pack, random);
+        GameHand discards = new GameHand();
+        for (int i = 0; i < NB_DISCARDED_CARDS; i++) {
+            gameState.getEventBus().onCardDiscarded(1, discards.dealACardToHand(pack, random));
+        }
+    }
+
+    @Benchmark
+    public GameCard getSelectedCard() {
+        GameCard selected = player.getSelectedCard(pack, random);
+        GameHand hand = player.getHand();
+        GameCard drawn = hand.get(hand.getNumberOfCards() - 1);
+        hand.remove(drawn);
+        pack.insert(drawn);
+        return selected;
+    }
+}
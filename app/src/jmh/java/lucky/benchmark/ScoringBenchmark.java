@@ -0,0 +1,128 @@
+package lucky.benchmark;
+
+import lucky.gameobjects.GameHand;
+import lucky.score.EndgameBatch;
+import lucky.score.EndgameBatchScorer;
+import lucky.score.MaxScoreTable;
+import lucky.score.OptionOneScoreStrategy;
+import lucky.score.OptionThreeScoreStrategy;
+import lucky.score.OptionTwoScoreStrategy;
+import lucky.score.ScoreActors;
+import lucky.score.ScoreStrategy;
+import lucky.score.ScoreStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-of-game scoring: the ScoreActors checks, each score strategy and the precomputed table.
+ * Every call scores the next of Deals.NB_POSITIONS random positions so branch history stays realistic,
+ * except the batch scorers, which score all of them per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScoringBenchmark {
+    private final ScoreActors scoreActors = ScoreActors.getInstance();
+    private final ScoreStrategy optionOne = new OptionOneScoreStrategy();
+    private final ScoreStrategy optionTwo = new OptionTwoScoreStrategy();
+    private final ScoreStrategy optionThree = new OptionThreeScoreStrategy();
+    private final ScoreStrategy compositeMax = ScoreStrategyFactory.getInstance().getCompositeMaxScoreStrategy();
+    private final int[] scores = new int[Deals.NB_PLAYERS];
+    private final EndgameBatchScorer scalarBatchScorer = new EndgameBatchScorer();
+    private final EndgameBatchScorer batchScorer = EndgameBatchScorer.create();
+    private final EndgameBatch batch = new EndgameBatch(Deals.NB_PLAYERS, Deals.NB_POSITIONS);
+    private int[][] cardIds; // Private card ids of every player followed by the two public card ids
+    private Deals deals;
+    private int position;
+
+    @Setup
+    public void setup() {
+        deals = new Deals(new Random(Deals.SEED));
+        cardIds = new int[Deals.NB_POSITIONS][2 * Deals.NB_PLAYERS + 2];
+        for (int p = 0; p < Deals.NB_POSITIONS; p++) {
+            for (int i = 0; i < Deals.NB_PLAYERS; i++) {
+                GameHand hand = deals.players[p][i].getHand();
+                cardIds[p][2 * i] = hand.get(0).getCardId();
+                cardIds[p][2 * i + 1] = hand.get(1).getCardId();
+            }
+            cardIds[p][2 * Deals.NB_PLAYERS] = deals.playingAreas[p].get(0).getCardId();
+            cardIds[p][2 * Deals.NB_PLAYERS + 1] = deals.playingAreas[p].get(1).getCardId();
+            batch.add(cardIds[p], cardIds[p][2 * Deals.NB_PLAYERS], cardIds[p][2 * Deals.NB_PLAYERS + 1]);
+        }
+    }
+
+    private int nextPosition() {
+        position = (position + 1) & (Deals.NB_POSITIONS - 1);
+        return position;
+    }
+
+    @Benchmark
+    public int[] calculateScoreEndOfGame() {
+        int p = nextPosition();
+        scoreActors.calculateScoreEndOfGame(deals.playingAreas[p], deals.players[p], scores);
+        return scores;
+    }
+
+    @Benchmark
+    public boolean isThirteen() {
+        int p = nextPosition();
+        return scoreActors.isThirteen(deals.playingAreas[p], deals.players[p][0].getHand());
+    }
+
+    @Benchmark
+    public int optionOneScoreStrategy() {
+        int p = nextPosition();
+        return optionOne.calculateScore(deals.players[p][0], deals.playingAreas[p]);
+    }
+
+    @Benchmark
+    public int optionTwoScoreStrategy() {
+        int p = nextPosition();
+        return optionTwo.calculateScore(deals.players[p][0], deals.playingAreas[p]);
+    }
+
+    @Benchmark
+    public int optionThreeScoreStrategy() {
+        int p = nextPosition();
+        return optionThree.calculateScore(deals.players[p][0], deals.playingAreas[p]);
+    }
+
+    @Benchmark
+    public int compositeMaxScoreStrategy() {
+        int p = nextPosition();
+        return compositeMax.calculateScore(deals.players[p][0], deals.playingAreas[p]);
+    }
+
+    @Benchmark
+    public int maxScoreTable() {
+        int[] ids = cardIds[nextPosition()];
+        return MaxScoreTable.getMaxScore(ids[0], ids[1], ids[2 * Deals.NB_PLAYERS], ids[2 * Deals.NB_PLAYERS + 1]);
+    }
+
+    @Benchmark
+    public int[] maxScoreTableEndOfGame() {
+        int[] ids = cardIds[nextPosition()];
+        MaxScoreTable.scoreEndOfGame(ids, ids[2 * Deals.NB_PLAYERS], ids[2 * Deals.NB_PLAYERS + 1], scores);
+        return scores;
+    }
+
+    @Benchmark
+    public EndgameBatch scalarBatchScorer() {
+        scalarBatchScorer.score(batch);
+        return batch;
+    }
+
+    @Benchmark
+    public EndgameBatch vectorBatchScorer() {
+        batchScorer.score(batch);
+        return batch;
+    }
+}
@@ -7,7 +7,13 @@ public class Driver {
 
     public static void main(String[] args) {
         final Properties properties = PropertiesLoader.loadPropertiesFile(DEFAULT_PROPERTIES_PATH);
-        String logResult = LuckyThirdteen.getInstance(properties).runApp();
+        String logResult;
+        if (Boolean.parseBoolean(properties.getProperty("isHeadless"))) {
+            // Plays the game without opening the game window
+            logResult = new GameEngine(properties).runGame();
+        } else {
+            logResult = LuckyThirdteen.getInstance(properties).runApp();
+        }
         System.out.println("logResult = " + logResult);
     }
 }
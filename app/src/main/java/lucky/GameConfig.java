@@ -0,0 +1,418 @@
+package lucky;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import lucky.gameobjects.CardSet;
+import lucky.players.PlayerFactory;
+import lucky.players.PlayerSettings;
+
+/**
+ * Represents the validated settings of a game, parsed once from the game properties.
+ * Card names are resolved to CardSet ids up front, so dealing and the predefined moves never parse strings,
+ * and a config can be shared by any number of games running at the same time.
+ * Variants of a config, e.g. for a parameter sweep, are made with the with methods, which return a new config.
+ * This class is immutable.
+ */
+public final class GameConfig {
+    public static final int DEFAULT_NB_PLAYERS = 4;
+    public static final int DEFAULT_NB_ROUNDS = 4;
+    public static final int NB_START_CARDS = 2; // Fixed by the scoring rules, which use two private cards
+    public static final int NB_FACE_UP_CARDS = 2; // Fixed by the scoring rules, which use two public cards
+    private static final int NO_CARD = -1;
+    private static final int[] NO_CARDS = new int[0];
+    private static final List<String> PLAYER_SETTING_KEYS = List.of("mcts.iterations", "mcts.threads", "mcts.budget",
+                                                                      "mcts.particles", "endgame.depth");
+
+    private final String[] playerTypes;
+    private final int nbRounds;
+    private final boolean isAuto;
+    private final int thinkingTime;
+    private final int delayTime;
+    private final String clockName; // Null when the properties name no clock
+    private final int[] sharedInitialCards;
+    private final int[][] initialCards; // Per player
+    private final int[][] autoDraws; // Per player, the card drawn by each predefined move
+    private final int[][] autoDiscards; // Per player, the card discarded by each predefined move, or NO_CARD
+    private final PlayerSettings playerSettings; // Settings of the player types, e.g. mcts.iterations
+
+    private GameConfig(String[] playerTypes, int nbRounds, boolean isAuto, int thinkingTime, int delayTime,
+                       String clockName, int[] sharedInitialCards, int[][] initialCards, int[][] autoDraws,
+                       int[][] autoDiscards, PlayerSettings playerSettings) {
+        this.playerTypes = playerTypes;
+        this.nbRounds = nbRounds;
+        this.isAuto = isAuto;
+        this.thinkingTime = thinkingTime;
+        this.delayTime = delayTime;
+        this.clockName = clockName;
+        this.sharedInitialCards = sharedInitialCards;
+        this.initialCards = initialCards;
+        this.autoDraws = autoDraws;
+        this.autoDiscards = autoDiscards;
+        this.playerSettings = playerSettings;
+        validate();
+    }
+
+    /**
+     * Parses and validates game properties.
+     * Players are read from players.0 to players.(nbPlayers - 1), nbPlayers and nbRounds default to 4.
+     *
+     * @param properties Game properties.
+     * @return The config of the game.
+     * @throws IllegalArgumentException If a setting is missing or invalid.
+     */
+    public static GameConfig fromProperties(Properties properties) {
+        int nbPlayers = Math.max(0, parseInt(properties, "nbPlayers", DEFAULT_NB_PLAYERS));
+        String[] playerTypes = new String[nbPlayers];
+        int[][] initialCards = new int[nbPlayers][];
+        int[][] autoDraws = new int[nbPlayers][];
+        int[][] autoDiscards = new int[nbPlayers][];
+        for (int i = 0; i < nbPlayers; i++) {
+            playerTypes[i] = properties.getProperty("players." + i);
+            initialCards[i] = parseCards(properties.getProperty("players." + i + ".initialcards"));
+            parseMoves(properties.getProperty("players." + i + ".cardsPlayed"), i, autoDraws, autoDiscards);
+        }
+
+        // Keys named after a player type, e.g. mcts.iterations, are the settings of that type
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.indexOf('.');
+            if (separator > 0 && PlayerFactory.PLAYER_TYPES.contains(key.substring(0, separator))
+                                                            && !PLAYER_SETTING_KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown player setting: " + key);
+            }
+        }
+        PlayerSettings defaults = PlayerSettings.DEFAULTS;
+        PlayerSettings playerSettings = new PlayerSettings(
+                parseInt(properties, "mcts.iterations", defaults.getMctsIterations()),
+                parseInt(properties, "mcts.threads", defaults.getMctsThreads()),
+                parseBudget(properties.getProperty("mcts.budget"), defaults.isMctsTimeBudget()),
+                parseInt(properties, "mcts.particles", defaults.getMctsParticles()),
+                parseInt(properties, "endgame.depth", defaults.getEndgameDepth()));
+        return new GameConfig(playerTypes,
+                parseInt(properties, "nbRounds", DEFAULT_NB_ROUNDS),
+                Boolean.parseBoolean(properties.getProperty("isAuto")),
+                parseInt(properties, "thinkingTime", 1),
+                parseInt(properties, "delayTime", 1),
+                properties.getProperty("clock"),
+                parseCards(properties.getProperty("shared.initialcards")),
+                initialCards, autoDraws, autoDiscards, playerSettings);
+    }
+
+    private static int parseInt(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    private static boolean parseBudget(String budget, boolean defaultValue) {
+        if (budget == null) {
+            return defaultValue;
+        }
+        switch (budget.trim()) {
+            case "iterations":
+                return false;
+            case "time":
+                return true;
+            default:
+                throw new IllegalArgumentException("Invalid mcts.budget, iterations or time: " + budget);
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of card names, skipping empty entries as the properties files allow.
+     */
+    private static int[] parseCards(String cardNames) {
+        if (cardNames == null) {
+            return NO_CARDS;
+        }
+        return Arrays.stream(cardNames.split(","))
+                .map(String::trim)
+                .filter(cardName -> cardName.length() > 1)
+                .mapToInt(GameConfig::parseCard)
+                .toArray();
+    }
+
+    private static int parseCard(String cardName) {
+        int cardId = CardSet.parseCardId(cardName.trim());
+        if (cardId < 0) {
+            throw new IllegalArgumentException("Unknown card: " + cardName);
+        }
+        return cardId;
+    }
+
+    /**
+     * Parses predefined moves such as "3C-2C,4C": the card drawn, then optionally the card discarded.
+     */
+    private static void parseMoves(String moves, int player, int[][] autoDraws, int[][] autoDiscards) {
+        if (moves == null || moves.isEmpty()) {
+            autoDraws[player] = NO_CARDS;
+            autoDiscards[player] = NO_CARDS;
+            return;
+        }
+        String[] moveStrings = moves.split(",");
+        autoDraws[player] = new int[moveStrings.length];
+        autoDiscards[player] = new int[moveStrings.length];
+        for (int i = 0; i < moveStrings.length; i++) {
+            String[] cardStrings = moveStrings[i].split("-");
+            autoDraws[player][i] = parseCard(cardStrings[0]);
+            autoDiscards[player][i] = cardStrings.length > 1 ? parseCard(cardStrings[1]) : NO_CARD;
+        }
+    }
+
+    private void validate() {
+        int nbPlayers = playerTypes.length;
+        if (nbPlayers < 2) {
+            throw new IllegalArgumentException("A game needs at least 2 players, not " + nbPlayers);
+        }
+        for (int i = 0; i < nbPlayers; i++) {
+            if (playerTypes[i] == null || !PlayerFactory.PLAYER_TYPES.contains(playerTypes[i])) {
+                throw new IllegalArgumentException("Unknown player type for players." + i + ": " + playerTypes[i]);
+            }
+            if (i > 0 && "human".equals(playerTypes[i])) {
+                throw new IllegalArgumentException("Only players.0 can be a human player");
+            }
+        }
+        if (nbRounds < 1) {
+            throw new IllegalArgumentException("A game needs at least 1 round, not " + nbRounds);
+        }
+        if (thinkingTime < 0 || delayTime < 0) {
+            throw new IllegalArgumentException("Thinking and delay times cannot be negative");
+        }
+        if (playerSettings.getMctsIterations() < 1 || playerSettings.getMctsThreads() < 1) {
+            throw new IllegalArgumentException("An mcts player needs at least 1 iteration and 1 thread");
+        }
+        if (playerSettings.getMctsParticles() < 0 || playerSettings.getEndgameDepth() < 0) {
+            throw new IllegalArgumentException("mcts.particles and endgame.depth cannot be negative");
+        }
+        int nbCardsNeeded = nbPlayers * (NB_START_CARDS + nbRounds) + NB_FACE_UP_CARDS;
+        if (nbCardsNeeded > CardSet.NB_CARDS) {
+            throw new IllegalArgumentException(nbPlayers + " players cannot play " + nbRounds + " rounds with "
+                                                                               + CardSet.NB_CARDS + " cards");
+        }
+
+        // Each initial card is dealt once
+        long dealt = CardSet.EMPTY;
+        if (sharedInitialCards.length > NB_FACE_UP_CARDS) {
+            throw new IllegalArgumentException("At most " + NB_FACE_UP_CARDS + " shared initial cards");
+        }
+        for (int cardId : sharedInitialCards) {
+            dealt = addInitialCard(dealt, cardId);
+        }
+        for (int i = 0; i < nbPlayers; i++) {
+            if (initialCards[i].length > NB_START_CARDS) {
+                throw new IllegalArgumentException("At most " + NB_START_CARDS + " initial cards for players." + i);
+            }
+            for (int cardId : initialCards[i]) {
+                dealt = addInitialCard(dealt, cardId);
+            }
+        }
+    }
+
+    private static long addInitialCard(long dealt, int cardId) {
+        if (CardSet.contains(dealt, cardId)) {
+            throw new IllegalArgumentException("Initial card dealt twice: " + CardSet.cardName(cardId));
+        }
+        return CardSet.add(dealt, cardId);
+    }
+
+    /**
+     * Creates a copy of this config with other players.
+     * Seats beyond the current ones get no initial cards and no predefined moves.
+     *
+     * @param playerTypes The player type of each seat.
+     * @return The new config.
+     */
+    public GameConfig withPlayerTypes(String... playerTypes) {
+        int nbPlayers = playerTypes.length;
+        int[][] newInitialCards = new int[nbPlayers][];
+        int[][] newAutoDraws = new int[nbPlayers][];
+        int[][] newAutoDiscards = new int[nbPlayers][];
+        for (int i = 0; i < nbPlayers; i++) {
+            boolean isSeated = i < this.playerTypes.length;
+            newInitialCards[i] = isSeated ? initialCards[i] : NO_CARDS;
+            newAutoDraws[i] = isSeated ? autoDraws[i] : NO_CARDS;
+            newAutoDiscards[i] = isSeated ? autoDiscards[i] : NO_CARDS;
+        }
+        return new GameConfig(playerTypes.clone(), nbRounds, isAuto, thinkingTime, delayTime, clockName,
+                sharedInitialCards, newInitialCards, newAutoDraws, newAutoDiscards, playerSettings);
+    }
+
+    /**
+     * Creates a copy of this config lasting another number of rounds.
+     *
+     * @param nbRounds The number of rounds.
+     * @return The new config.
+     */
+    public GameConfig withNbRounds(int nbRounds) {
+        return new GameConfig(playerTypes, nbRounds, isAuto, thinkingTime, delayTime, clockName,
+                sharedInitialCards, initialCards, autoDraws, autoDiscards, playerSettings);
+    }
+
+    /**
+     * Creates a copy of this config with other shared initial cards.
+     *
+     * @param cardNames Comma-separated card names, as in shared.initialcards, empty for none.
+     * @return The new config.
+     */
+    public GameConfig withSharedInitialCards(String cardNames) {
+        return new GameConfig(playerTypes, nbRounds, isAuto, thinkingTime, delayTime, clockName,
+                parseCards(cardNames), initialCards, autoDraws, autoDiscards, playerSettings);
+    }
+
+    public int getNbPlayers() {
+        return playerTypes.length;
+    }
+
+    public String getPlayerType(int player) {
+        return playerTypes[player];
+    }
+
+    public String[] getPlayerTypes() {
+        return playerTypes.clone();
+    }
+
+    public int getNbRounds() {
+        return nbRounds;
+    }
+
+    public boolean isAuto() {
+        return isAuto;
+    }
+
+    public int getThinkingTime() {
+        return thinkingTime;
+    }
+
+    public int getDelayTime() {
+        return delayTime;
+    }
+
+    /**
+     * Gets the name of the clock pacing the game.
+     *
+     * @param defaultName The clock used when the properties name none.
+     * @return The clock name (real, virtual).
+     */
+    public String getClockName(String defaultName) {
+        return clockName != null ? clockName : defaultName;
+    }
+
+    /**
+     * Gets the public cards dealt before the random ones.
+     *
+     * @return The card ids.
+     */
+    public int[] getSharedInitialCards() {
+        return sharedInitialCards.clone();
+    }
+
+    /**
+     * Gets the cards dealt to a player before the random ones.
+     *
+     * @param player Index of the player.
+     * @return The card ids.
+     */
+    public int[] getInitialCards(int player) {
+        return initialCards[player].clone();
+    }
+
+    /**
+     * Gets the number of predefined moves of a player in auto mode.
+     *
+     * @param player Index of the player.
+     * @return The number of moves.
+     */
+    public int getNbAutoMoves(int player) {
+        return autoDraws[player].length;
+    }
+
+    /**
+     * Gets the card a player draws in a predefined move.
+     *
+     * @param player Index of the player.
+     * @param move Index of the move.
+     * @return The card id.
+     */
+    public int getAutoDraw(int player, int move) {
+        return autoDraws[player][move];
+    }
+
+    /**
+     * Gets the card a player discards in a predefined move.
+     *
+     * @param player Index of the player.
+     * @param move Index of the move.
+     * @return The card id, or -1 if the player picks the discard itself.
+     */
+    public int getAutoDiscard(int player, int move) {
+        return autoDiscards[player][move];
+    }
+
+    /**
+     * Gets the settings of the player types read by PlayerFactory, e.g. mcts.iterations.
+     *
+     * @return The validated settings.
+     */
+    public PlayerSettings getPlayerSettings() {
+        return playerSettings;
+    }
+
+    /**
+     * Describes every setting of the config, e.g. to check that a checkpoint was written for the same games.
+     * Two configs have the same fingerprint exactly when all their settings are equal.
+     *
+     * @return The canonical description of the config.
+     */
+    public String fingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append("players=").append(String.join(",", playerTypes))
+                   .append(";rounds=").append(nbRounds)
+                   .append(";auto=").append(isAuto)
+                   .append(";thinkingTime=").append(thinkingTime)
+                   .append(";delayTime=").append(delayTime)
+                   .append(";clock=").append(clockName)
+                   .append(";shared=");
+        appendCards(fingerprint, sharedInitialCards);
+        for (int i = 0; i < playerTypes.length; i++) {
+            fingerprint.append(";players.").append(i).append(".initial=");
+            appendCards(fingerprint, initialCards[i]);
+            fingerprint.append(";players.").append(i).append(".moves=");
+            for (int move = 0; move < autoDraws[i].length; move++) {
+                fingerprint.append(move > 0 ? "," : "").append(CardSet.cardName(autoDraws[i][move]));
+                if (autoDiscards[i][move] != NO_CARD) {
+                    fingerprint.append('-').append(CardSet.cardName(autoDiscards[i][move]));
+                }
+            }
+        }
+        fingerprint.append(';').append(playerSettings);
+        return fingerprint.toString();
+    }
+
+    private static void appendCards(StringBuilder text, int[] cardIds) {
+        for (int i = 0; i < cardIds.length; i++) {
+            text.append(i > 0 ? "," : "").append(CardSet.cardName(cardIds[i]));
+        }
+    }
+
+    /**
+     * Describes the settings that set the games of a config apart, e.g. in a sweep results table.
+     * Configs differing in other settings can share a description, so configs are told apart by fingerprint.
+     *
+     * @return The players, the number of rounds and the shared initial cards.
+     */
+    @Override
+    public String toString() {
+        StringBuilder shared = new StringBuilder();
+        for (int cardId : sharedInitialCards) {
+            shared.append(shared.length() > 0 ? " " : "").append(CardSet.cardName(cardId));
+        }
+        return String.join(" ", playerTypes) + ", " + nbRounds + " rounds, shared [" + shared + "]";
+    }
+}
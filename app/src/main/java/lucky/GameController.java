@@ -1,134 +1,108 @@
 package lucky;
 
-import ch.aplu.jcardgame.*;
-
-import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.random.RandomGenerator;
 
+import lucky.clock.GameClock;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
 import lucky.gameobjects.GameDeck;
 import lucky.gameobjects.GameHand;
-import lucky.players.CleverPlayer;
+import lucky.gameobjects.ZobristKeys;
 import lucky.players.HumanPlayer;
 import lucky.players.Player;
 import lucky.players.PlayerFactory;
-
-import static ch.aplu.util.BaseTimer.delay;
+import lucky.profiling.DealEvent;
+import lucky.profiling.DecisionEvent;
+import lucky.profiling.TurnEvent;
 
 /**
  * Represents a class that manages the game play logic and flow.
+ * The controller works on a plain GameState and reports changes to a GameObserver,
+ * so it does not depend on the game window.
  * This class constitutes a part of facade design pattern.
- * This class is implemented as a singleton.
+ * Each GameEngine owns its own controller, so several games can run at the same time.
  */
 public class GameController {
-    // Singleton strategy
-    private static GameController gameController;
     // Game logic attributes
-    private int delayTime; // value given by lucky.LuckyThirdteen
-    private int thinkingTime;
-    private final int NB_START_CARDS = 2; // Non-def value should be given by lucky.LuckyThirdteen
-    private final int NB_FACE_UP_CARDS = 2; // Non-def value should be given by lucky.LuckyThirdteen
+    private final GameConfig config;
+    private final int thinkingTime;
+    private final int delayTime;
 
     // Object-related attributes
-    private int nbPlayers; // value given by lucky.LuckyThirdteen
-    private List<List<String>> playerAutoMovements;
+    private int nbPlayers;
     private int[] autoIndexHands;
-    private List<Card> cardsPlayed;
-    private Hand pack;
-    private Card selected;
-
-    private GameController(int nbPlayers, int thinkingTime, int delayTime) {
-        this.nbPlayers = nbPlayers;
-        this.thinkingTime = thinkingTime;
-        this.delayTime = delayTime;
-    }
-    public static GameController getInstance(int nbPlayers, int thinkingTime, int delayTime) {
-        if (gameController == null) {
-            gameController = new GameController (nbPlayers, thinkingTime, delayTime);
-        }
-        return gameController;
-    }
+    private GameState gameState;
+    private GameObserver observer;
+    private GameClock clock;
+    private GameCard selected;
+    private volatile int humanSeat; // The seat asked for humanMove, written before it
+    private volatile CompletableFuture<GameCard> humanMove; // The move a human player is asked for, if any
 
-    // Init methods
-    public void setupPlayerAutoMovements(Properties properties) {
-        String player0AutoMovement = properties.getProperty("players.0.cardsPlayed");
-        String player1AutoMovement = properties.getProperty("players.1.cardsPlayed");
-        String player2AutoMovement = properties.getProperty("players.2.cardsPlayed");
-        String player3AutoMovement = properties.getProperty("players.3.cardsPlayed");
-
-        String[] playerMovements = new String[] {"", "", "", ""};
-        if (player0AutoMovement != null) {
-            playerMovements[0] = player0AutoMovement;
-        }
-        if (player1AutoMovement != null) {
-            playerMovements[1] = player1AutoMovement;
-        }
-        if (player2AutoMovement != null) {
-            playerMovements[2] = player2AutoMovement;
-        }
-        if (player3AutoMovement != null) {
-            playerMovements[3] = player3AutoMovement;
-        }
-        for (String movementString : playerMovements) {
-            if (movementString.isEmpty()) {
-                playerAutoMovements.add(new ArrayList<>());
-                continue;
-            }
-            List<String> movements = Arrays.asList(movementString.split(","));
-            playerAutoMovements.add(movements);
-        }
+    /**
+     * Creates the controller of a game.
+     *
+     * @param config The settings of the game.
+     */
+    public GameController(GameConfig config) {
+        this.config = config;
+        this.nbPlayers = config.getNbPlayers();
+        this.thinkingTime = config.getThinkingTime();
+        this.delayTime = config.getDelayTime();
     }
 
     /**
      * Deals cards to players and playingArea (public cards).
+     * The initial cards of the config are dealt first, then random cards complete the hands.
      *
      * @param players Array of players
      * @param playingArea The public card hand.
      * @param nbCardsPerPlayer Number of cards per player.
      * @param nbSharedCards Number of shared public cards.
-     * @param random The random seed from LuckyThirdteen.
-     * @param properties Game properties.
+     * @param random The deck's random stream.
      */
-    public void dealingOut(Player[] players, Hand playingArea, int nbCardsPerPlayer, int nbSharedCards, Random random, Properties properties) {
-        pack = GameDeck.getInstance("cover").toHand(false);
+    public void dealingOut(Player[] players, GameHand playingArea, int nbCardsPerPlayer, int nbSharedCards,
+                                                                                    RandomGenerator random) {
+        DealEvent event = new DealEvent();
+        event.begin();
+        GameHand pack = gameState.getPack();
+        GameDeck.getInstance().resetPack(pack);
+        dealCards(pack, players, playingArea, nbCardsPerPlayer, nbSharedCards, random);
+        event.end();
+        if (event.shouldCommit()) {
+            event.nbPlayers = nbPlayers;
+            event.nbCardsDealt = GameDeck.getInstance().getNumberOfCards() - pack.getNumberOfCards();
+            event.commit();
+        }
+    }
 
-        String initialShareKey = "shared.initialcards";
-        String initialShareValue = properties.getProperty(initialShareKey);
-        if (initialShareValue != null) {
-            String[] initialCards = initialShareValue.split(",");
-            for (String initialCard : initialCards) {
-                if (initialCard.length() <= 1) {
-                    continue;
-                }
-                Card card = ((GameHand)pack).getCardFromList(initialCard);
-                if (card != null) {
-                    card.removeFromHand(true);
-                    playingArea.insert(card, true);
-                }
+    private void dealCards(GameHand pack, Player[] players, GameHand playingArea, int nbCardsPerPlayer,
+                                                                  int nbSharedCards, RandomGenerator random) {
+
+        for (int initialCard : config.getSharedInitialCards()) {
+            GameCard card = pack.getCardById(initialCard);
+            if (card != null) {
+                pack.remove(card);
+                playingArea.insert(card);
             }
         }
         int cardsToShare = nbSharedCards - playingArea.getNumberOfCards();
 
         for (int j = 0; j < cardsToShare; j++) {
             if (pack.isEmpty()) return;
-            Card dealt = ((GameHand)pack).randomCard(random);
-            dealt.removeFromHand(true);
-            playingArea.insert(dealt, true);
+            GameCard dealt = pack.randomCard(random);
+            pack.remove(dealt);
+            playingArea.insert(dealt);
         }
 
         for (int i = 0; i < nbPlayers; i++) {
-            String initialCardsKey = "players." + i + ".initialcards";
-            String initialCardsValue = properties.getProperty(initialCardsKey);
-            if (initialCardsValue == null) {
-                continue;
-            }
-            String[] initialCards = initialCardsValue.split(",");
-            for (String initialCard: initialCards) {
-                if (initialCard.length() <= 1) {
-                    continue;
-                }
-                Card card = ((GameHand)pack).getCardFromList(initialCard);
+            for (int initialCard : config.getInitialCards(i)) {
+                GameCard card = pack.getCardById(initialCard);
                 if (card != null) {
-                    card.removeFromHand(false);
-                    players[i].getHand().insert(card, false);
+                    pack.remove(card);
+                    players[i].getHand().insert(card);
                 }
             }
         }
@@ -137,9 +111,9 @@ public class GameController {
             int cardsToDealt = nbCardsPerPlayer - players[i].getHand().getNumberOfCards();
             for (int j = 0; j < cardsToDealt; j++) {
                 if (pack.isEmpty()) return;
-                Card dealt = ((GameHand)pack).randomCard(random);
-                dealt.removeFromHand(false);
-                players[i].getHand().insert(dealt, false);
+                GameCard dealt = pack.randomCard(random);
+                pack.remove(dealt);
+                players[i].getHand().insert(dealt);
             }
         }
     }
@@ -147,46 +121,71 @@ public class GameController {
     /**
      * Initialises and sets up the game.
      *
-     * @param nbPlayers Number of players.
-     * @param players Array of players
-     * @param playingArea The public card hand.
-     * @param random The random seed from LuckyThirdteen.
-     * @param properties Game properties.
-     * @param delayTime Delay time in game per player.
+     * @param gameState The state of the game to set up.
+     * @param clock The clock pacing the game.
+     * @param observer The observer notified of changes during the game.
      */
-    public void initGame(int nbPlayers, Player[] players, Hand playingArea, Random random, Properties properties, int delayTime) {
-        playerAutoMovements = new ArrayList<>();
-        cardsPlayed = new ArrayList<>();
-        setupPlayerAutoMovements(properties);
-
-        this.nbPlayers = nbPlayers;
+    public void initGame(GameState gameState, GameClock clock, GameObserver observer) {
+        this.gameState = gameState;
+        this.observer = observer;
+        this.clock = clock;
+        this.nbPlayers = gameState.getNbPlayers();
         this.autoIndexHands = new int [nbPlayers];
-        this.delayTime = delayTime;
-        this.pack = new GameHand(GameDeck.getInstance("cover"));
 
         // Use factory method to create each player type
+        Player[] players = gameState.getPlayers();
         for (int i = 0; i < nbPlayers; i++) {
-            String playerTypeKey = "players." + i;
-            String playerType = properties.getProperty(playerTypeKey); // Gets the player type from properties file
-            if (playerType != null) {
-                players[i] = PlayerFactory.getInstance().createPlayer(playerType, thinkingTime);
-                players[i].setHand(new GameHand(GameDeck.getInstance("cover")));
-            }
+            players[i] = PlayerFactory.getInstance().createPlayer(config.getPlayerType(i), thinkingTime, clock,
+                                                                                  config.getPlayerSettings());
+            players[i].setHand(new GameHand(ZobristKeys.seat(i)));
+            players[i].joinGame(gameState, i);
         }
-        dealingOut(players, playingArea, NB_START_CARDS, NB_FACE_UP_CARDS, random, properties);
+        dealingOut(players, gameState.getPlayingArea(), GameConfig.NB_START_CARDS, GameConfig.NB_FACE_UP_CARDS,
+                                                                                      gameState.getDeckRandom());
 
         for (int i = 0; i < nbPlayers; i++) {
-            players[i].getHand().sort(GameHand.SortType.SUITPRIORITY, false);
+            players[i].getHand().sort(GameHand.SortType.SUITPRIORITY);
+        }
+    }
+
+    /**
+     * Hands over the card a human player picked to discard, waking up the game waiting for it.
+     * May be called from any thread, e.g. the window's event thread. A card picked while no human
+     * move is expected, or that the waiting player does not hold, is rejected and the turn keeps waiting.
+     *
+     * @param card The card selected by the human player.
+     * @return true if the card was handed over, false if it was rejected.
+     */
+    public boolean selectCard(GameCard card) {
+        CompletableFuture<GameCard> move = humanMove;
+        if (move == null) {
+            return false;
+        }
+        // The game's thread is blocked on the move, so the hand cannot change while it is checked
+        if (!gameState.getPlayers()[humanSeat].getHand().contains(card)) {
+            return false;
+        }
+        return move.complete(card);
+    }
+
+    /**
+     * Blocks the game's thread until the human player's move arrives, without polling.
+     *
+     * @param move The move asked for.
+     * @return The card selected by the human player.
+     * @throws CancellationException If the game's thread is interrupted, e.g. when its table is closed.
+     */
+    private GameCard awaitHumanMove(CompletableFuture<GameCard> move) {
+        try {
+            return move.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Game interrupted while waiting for a human move");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Human move failed", e.getCause());
+        } finally {
+            humanMove = null;
         }
-        // Set up human player for interaction
-        CardListener cardListener = new CardAdapter()  // Human players.Player plays card
-        {
-            public void leftDoubleClicked(Card card) {
-                selected = card;
-                players[0].getHand().setTouchEnabled(false);
-            }
-        };
-        players[0].getHand().addCardListener(cardListener);
     }
 
     /**
@@ -194,43 +193,53 @@ public class GameController {
      *
      * @param players Array of players.
      * @param nextPlayer Index of the next player.
-     * @param random The random seed from LuckyThirdteen.
+     * @param random The deck's random stream.
      * @param isAuto Flag for auto-mode.
      * @return true if pre-defined moves are finished, false otherwise.
      */
-    public boolean playRound1(Player[] players, int nextPlayer, Random random, boolean isAuto) {
+    public boolean playRound1(Player[] players, int nextPlayer, RandomGenerator random, boolean isAuto) {
+        TurnEvent event = new TurnEvent();
+        event.begin();
         selected = null;
         boolean finishedAuto = false;
+        GameHand pack = gameState.getPack();
 
         if (isAuto) {
             int nextPlayerAutoIndex = autoIndexHands[nextPlayer];
-            List<String> nextPlayerMovement = playerAutoMovements.get(nextPlayer);
-            String nextMovement;
 
-            if (nextPlayerMovement.size() > nextPlayerAutoIndex) {
-                nextMovement = nextPlayerMovement.get(nextPlayerAutoIndex);
+            if (config.getNbAutoMoves(nextPlayer) > nextPlayerAutoIndex) {
+                int drawnCardId = config.getAutoDraw(nextPlayer, nextPlayerAutoIndex);
+                int discardedCardId = config.getAutoDiscard(nextPlayer, nextPlayerAutoIndex);
                 nextPlayerAutoIndex++;
 
                 autoIndexHands[nextPlayer] = nextPlayerAutoIndex;
 
                 // Apply movement for player (removed the previous hand selection)
-                selected = players[nextPlayer].applyAutoMovement(pack, nextMovement);
-                delay(delayTime); // temporary static, but maybe can change?
+                GameHand hand = players[nextPlayer].getHand();
+                int nbCards = hand.getNumberOfCards();
+                selected = players[nextPlayer].applyAutoMovement(pack, drawnCardId, discardedCardId);
+                reportCardsDrawn(nextPlayer, nbCards);
+                observer.onHandChanged(gameState, nextPlayer);
+                clock.delay(delayTime);
                 if (selected != null) {
-                    selected.removeFromHand(true);
+                    discard(nextPlayer, selected);
                 } else {
                     // Players play game with their own logic if predefined moves run out
                     if (!(players[nextPlayer] instanceof HumanPlayer)) {
                         // Player selects card to discard internally
-                        selected = players[nextPlayer].getSelectedCard(pack, random);
-                        selected.removeFromHand(true);
+                        nbCards = hand.getNumberOfCards();
+                        selected = getSelectedCard(nextPlayer, pack, random);
+                        reportCardsDrawn(nextPlayer, nbCards);
+                        discard(nextPlayer, selected);
                     }
                 }
+                observer.onHandChanged(gameState, nextPlayer);
+                commitTurn(event, nextPlayer, true);
             } else {
                 finishedAuto = true;
             }
         }
-        delay(delayTime);
+        clock.delay(delayTime);
         return finishedAuto;
     }
 
@@ -239,31 +248,99 @@ public class GameController {
      *
      * @param players Array of players.
      * @param nextPlayer Index of the next player.
-     * @param random The random seed from LuckyThirdteen.
+     * @param random The deck's random stream.
      */
-    public void playRound2(Player[] players, int nextPlayer, Random random) {
+    public void playRound2(Player[] players, int nextPlayer, RandomGenerator random) {
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        GameHand pack = gameState.getPack();
         if (players[nextPlayer] instanceof HumanPlayer) {
-            players[0].getHand().setTouchEnabled(true);
             selected = null;
-            ((GameHand)players[0].getHand()).dealACardToHand(pack, random);
-            while (null == selected) delay(delayTime);
-            selected.removeFromHand(true);
+            int nbCards = players[nextPlayer].getHand().getNumberOfCards();
+            players[nextPlayer].getHand().dealACardToHand(pack, random);
+            reportCardsDrawn(nextPlayer, nbCards);
+            observer.onHandChanged(gameState, nextPlayer);
+            // Waits for the person in real time, whatever clock paces the game
+            CompletableFuture<GameCard> move = new CompletableFuture<>();
+            humanSeat = nextPlayer;
+            humanMove = move;
+            observer.onHumanTurn(gameState, nextPlayer);
+            selected = awaitHumanMove(move);
+            discard(nextPlayer, selected);
         } else {
             // Player selects card to discard internally
-            selected = players[nextPlayer].getSelectedCard(pack, random);
-            selected.removeFromHand(true);
+            int nbCards = players[nextPlayer].getHand().getNumberOfCards();
+            selected = getSelectedCard(nextPlayer, pack, random);
+            reportCardsDrawn(nextPlayer, nbCards);
+            discard(nextPlayer, selected);
         }
+        observer.onHandChanged(gameState, nextPlayer);
 
         if (selected != null) {
-            cardsPlayed.add(selected);
-            selected.setVerso(false);  // In case it is upside down
-            delay(delayTime);
+            clock.delay(delayTime);
         }
-        // Update discarded cards list for CleverPlayer
-        for (Player player : players) {
-            if (player instanceof CleverPlayer) {
-                ((CleverPlayer) player).addDiscardedCard(selected);
-            }
+        commitTurn(event, nextPlayer, false);
+    }
+
+    private void commitTurn(TurnEvent event, int player, boolean isAuto) {
+        gameState.getEventBus().onTurnEnded(player);
+        observer.onTurnEnded(gameState, player);
+        event.end();
+        if (event.shouldCommit()) {
+            event.round = gameState.getRoundNumber();
+            event.seat = player;
+            event.playerType = config.getPlayerType(player);
+            event.isAuto = isAuto;
+            event.commit();
+        }
+    }
+
+    /**
+     * Lets a computer player draw a card and choose its discard, recording the decision for the flight recorder.
+     *
+     * @param player Index of the player.
+     * @param pack The deck of cards to deal from.
+     * @param random The deck's random stream.
+     * @return The card selected to discard.
+     */
+    private GameCard getSelectedCard(int player, GameHand pack, RandomGenerator random) {
+        DecisionEvent event = new DecisionEvent();
+        event.begin();
+        GameCard card = gameState.getPlayers()[player].getSelectedCard(pack, random);
+        event.end();
+        if (event.shouldCommit()) {
+            event.round = gameState.getRoundNumber();
+            event.seat = player;
+            event.playerType = config.getPlayerType(player);
+            event.selectedCard = card != null ? CardSet.cardName(card.getCardId()) : null;
+            event.commit();
+        }
+        return card;
+    }
+
+    /**
+     * Reports the cards a player drew, which are appended to the end of their hand.
+     *
+     * @param player Index of the player.
+     * @param nbCardsBefore Number of cards the player held before drawing.
+     */
+    private void reportCardsDrawn(int player, int nbCardsBefore) {
+        GameHand hand = gameState.getPlayers()[player].getHand();
+        for (int i = nbCardsBefore; i < hand.getNumberOfCards(); i++) {
+            gameState.getEventBus().onCardDrawn(player, hand.get(i));
+        }
+    }
+
+    /**
+     * Removes the selected card from a player's hand and broadcasts the discard to every subscriber.
+     *
+     * @param player Index of the player.
+     * @param card The card to discard.
+     */
+    private void discard(int player, GameCard card) {
+        if (gameState.getPlayers()[player].getHand().remove(card)) {
+            gameState.addCardPlayed(card);
+            gameState.getEventBus().onCardDiscarded(player, card);
         }
     }
-}
\ No newline at end of file
+}
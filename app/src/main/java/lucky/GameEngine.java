@@ -0,0 +1,258 @@
+package lucky;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+import lucky.clock.GameClock;
+import lucky.events.GameEventBus;
+import lucky.events.GameEventSink;
+import lucky.events.TextLogSink;
+import lucky.gameobjects.GameCard;
+import lucky.players.HumanPlayer;
+import lucky.players.Player;
+import lucky.score.ScoreActors;
+
+/**
+ * Runs a Lucky Thirteen game on a plain in-memory GameState.
+ * Handles game initialisation and gameplay logic without opening a game window.
+ * Rendering is optional and done by a GameObserver, such as LuckyThirdteen.
+ * The events of the game are streamed to a GameEventSink, by default a TextLogSink building the game log.
+ */
+public class GameEngine {
+    static public final int SEED = 30008;
+
+    // Game logic variables
+    private final GameConfig config;
+    private final long seed;
+    private boolean isVerbose = true;
+    private GameClock clock;
+    private GameObserver observer = new GameObserver() {};
+    private GameEventSink eventSink = new TextLogSink();
+
+    // Object related attributes
+    private final int nbPlayers;
+    private final GameController gameController;
+    private GameState gameState;
+    private List<Integer> winners;
+
+    /**
+     * Creates a headless game engine.
+     * Unless the properties name another clock, the game runs on a virtual clock and never waits.
+     *
+     * @param properties Game properties.
+     */
+    public GameEngine(Properties properties) {
+        this(GameConfig.fromProperties(properties), SEED);
+    }
+
+    /**
+     * Creates a headless game engine dealing from its own random seed.
+     *
+     * @param properties Game properties.
+     * @param seed The seed of the game's random number generator.
+     */
+    public GameEngine(Properties properties, long seed) {
+        this(GameConfig.fromProperties(properties), seed);
+    }
+
+    /**
+     * Creates a headless game engine from settings already parsed, dealing from its own random seed.
+     *
+     * @param config The settings of the game.
+     * @param seed The seed of the game's random number generator.
+     */
+    public GameEngine(GameConfig config, long seed) {
+        this.config = config;
+        this.seed = seed;
+        nbPlayers = config.getNbPlayers();
+        clock = GameClock.forName(config.getClockName("virtual"));
+        gameController = new GameController(config);
+    }
+
+    /**
+     * Sets the observer notified of changes during the game, e.g. the game window.
+     *
+     * @param observer The observer of the game.
+     */
+    public void setObserver(GameObserver observer) {
+        this.observer = observer;
+    }
+
+    /**
+     * Sets the clock pacing the game, e.g. a real clock when the game is watched.
+     *
+     * @param clock The clock of the game.
+     */
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the sink receiving the events of the game, e.g. a NoOpEventSink for pure simulation.
+     * Only a TextLogSink makes runGame return the game log.
+     *
+     * @param eventSink The sink of game events.
+     */
+    public void setEventSink(GameEventSink eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    public GameEventSink getEventSink() {
+        return eventSink;
+    }
+
+    /**
+     * Sets whether the final hands are printed to the console at the end of the game.
+     *
+     * @param isVerbose Flag for printing the final hands.
+     */
+    public void setVerbose(boolean isVerbose) {
+        this.isVerbose = isVerbose;
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Gets the Zobrist hash of the current position, see GameState.getHash.
+     *
+     * @return The 64-bit hash of the position.
+     */
+    public long getStateHash() {
+        return gameState.getHash();
+    }
+
+    /**
+     * Gets the winners of the last game played.
+     *
+     * @return Indexes of the winning players.
+     */
+    public List<Integer> getWinners() {
+        return winners;
+    }
+
+    // Initializer methods
+    public void initAttributes() {
+        this.gameState = new GameState(nbPlayers, seed);
+    }
+    public void initGame() {
+        initAttributes();
+
+        gameState.getEventBus().subscribe(eventSink, GameEventBus.ALL_SEATS);
+        gameController.initGame(gameState, clock, observer);
+        observer.onGameInitialised(gameState);
+        gameState.getEventBus().onGameStarted(seed, gameState);
+    }
+
+    /**
+     * Hands over the card a human player picked to discard.
+     *
+     * @param card The card selected by the human player.
+     * @return true if the card was handed over, false if no human move is expected or the player does not hold it.
+     */
+    public boolean selectCard(GameCard card) {
+        return gameController.selectCard(card);
+    }
+
+    // Visual methods
+    public void setStatus(String string) {
+        observer.onStatusChanged(string);
+    }
+
+    /**
+     * Plays a round of the game.
+     *
+     * @param roundNumber The round number.
+     */
+    public void playRound(int roundNumber) {
+        int nextPlayer = 0;
+        boolean finishedAuto;
+        Player[] players = gameState.getPlayers();
+        RandomGenerator random = gameState.getDeckRandom();
+
+        gameState.setRoundNumber(roundNumber);
+        gameState.getEventBus().onRoundStarted(roundNumber);
+
+        for (int i = 0; i < nbPlayers; i++) {
+            // Calls playRound in lucky.GameController
+            finishedAuto = gameController.playRound1(players, nextPlayer, random, config.isAuto());
+            if (!config.isAuto() || finishedAuto) {
+                if (players[nextPlayer] instanceof HumanPlayer) {
+                    setStatus("players.Player 0 is playing. Please double click on a card to discard");
+                    gameController.playRound2(players, nextPlayer, random);
+                } else {
+                    setStatus("players.Player " + nextPlayer + " thinking...");
+                    gameController.playRound2(players, nextPlayer, random);
+                }
+            }
+
+            nextPlayer = (nextPlayer + 1) % nbPlayers;
+        }
+
+        // Runs the post-round processing things
+        gameState.getEventBus().onRoundEnded(roundNumber, gameState.getScores());
+    }
+
+    /**
+     * Plays the game for a specified number of rounds.
+     *
+     * @param nbRounds The number of rounds.
+     */
+    public void playGame(int nbRounds) {
+        // Initialise game
+        initGame();
+        gameState.setNbRounds(nbRounds);
+        // Calls playRound method
+        for (int i = 1; i < nbRounds + 1; i ++) {
+            playRound(i);
+        }
+
+        Player[] players = gameState.getPlayers();
+        int[] scores = gameState.getScores();
+        if (isVerbose) {
+            for (int i = 0; i < nbPlayers; i++) {
+                System.out.println("Player " + i + ": " + players[i].getHand().getCardList());
+            }
+        }
+        // Calculate score at end of game
+        ScoreActors.getInstance().calculateScoreEndOfGame(gameState.getPlayingArea(), players, scores);
+
+        // Post-Game processing
+        for (int i = 0; i < nbPlayers; i++) observer.onScoreUpdated(gameState, i);
+        int maxScore = 0;
+        for (int i = 0; i < nbPlayers; i++) if (scores[i] > maxScore) maxScore = scores[i];
+        winners = new ArrayList<>();
+        for (int i = 0; i < nbPlayers; i++) if (scores[i] == maxScore) winners.add(i);
+        String winText;
+        if (winners.size() == 1) {
+            winText = "Game over. Winner is player: " +
+                    winners.iterator().next();
+        } else {
+            winText = "Game Over. Drawn winners are players: " +
+                    winners.stream().map(String::valueOf).collect(Collectors.joining(", "));
+        }
+        observer.onGameOver(gameState, winners, winText);
+        gameState.getEventBus().onGameEnded(scores, winners);
+    }
+
+    /**
+     * Runs a whole game, lasting the number of rounds of the config.
+     *
+     * @return The game log, or an empty string if the events go to a sink other than a TextLogSink.
+     */
+    public String runGame() {
+        playGame(config.getNbRounds());
+
+        return eventSink instanceof TextLogSink ? eventSink.toString() : "";
+    }
+}
@@ -0,0 +1,66 @@
+package lucky;
+
+import java.util.List;
+
+/**
+ * Receives notifications about changes to a running game.
+ * The game window implements this interface to draw the game, while a headless game uses the
+ * default no-op methods so that nothing is rendered.
+ * This interface constitutes a part of observer design pattern.
+ */
+public interface GameObserver {
+    /**
+     * Called once the cards have been dealt and the game is ready to be played.
+     *
+     * @param gameState The state of the game.
+     */
+    default void onGameInitialised(GameState gameState) {}
+
+    /**
+     * Called when a card has been drawn into, or discarded from, a player's hand.
+     *
+     * @param gameState The state of the game.
+     * @param player Index of the player whose hand changed.
+     */
+    default void onHandChanged(GameState gameState, int player) {}
+
+    /**
+     * Called when a human player has to pick a card to discard.
+     *
+     * @param gameState The state of the game.
+     * @param player Index of the human player.
+     */
+    default void onHumanTurn(GameState gameState, int player) {}
+
+    /**
+     * Called once a player's turn is over, e.g. to draw its changes at once.
+     *
+     * @param gameState The state of the game.
+     * @param player Index of the player whose turn is over.
+     */
+    default void onTurnEnded(GameState gameState, int player) {}
+
+    /**
+     * Called when the status message of the game changes.
+     *
+     * @param status The new status message.
+     */
+    default void onStatusChanged(String status) {}
+
+    /**
+     * Called when the score of a player changes.
+     *
+     * @param gameState The state of the game.
+     * @param player Index of the player whose score changed.
+     */
+    default void onScoreUpdated(GameState gameState, int player) {}
+
+    /**
+     * Called once the end of game scores have been calculated.
+     *
+     * @param gameState The state of the game.
+     * @param winners Indexes of the winning players.
+     * @param winText Text announcing the winners.
+     */
+    default void onGameOver(GameState gameState, List<Integer> winners, String winText) {}
+}
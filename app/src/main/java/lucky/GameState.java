@@ -0,0 +1,173 @@
+package lucky;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import lucky.events.GameEventBus;
+import lucky.events.SeenCardCounter;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+import lucky.gameobjects.ZobristKeys;
+import lucky.players.Player;
+
+/**
+ * Represents the in-memory state of a single game.
+ * Holds the players, the public cards, the pack, the discarded cards, the scores and the random streams,
+ * without any reference to the game window.
+ * The events of the game go through its event bus, which keeps the shared count of the cards seen discarded.
+ * Its Zobrist hash, combining the hashes of the hands, the public cards, the pack and the discards,
+ * identifies the position without going through the cards.
+ */
+public class GameState {
+    private final int nbPlayers;
+    private final Player[] players;
+    private final GameHand playingArea;
+    private final List<GameCard> cardsPlayed;
+    private final int[] scores;
+    private final RandomStreams randomStreams;
+    private final GameEventBus eventBus;
+    private final SeenCardCounter seenCards;
+    private GameHand pack;
+    private long discardHash; // Zobrist hash of the discarded cards
+    private int roundNumber;
+    private int nbRounds;
+
+    /**
+     * Creates the state of a new game.
+     *
+     * @param nbPlayers Number of players.
+     * @param seed The seed all the random streams of the game derive from.
+     */
+    public GameState(int nbPlayers, long seed) {
+        this.nbPlayers = nbPlayers;
+        this.randomStreams = new RandomStreams(seed, nbPlayers);
+        this.players = new Player[nbPlayers];
+        this.playingArea = new GameHand(ZobristKeys.PLAYING_AREA);
+        this.pack = new GameHand(ZobristKeys.PACK);
+        this.cardsPlayed = new ArrayList<>();
+        this.scores = new int[nbPlayers];
+        this.eventBus = new GameEventBus();
+        this.seenCards = new SeenCardCounter();
+        // Subscribed first so that the counts are up to date when the other sinks hear of a discard
+        eventBus.subscribe(seenCards, GameEventBus.ALL_SEATS);
+    }
+
+    public int getNbPlayers() {
+        return nbPlayers;
+    }
+
+    public Player[] getPlayers() {
+        return players;
+    }
+
+    public GameHand getPlayingArea() {
+        return playingArea;
+    }
+
+    public GameHand getPack() {
+        return pack;
+    }
+
+    /**
+     * Replaces the pack the cards are drawn from.
+     *
+     * @param pack The new pack, created in the ZobristKeys.PACK place so that getHash stays canonical.
+     */
+    public void setPack(GameHand pack) {
+        this.pack = pack;
+    }
+
+    /**
+     * Gets the cards discarded so far, in the order they were played.
+     * Discards are recorded through addCardPlayed, which keeps the hash up to date.
+     *
+     * @return The list of discarded cards.
+     */
+    public List<GameCard> getCardsPlayed() {
+        return cardsPlayed;
+    }
+
+    /**
+     * Records a discarded card, at the end of the cards played.
+     *
+     * @param card The card discarded.
+     */
+    public void addCardPlayed(GameCard card) {
+        cardsPlayed.add(card);
+        discardHash ^= ZobristKeys.key(ZobristKeys.DISCARDS, card.getCardId());
+    }
+
+    /**
+     * Gets the Zobrist hash of the position: the cards of each hand, the public cards, the pack and the discards.
+     * Positions holding the same cards in the same places hash the same, however they were reached,
+     * so the hash can key decision caches and transposition tables. It is kept up to date on every card move.
+     *
+     * @return The 64-bit hash of the position.
+     */
+    public long getHash() {
+        long hash = playingArea.getHash() ^ pack.getHash() ^ discardHash;
+        for (Player player : players) {
+            if (player != null && player.getHand() != null) {
+                hash ^= player.getHand().getHash();
+            }
+        }
+        return hash;
+    }
+
+    public int[] getScores() {
+        return scores;
+    }
+
+    public RandomStreams getRandomStreams() {
+        return randomStreams;
+    }
+
+    /**
+     * Gets the random stream dealing the cards and the draws from the pack.
+     *
+     * @return The deck stream.
+     */
+    public RandomGenerator getDeckRandom() {
+        return randomStreams.getDeckRandom();
+    }
+
+    /**
+     * Gets the bus broadcasting the events of the game, which players and sinks subscribe to.
+     *
+     * @return The event bus of the game.
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Gets the counts of the cards discarded so far, which every player has seen.
+     *
+     * @return The seen card counter of the game.
+     */
+    public SeenCardCounter getSeenCards() {
+        return seenCards;
+    }
+
+    public int getRoundNumber() {
+        return roundNumber;
+    }
+
+    public void setRoundNumber(int roundNumber) {
+        this.roundNumber = roundNumber;
+    }
+
+    /**
+     * Gets the number of rounds the game lasts.
+     *
+     * @return The number of rounds.
+     */
+    public int getNbRounds() {
+        return nbRounds;
+    }
+
+    public void setNbRounds(int nbRounds) {
+        this.nbRounds = nbRounds;
+    }
+}
@@ -6,32 +6,25 @@ import ch.aplu.jgamegrid.*;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import lucky.gameobjects.GameDeck;
+import lucky.clock.GameClock;
+import lucky.gameobjects.GameCard;
 import lucky.gameobjects.GameHand;
 import lucky.gameobjects.Rank;
 import lucky.gameobjects.Suit;
-import lucky.players.HumanPlayer;
 import lucky.players.Player;
-import lucky.score.ScoreActors;
 
 /**
  * Main class for Lucky Thirteen game.
- * Handles game initialisation, gameplay logic and log results.
+ * Opens the game window and draws the game played by a GameEngine, acting as its GameObserver.
  * This class is implemented as a singleton.
  */
-public class LuckyThirdteen extends CardGame {
+public class LuckyThirdteen extends CardGame implements GameObserver {
     private static LuckyThirdteen luckyThirdteen; // The singleton instance
 
     // Game logic variables
-    private Properties properties;
-    private StringBuilder logResult;
-    static public final int SEED = 30008;
-    private static Random random = null;
-    private int thinkingTime;
-    private int delayTime;
-    private boolean isAuto;
+    static public final int SEED = GameEngine.SEED;
+    private final GameEngine gameEngine;
 
     // Game visual attributes
     private final Location[] HAND_LOCATIONS = new Location[]{
@@ -52,22 +45,42 @@ public class LuckyThirdteen extends CardGame {
     private final Font BIG_FONT = new Font("Arial", Font.BOLD, 36);
 
     // Object related attributes
-    private final int NB_PLAYERS = 4;
-    private Player[] players;
-    private int[] scores;
-    private Actor[] scoreActors = {null, null, null, null};
-    private Hand playingArea;
+    private final Deck deck; // Only used to draw the cards of the game
+    private final Map<GameCard, Card> viewCards = new HashMap<>();
+    private final Map<Card, GameCard> gameCards = new IdentityHashMap<>();
+    private TextActor[] scoreActors; // The score actor shown for each player
+    private int[] shownScores;
+    // Score actors already rendered, per player and score, since a score is often shown again
+    private List<Map<Integer, TextActor>> scoreGlyphs;
+    private String shownStatus;
+    private boolean isDirty; // Whether actors changed since the window was last refreshed
+    private final List<Hand> staleViews = new ArrayList<>(); // Hands whose cards changed since they were drawn
+    private Hand[] handViews;
+    private Hand playingAreaView;
 
     /**
      * Singleton implementation but set to public due to direct instantiation by Test file
      * @param properties from the driver file
      */
     public LuckyThirdteen(Properties properties) {
+        this(GameConfig.fromProperties(properties));
+    }
+
+    /**
+     * Creates the game window for settings already parsed.
+     *
+     * @param config The settings of the game.
+     */
+    public LuckyThirdteen(GameConfig config) {
         super(700, 700, 30);
-        this.properties = properties;
-        isAuto = Boolean.parseBoolean(properties.getProperty("isAuto"));
-        thinkingTime = Integer.parseInt(properties.getProperty("thinkingTime", "1"));
-        delayTime = Integer.parseInt(properties.getProperty("delayTime", "1"));
+        if (config.getNbPlayers() > HAND_LOCATIONS.length) {
+            throw new IllegalArgumentException("The game window seats at most " + HAND_LOCATIONS.length + " players");
+        }
+        this.deck = new Deck(Suit.getSuitValues(), Rank.getRankValues(), "cover");
+        this.gameEngine = new GameEngine(config, SEED);
+        this.gameEngine.setObserver(this);
+        // The window keeps real pauses so the moves can be followed, unless told otherwise
+        this.gameEngine.setClock(GameClock.forName(config.getClockName("real")));
     }
     public static LuckyThirdteen getInstance(Properties properties) {
         if (luckyThirdteen == null) {
@@ -78,171 +91,180 @@ public class LuckyThirdteen extends CardGame {
 
     // Initializer methods
     public void initScore(int[] scores, int nbPlayers) {
+        scoreActors = new TextActor[nbPlayers];
+        shownScores = new int[nbPlayers];
+        scoreGlyphs = new ArrayList<>();
         for (int i = 0; i < nbPlayers; i++) {
-            scores[i] = 0;
-            String text = "[" + scores[i] + "]";
-            scoreActors[i] = new TextActor(text, Color.WHITE, bgColor, BIG_FONT);
-            addActor(scoreActors[i], SCORE_LOCATIONS[i]);
+            scoreGlyphs.add(new HashMap<>());
+            shownScores[i] = -1;
+            updateScore(scores, i);
         }
+        refresh();
+        isDirty = false;
     }
-    public void initAttributes() {
-        this.random = new Random(SEED);
-        this.logResult = new StringBuilder();
-        this.players = new Player[NB_PLAYERS];
-        this.playingArea = new GameHand(GameDeck.getInstance("cover"));
-        this.scores = new int[NB_PLAYERS];
-    }
-    public void initGame() {
-        initAttributes();
 
-        // Calls the init of score actors and game
-        initScore(scores, NB_PLAYERS);
-        for (int i = 0; i < NB_PLAYERS; i++) updateScore(scores, i);
+    /**
+     * Draws the scores, the public cards and each player's hand once the cards are dealt.
+     *
+     * @param gameState The state of the game.
+     */
+    @Override
+    public void onGameInitialised(GameState gameState) {
+        int nbPlayers = gameState.getNbPlayers();
+        int[] scores = gameState.getScores();
 
-        GameController.getInstance(NB_PLAYERS, thinkingTime, delayTime).initGame(NB_PLAYERS, players, playingArea,
-                                                                                   random, properties, delayTime);
+        // Calls the init of score actors
+        initScore(scores, nbPlayers);
 
         // Draw Game
         int trickWidth = 40;
-        playingArea.setView(this, new RowLayout(TRICK_LOCATION, (playingArea.getNumberOfCards() + 2)
-                                                                                                        * trickWidth));
-        playingArea.draw();
-        RowLayout[] layouts = new RowLayout[NB_PLAYERS];
+        playingAreaView = new Hand(deck);
+        playingAreaView.setView(this, new RowLayout(TRICK_LOCATION,
+                                       (gameState.getPlayingArea().getNumberOfCards() + 2) * trickWidth));
+        syncView(playingAreaView, gameState.getPlayingArea());
+
+        Player[] players = gameState.getPlayers();
+        handViews = new Hand[nbPlayers];
         int handWidth = 400;
-        for (int i = 0; i < NB_PLAYERS; i++) {
-            layouts[i] = new RowLayout(HAND_LOCATIONS[i], handWidth);
-            layouts[i].setRotationAngle(90 * i);
-            players[i].getHand().setView(this, layouts[i]);
-            players[i].getHand().setTargetArea(new TargetArea(TRICK_LOCATION));
-            players[i].getHand().draw();
+        for (int i = 0; i < nbPlayers; i++) {
+            RowLayout layout = new RowLayout(HAND_LOCATIONS[i], handWidth);
+            layout.setRotationAngle(90 * i);
+            handViews[i] = new Hand(deck);
+            handViews[i].setView(this, layout);
+            handViews[i].setTargetArea(new TargetArea(TRICK_LOCATION));
+            syncView(handViews[i], players[i].getHand());
         }
-    }
+        flushChanges();
 
-    // Visual methods
-    public void setStatus(String string) {
-        setStatusText(string);
+        // Set up human player for interaction
+        CardListener cardListener = new CardAdapter()  // Human players.Player plays card
+        {
+            public void leftDoubleClicked(Card card) {
+                handViews[0].setTouchEnabled(false);
+                gameEngine.selectCard(gameCards.get(card));
+            }
+        };
+        handViews[0].addCardListener(cardListener);
     }
 
-    // Score-related methods
-    public void updateScore(int[] scores, int player) {
-        removeActor(scoreActors[player]);
-        int displayScore = Math.max(scores[player], 0);
-        String text = "P" + player + "[" + displayScore + "]";
-        scoreActors[player] = new TextActor(text, Color.WHITE, bgColor, BIG_FONT);
-        addActor(scoreActors[player], SCORE_LOCATIONS[player]);
+    @Override
+    public void onHandChanged(GameState gameState, int player) {
+        syncView(handViews[player], gameState.getPlayers()[player].getHand());
     }
 
-    // Logging methods for testing purposes
-    public void addCardPlayedToLog(Player player) {
-        Hand hand = player.getHand();
-
-        if (hand.getNumberOfCards() < 2) {
-            return;
-        }
-        logResult.append("P").append(player).append("-");
-
-        for (int i = 0; i < hand.getNumberOfCards(); i++) {
-            Rank cardRank = (Rank) hand.get(i).getRank();
-            Suit cardSuit = (Suit) hand.get(i).getSuit();
-            logResult.append(cardRank.getRankCardLog()).append(cardSuit.getSuitShortHand());
-            if (i < hand.getNumberOfCards() - 1) {
-                logResult.append("-");
-            }
-        }
-        logResult.append(",");
+    @Override
+    public void onHumanTurn(GameState gameState, int player) {
+        flushChanges(); // The person needs to see the card they drew
+        handViews[player].setTouchEnabled(true);
     }
-    public void addRoundInfoToLog(int roundNumber) {
-        logResult.append("Round").append(roundNumber).append(":");
+
+    /**
+     * Flushes the changes of a turn to the window with a single refresh.
+     *
+     * @param gameState The state of the game.
+     * @param player Index of the player whose turn is over.
+     */
+    @Override
+    public void onTurnEnded(GameState gameState, int player) {
+        flushChanges();
     }
-    public void addEndOfRoundToLog() {
-        logResult.append("Score:");
-        for (int score : scores) {
-            logResult.append(score).append(",");
+
+    /**
+     * Draws the hands whose cards changed, then refreshes the window once if anything changed.
+     */
+    private void flushChanges() {
+        for (Hand view : staleViews) {
+            view.draw();
         }
-        logResult.append("\n");
-    }
-    public void addEndOfGameToLog(List<Integer> winners) {
-        logResult.append("EndGame:");
-        for (int score : scores) {
-            logResult.append(score).append(",");
+        staleViews.clear();
+        if (isDirty) {
+            refresh();
+            isDirty = false;
         }
-        logResult.append("\n");
-        logResult.append("Winners:").append(winners.stream().map(String::valueOf).collect(Collectors.
-                                                                             joining(", ")));
     }
 
     /**
-     * Plays a round of the game.
+     * Makes a drawn hand hold the same cards as the hand of the game.
+     * Cards no longer held are removed from the window and new cards are appended.
+     * A hand whose cards changed is only drawn again when the changes are flushed, at the end of the turn.
      *
-     * @param roundNumber The round number.
+     * @param view The hand drawn in the window.
+     * @param hand The hand of the game.
      */
-    public void playRound(int roundNumber) {
-        int nextPlayer = 0;
-        boolean finishedAuto;
-
-        addRoundInfoToLog(roundNumber);
-
-        for (int i = 0; i < NB_PLAYERS; i++) {
-            // Calls playRound in lucky.GameController
-            finishedAuto = GameController.getInstance(NB_PLAYERS, thinkingTime, delayTime).playRound1(players,
-                                                                                  nextPlayer, random, isAuto);
-            if (!isAuto || finishedAuto) {
-                if (players[nextPlayer] instanceof HumanPlayer) {
-                    setStatus("players.Player 0 is playing. Please double click on a card to discard");
-                    GameController.getInstance(NB_PLAYERS, thinkingTime, delayTime).playRound2(players, nextPlayer,
-                                                                                                           random);
-                } else {
-                    setStatus("players.Player " + nextPlayer + " thinking...");
-                    GameController.getInstance(NB_PLAYERS, thinkingTime, delayTime).playRound2(players, nextPlayer,
-                                                                                                           random);
-                }
+    private void syncView(Hand view, GameHand hand) {
+        boolean isChanged = false;
+        for (Card card : new ArrayList<>(view.getCardList())) {
+            if (!hand.contains(gameCards.get(card))) {
+                card.removeFromHand(false);
+                isChanged = true;
             }
-
-            addCardPlayedToLog(players[nextPlayer]);
-            nextPlayer = (nextPlayer + 1) % NB_PLAYERS;
         }
+        for (GameCard gameCard : hand.getCardList()) {
+            Card card = getViewCard(gameCard);
+            if (!view.contains(card)) {
+                view.insert(card, false);
+                isChanged = true;
+            }
+        }
+        if (isChanged && !staleViews.contains(view)) {
+            staleViews.add(view);
+            isDirty = true;
+        }
+    }
+    private Card getViewCard(GameCard gameCard) {
+        return viewCards.computeIfAbsent(gameCard, key -> {
+            Card card = new Card(deck, key.getSuit(), key.getRank());
+            gameCards.put(card, key);
+            return card;
+        });
+    }
 
-        // Runs the post-round processing things
-        addEndOfRoundToLog();
+    // Visual methods
+    public void setStatus(String string) {
+        if (!string.equals(shownStatus)) {
+            shownStatus = string;
+            setStatusText(string);
+        }
+    }
+    @Override
+    public void onStatusChanged(String status) {
+        setStatus(status);
     }
 
+    // Score-related methods
+
     /**
-     * Plays the game for a specified number of rounds.
+     * Shows the score of a player, reusing the actor rendered the last time the same score was shown.
+     * Nothing is done if the score shown did not change, and the window is refreshed at the end of the turn.
      *
-     * @param nbRounds The number of rounds.
+     * @param scores The scores of the players.
+     * @param player Index of the player.
      */
-    public void playGame(int nbRounds) {
-        // Initialise game
-        initGame();
-        // Calls playRound method
-        for (int i = 1; i < nbRounds + 1; i ++) {
-            playRound(i);
+    public void updateScore(int[] scores, int player) {
+        int displayScore = Math.max(scores[player], 0);
+        if (displayScore == shownScores[player]) {
+            return;
         }
-
-        for (int i = 0; i < NB_PLAYERS; i++) {
-            System.out.println("Player " + i + ": " + players[i].getHand().getCardList());
+        if (scoreActors[player] != null) {
+            removeActor(scoreActors[player]);
         }
-        // Calculate score at end of game
-        ScoreActors.getInstance().calculateScoreEndOfGame(playingArea, players, scores);
+        scoreActors[player] = scoreGlyphs.get(player).computeIfAbsent(displayScore, score ->
+                new TextActor("P" + player + "[" + score + "]", Color.WHITE, bgColor, BIG_FONT));
+        shownScores[player] = displayScore;
+        addActorNoRefresh(scoreActors[player], SCORE_LOCATIONS[player]);
+        isDirty = true;
+    }
+    @Override
+    public void onScoreUpdated(GameState gameState, int player) {
+        updateScore(gameState.getScores(), player);
+    }
 
-        // Post-Game processing
-        for (int i = 0; i < NB_PLAYERS; i++) updateScore(scores, i);
-        int maxScore = 0;
-        for (int i = 0; i < NB_PLAYERS; i++) if (scores[i] > maxScore) maxScore = scores[i];
-        List<Integer> winners = new ArrayList<>();
-        for (int i = 0; i < NB_PLAYERS; i++) if (scores[i] == maxScore) winners.add(i);
-        String winText;
-        if (winners.size() == 1) {
-            winText = "Game over. Winner is player: " +
-                    winners.iterator().next();
-        } else {
-            winText = "Game Over. Drawn winners are players: " +
-                    winners.stream().map(String::valueOf).collect(Collectors.joining(", "));
-        }
-        addActor(new Actor("sprites/gameover.gif"), TEXT_LOCATION);
-        setStatusText(winText);
-        refresh();
-        addEndOfGameToLog(winners);
+    @Override
+    public void onGameOver(GameState gameState, List<Integer> winners, String winText) {
+        addActorNoRefresh(new Actor("sprites/gameover.gif"), TEXT_LOCATION);
+        setStatus(winText);
+        isDirty = true;
+        flushChanges();
     }
 
     /**
@@ -256,8 +278,6 @@ public class LuckyThirdteen extends CardGame {
         setStatusText("Initializing...");
 
         // Facade GoF applied to make things simple
-        playGame(4); // nbRounds always 4 for now
-
-        return logResult.toString();
+        return gameEngine.runGame();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package lucky;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Provides the independent random number streams of one game, all derived from the game's seed.
+ * The deck stream deals the cards and every draw from the pack, and each seat has its own stream for the
+ * decisions of the player sitting there. A bot drawing more or fewer random numbers therefore never changes
+ * the cards dealt, and a game depends only on its seed, whatever other games run at the same time.
+ * The streams are SplittableRandom generators: they are not synchronized and must stay within one game.
+ */
+public class RandomStreams {
+    private final RandomGenerator deckRandom;
+    private final RandomGenerator[] seatRandoms;
+
+    /**
+     * Derives the streams of a game.
+     *
+     * @param seed The seed of the game.
+     * @param nbPlayers Number of seats at the table.
+     */
+    public RandomStreams(long seed, int nbPlayers) {
+        SplittableRandom root = new SplittableRandom(seed);
+        deckRandom = root.split();
+        seatRandoms = new RandomGenerator[nbPlayers];
+        for (int i = 0; i < nbPlayers; i++) {
+            seatRandoms[i] = root.split();
+        }
+    }
+
+    /**
+     * Gets the stream dealing the cards.
+     *
+     * @return The deck stream.
+     */
+    public RandomGenerator getDeckRandom() {
+        return deckRandom;
+    }
+
+    /**
+     * Gets the stream of the decisions of a seat.
+     *
+     * @param seat Index of the seat.
+     * @return The seat stream.
+     */
+    public RandomGenerator getSeatRandom(int seat) {
+        return seatRandoms[seat];
+    }
+}
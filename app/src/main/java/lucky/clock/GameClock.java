@@ -0,0 +1,40 @@
+package lucky.clock;
+
+/**
+ * Declares the clock used to pace the game.
+ * Every delay and thinking pause of the game goes through a GameClock, so that the same game logic
+ * can either wait in real time or run as fast as possible.
+ * This interface constitutes a part of strategy pattern.
+ */
+public interface GameClock {
+    /**
+     * Pauses the game for the given time.
+     *
+     * @param millis The time to pause, in milliseconds.
+     */
+    void delay(long millis);
+
+    /**
+     * Gets the time elapsed on this clock.
+     *
+     * @return The current time, in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Creates the clock named in the game properties.
+     *
+     * @param clockName Name of the clock (real, virtual).
+     * @return The created clock.
+     */
+    static GameClock forName(String clockName) {
+        switch (clockName) {
+            case "real":
+                return new RealGameClock();
+            case "virtual":
+                return new VirtualGameClock();
+            default:
+                throw new IllegalArgumentException("Unknown clock type");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package lucky.clock;
+
+import ch.aplu.util.BaseTimer;
+
+/**
+ * Represents a clock that pauses the game in real time.
+ * Used by the interactive game so that players can follow the moves.
+ */
+public class RealGameClock implements GameClock {
+    @Override
+    public void delay(long millis) {
+        BaseTimer.delay((int) millis);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
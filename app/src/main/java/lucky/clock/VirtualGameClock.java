@@ -0,0 +1,19 @@
+package lucky.clock;
+
+/**
+ * Represents a clock that never waits.
+ * Delays only advance a virtual time, so simulated games run as fast as the CPU allows.
+ */
+public class VirtualGameClock implements GameClock {
+    private long virtualTime = 0;
+
+    @Override
+    public void delay(long millis) {
+        virtualTime += millis;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return virtualTime;
+    }
+}
@@ -0,0 +1,142 @@
+package lucky.events;
+
+import lucky.GameState;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+import lucky.players.Player;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Records games in the compact binary replay format read by ReplayReader, about 66 bytes per game.
+ * The events of a game are gathered in a small fixed buffer and written as one record when the game ends,
+ * so memory use stays bounded however many games are recorded.
+ * The file starts with GameRecord.MAGIC and GameRecord.VERSION, followed by one record per game
+ * with the layout described in GameRecord.
+ */
+public class BinaryReplayWriter implements GameEventSink, Flushable, Closeable {
+    private final OutputStream out;
+    private final ByteBuffer record = ByteBuffer.allocate(GameRecord.MAX_RECORD_LENGTH);
+    private int nbTurnsPosition;
+    private int nbTurns;
+    private int pendingPlayer = -1; // Player of a draw waiting for its discard, -1 if none
+    private int pendingCard;
+
+    /**
+     * Creates a writer of game records to the given stream, starting with the file header.
+     *
+     * @param out The stream the records are written to, ideally buffered.
+     * @throws IOException If the header cannot be written.
+     */
+    public BinaryReplayWriter(OutputStream out) throws IOException {
+        this.out = out;
+        out.write(GameRecord.MAGIC);
+        out.write(GameRecord.VERSION);
+    }
+
+    /**
+     * Creates a writer of game records to a file, replacing any previous content.
+     *
+     * @param path The path of the file.
+     * @return The replay writer.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static BinaryReplayWriter toFile(Path path) throws IOException {
+        return new BinaryReplayWriter(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    }
+
+    private void putCards(GameHand hand) {
+        record.put((byte) hand.getNumberOfCards());
+        for (GameCard card : hand.getCardList()) {
+            record.put((byte) card.getCardId());
+        }
+    }
+
+    private void putTurn(int player, int drawn, int discarded) {
+        if (nbTurns == GameRecord.MAX_TURNS) {
+            throw new IllegalStateException("Too many turns to record in one game");
+        }
+        record.put((byte) ((player & 3) << GameRecord.PLAYER_SHIFT | drawn));
+        record.put((byte) (player >>> 2 << GameRecord.PLAYER_SHIFT | discarded));
+        nbTurns++;
+    }
+
+    private void putPendingDraw() {
+        if (pendingPlayer >= 0) {
+            putTurn(pendingPlayer, pendingCard, GameRecord.NO_CARD);
+            pendingPlayer = -1;
+        }
+    }
+
+    @Override
+    public void onGameStarted(long seed, GameState gameState) {
+        if (gameState.getNbPlayers() > GameRecord.MAX_PLAYERS) {
+            throw new IllegalStateException("Cannot record games of more than " + GameRecord.MAX_PLAYERS
+                                                                                               + " players");
+        }
+        record.clear();
+        record.putShort((short) 0); // Record length, filled in when the game ends
+        record.putLong(seed);
+        record.put((byte) gameState.getNbPlayers());
+        putCards(gameState.getPlayingArea());
+        for (Player player : gameState.getPlayers()) {
+            putCards(player.getHand());
+        }
+        nbTurnsPosition = record.position();
+        record.put((byte) 0);
+        nbTurns = 0;
+        pendingPlayer = -1;
+    }
+
+    @Override
+    public void onCardDrawn(int player, GameCard card) {
+        putPendingDraw();
+        pendingPlayer = player;
+        pendingCard = card.getCardId();
+    }
+
+    @Override
+    public void onCardDiscarded(int player, GameCard card) {
+        if (pendingPlayer == player) {
+            putTurn(player, pendingCard, card.getCardId());
+            pendingPlayer = -1;
+        } else {
+            putPendingDraw();
+            putTurn(player, GameRecord.NO_CARD, card.getCardId());
+        }
+    }
+
+    @Override
+    public void onGameEnded(int[] scores, List<Integer> winners) {
+        putPendingDraw();
+        record.put(nbTurnsPosition, (byte) nbTurns);
+        for (int score : scores) {
+            record.putShort((short) score);
+        }
+        record.putShort(0, (short) (record.position() - Short.BYTES));
+        try {
+            out.write(record.array(), 0, record.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,88 @@
+package lucky.events;
+
+import lucky.GameState;
+import lucky.gameobjects.GameCard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Broadcasts the events of one game to every subscribed sink, in subscription order.
+ * A sink subscribed for a seat, such as a player, only sees the cards drawn at that seat, while a sink
+ * subscribed for ALL_SEATS, such as a game log, sees every card drawn. Discards are public and reach every sink.
+ * The bus is itself a GameEventSink, so the game reports each event once, whoever listens.
+ * This class constitutes a part of observer design pattern.
+ */
+public class GameEventBus implements GameEventSink {
+    public static final int ALL_SEATS = -1;
+
+    private final List<GameEventSink> sinks = new ArrayList<>();
+    private int[] seats = new int[8]; // Seat of each sink
+
+    /**
+     * Subscribes a sink to the events of the game.
+     *
+     * @param sink The sink receiving the events.
+     * @param seat The seat whose drawn cards the sink may see, or ALL_SEATS.
+     */
+    public void subscribe(GameEventSink sink, int seat) {
+        if (sinks.size() == seats.length) {
+            seats = Arrays.copyOf(seats, 2 * seats.length);
+        }
+        seats[sinks.size()] = seat;
+        sinks.add(sink);
+    }
+
+    @Override
+    public void onGameStarted(long seed, GameState gameState) {
+        for (int i = 0; i < sinks.size(); i++) {
+            sinks.get(i).onGameStarted(seed, gameState);
+        }
+    }
+
+    @Override
+    public void onRoundStarted(int roundNumber) {
+        for (int i = 0; i < sinks.size(); i++) {
+            sinks.get(i).onRoundStarted(roundNumber);
+        }
+    }
+
+    @Override
+    public void onCardDrawn(int player, GameCard card) {
+        for (int i = 0; i < sinks.size(); i++) {
+            int seat = seats[i];
+            if (seat == ALL_SEATS || seat == player) {
+                sinks.get(i).onCardDrawn(player, card);
+            }
+        }
+    }
+
+    @Override
+    public void onCardDiscarded(int player, GameCard card) {
+        for (int i = 0; i < sinks.size(); i++) {
+            sinks.get(i).onCardDiscarded(player, card);
+        }
+    }
+
+    @Override
+    public void onTurnEnded(int player) {
+        for (int i = 0; i < sinks.size(); i++) {
+            sinks.get(i).onTurnEnded(player);
+        }
+    }
+
+    @Override
+    public void onRoundEnded(int roundNumber, int[] scores) {
+        for (int i = 0; i < sinks.size(); i++) {
+            sinks.get(i).onRoundEnded(roundNumber, scores);
+        }
+    }
+
+    @Override
+    public void onGameEnded(int[] scores, List<Integer> winners) {
+        for (int i = 0; i < sinks.size(); i++) {
+            sinks.get(i).onGameEnded(scores, winners);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package lucky.events;
+
+import lucky.GameState;
+import lucky.gameobjects.GameCard;
+
+import java.util.List;
+
+/**
+ * Receives the structured events of a game as it is played: the deal, each round, each card drawn and
+ * discarded, the end of each turn, the scores of each round and the end of the game.
+ * Every method defaults to doing nothing, so a sink only implements the events it records.
+ * This interface constitutes a part of observer design pattern.
+ */
+public interface GameEventSink {
+    /**
+     * Called once the cards have been dealt.
+     *
+     * @param seed The seed of the game's random number generator.
+     * @param gameState The state of the game, holding the dealt hands and public cards.
+     */
+    default void onGameStarted(long seed, GameState gameState) {}
+
+    /**
+     * Called when a round starts.
+     *
+     * @param roundNumber The round number, starting from 1.
+     */
+    default void onRoundStarted(int roundNumber) {}
+
+    /**
+     * Called when a player draws a card from the pack.
+     *
+     * @param player Index of the player.
+     * @param card The card drawn.
+     */
+    default void onCardDrawn(int player, GameCard card) {}
+
+    /**
+     * Called when a player discards a card from their hand.
+     *
+     * @param player Index of the player.
+     * @param card The card discarded.
+     */
+    default void onCardDiscarded(int player, GameCard card) {}
+
+    /**
+     * Called when a player's turn ends, whether or not they discarded a card.
+     *
+     * @param player Index of the player.
+     */
+    default void onTurnEnded(int player) {}
+
+    /**
+     * Called when a round ends.
+     *
+     * @param roundNumber The round number.
+     * @param scores The score of each player.
+     */
+    default void onRoundEnded(int roundNumber, int[] scores) {}
+
+    /**
+     * Called once the end of game scores have been calculated.
+     *
+     * @param scores The final score of each player.
+     * @param winners Indexes of the winning players.
+     */
+    default void onGameEnded(int[] scores, List<Integer> winners) {}
+}
@@ -0,0 +1,213 @@
+package lucky.events;
+
+import lucky.gameobjects.CardSet;
+import lucky.score.MaxScoreTable;
+
+import java.nio.ByteBuffer;
+import java.util.Properties;
+
+/**
+ * Represents one recorded game of a binary replay file, read in place from the file's buffer.
+ * A record is laid out as follows, all numbers big-endian:
+ * <pre>
+ * short  length of the rest of the record
+ * long   seed
+ * byte   number of players P
+ * byte   number of public cards, then one byte per card id
+ * P x    byte number of private cards, then one byte per card id
+ * byte   number of turns T
+ * T x    byte (player &amp; 3) &lt;&lt; 6 | card id drawn (NO_CARD if none),
+ *        byte (player &gt;&gt; 2) &lt;&lt; 6 | card id discarded (NO_CARD if none)
+ * P x    short final score
+ * </pre>
+ * The same GameRecord is reused by ReplayReader for every record, so it must not be kept after moving on.
+ */
+public class GameRecord {
+    static final byte[] MAGIC = {'L', 'T', '1', '3'};
+    static final int VERSION = 2;
+    static final int MAX_RECORD_LENGTH = 1024;
+    static final int MAX_TURNS = 255;
+    static final int MAX_PLAYERS = 16; // Two bits of the player in each byte of a turn
+    static final int PLAYER_SHIFT = 6;
+    static final int NO_CARD = (1 << PLAYER_SHIFT) - 1;
+
+    private ByteBuffer buffer;
+    private int start;
+    private int nbPlayers;
+    private int publicCardsOffset;
+    private int[] handOffsets = new int[0];
+    private int turnsOffset;
+    private int nbTurns;
+    private int scoresOffset;
+
+    /**
+     * Points this record at the record starting at the given position of the buffer.
+     */
+    void wrap(ByteBuffer buffer, int start) {
+        this.buffer = buffer;
+        this.start = start;
+        int position = start + Short.BYTES + Long.BYTES;
+        nbPlayers = buffer.get(position++);
+        if (handOffsets.length < nbPlayers) {
+            handOffsets = new int[nbPlayers];
+        }
+        publicCardsOffset = position;
+        position += 1 + buffer.get(position);
+        for (int i = 0; i < nbPlayers; i++) {
+            handOffsets[i] = position;
+            position += 1 + buffer.get(position);
+        }
+        nbTurns = buffer.get(position) & 0xFF;
+        turnsOffset = position + 1;
+        scoresOffset = turnsOffset + 2 * nbTurns;
+    }
+
+    /**
+     * Gets the length in bytes of the whole record.
+     *
+     * @return The record length.
+     */
+    public int getLength() {
+        return Short.BYTES + (buffer.getShort(start) & 0xFFFF);
+    }
+
+    public long getSeed() {
+        return buffer.getLong(start + Short.BYTES);
+    }
+
+    public int getNbPlayers() {
+        return nbPlayers;
+    }
+
+    public int getNbPublicCards() {
+        return buffer.get(publicCardsOffset);
+    }
+
+    public int getPublicCard(int index) {
+        return buffer.get(publicCardsOffset + 1 + index);
+    }
+
+    public int getNbInitialCards(int player) {
+        return buffer.get(handOffsets[player]);
+    }
+
+    public int getInitialCard(int player, int index) {
+        return buffer.get(handOffsets[player] + 1 + index);
+    }
+
+    public int getNbTurns() {
+        return nbTurns;
+    }
+
+    public int getTurnPlayer(int turn) {
+        int player = (buffer.get(turnsOffset + 2 * turn) & 0xFF) >>> PLAYER_SHIFT;
+        return player | (buffer.get(turnsOffset + 2 * turn + 1) & 0xFF) >>> PLAYER_SHIFT << 2;
+    }
+
+    /**
+     * Gets the card drawn during a turn.
+     *
+     * @param turn Index of the turn.
+     * @return The card id, or -1 if no card was drawn.
+     */
+    public int getDrawnCard(int turn) {
+        int drawn = buffer.get(turnsOffset + 2 * turn) & NO_CARD;
+        return drawn == NO_CARD ? -1 : drawn;
+    }
+
+    /**
+     * Gets the card discarded during a turn.
+     *
+     * @param turn Index of the turn.
+     * @return The card id, or -1 if no card was discarded.
+     */
+    public int getDiscardedCard(int turn) {
+        int discarded = buffer.get(turnsOffset + 2 * turn + 1) & NO_CARD;
+        return discarded == NO_CARD ? -1 : discarded;
+    }
+
+    public int getScore(int player) {
+        return buffer.getShort(scoresOffset + Short.BYTES * player);
+    }
+
+    /**
+     * Replays the recorded turns on the initial deal to get the cards each player ends the game with.
+     *
+     * @param player Index of the player.
+     * @return The final private cards of the player as a CardSet bitmask.
+     */
+    public long getFinalCards(int player) {
+        long cards = CardSet.EMPTY;
+        for (int i = 0; i < getNbInitialCards(player); i++) {
+            cards = CardSet.add(cards, getInitialCard(player, i));
+        }
+        for (int turn = 0; turn < nbTurns; turn++) {
+            if (getTurnPlayer(turn) == player) {
+                int drawn = getDrawnCard(turn);
+                int discarded = getDiscardedCard(turn);
+                if (drawn >= 0) cards = CardSet.add(cards, drawn);
+                if (discarded >= 0) cards = CardSet.remove(cards, discarded);
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Scores the recorded game again from its final hands, e.g. after a change to the scoring rules.
+     * Every player must end with two private cards and the playing area must hold two public cards.
+     *
+     * @param scores The array receiving each player's score.
+     */
+    public void rescore(int[] scores) {
+        int[] privateCards = new int[2 * nbPlayers];
+        for (int i = 0; i < nbPlayers; i++) {
+            long cards = getFinalCards(i);
+            privateCards[2 * i] = CardSet.nth(cards, 0);
+            privateCards[2 * i + 1] = CardSet.nth(cards, 1);
+        }
+        MaxScoreTable.scoreEndOfGame(privateCards, getPublicCard(0), getPublicCard(1), scores);
+    }
+
+    /**
+     * Converts the record into game properties replaying it in auto mode, through the initial cards
+     * and cards played entries read by GameController.
+     *
+     * @param base The properties giving the player types and timings.
+     * @return A copy of the base properties set up to replay this game.
+     */
+    public Properties toProperties(Properties base) {
+        Properties properties = new Properties();
+        properties.putAll(base);
+        properties.setProperty("isAuto", "true");
+
+        StringBuilder publicCards = new StringBuilder();
+        for (int i = 0; i < getNbPublicCards(); i++) {
+            if (i > 0) publicCards.append(",");
+            publicCards.append(CardSet.cardName(getPublicCard(i)));
+        }
+        properties.setProperty("shared.initialcards", publicCards.toString());
+
+        for (int player = 0; player < nbPlayers; player++) {
+            StringBuilder initialCards = new StringBuilder();
+            for (int i = 0; i < getNbInitialCards(player); i++) {
+                if (i > 0) initialCards.append(",");
+                initialCards.append(CardSet.cardName(getInitialCard(player, i)));
+            }
+            properties.setProperty("players." + player + ".initialcards", initialCards.toString());
+
+            StringBuilder cardsPlayed = new StringBuilder();
+            for (int turn = 0; turn < nbTurns; turn++) {
+                if (getTurnPlayer(turn) != player || getDrawnCard(turn) < 0) {
+                    continue;
+                }
+                if (cardsPlayed.length() > 0) cardsPlayed.append(",");
+                cardsPlayed.append(CardSet.cardName(getDrawnCard(turn)));
+                if (getDiscardedCard(turn) >= 0) {
+                    cardsPlayed.append("-").append(CardSet.cardName(getDiscardedCard(turn)));
+                }
+            }
+            properties.setProperty("players." + player + ".cardsPlayed", cardsPlayed.toString());
+        }
+        return properties;
+    }
+}
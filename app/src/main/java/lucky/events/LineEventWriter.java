@@ -0,0 +1,175 @@
+package lucky.events;
+
+import lucky.GameState;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+import lucky.players.Player;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Streams game events as compact text lines, one event per line, so memory use stays bounded by the
+ * writer's buffer however many games are written. Cards are written as in the properties files, e.g. "10H".
+ * <pre>
+ * G seed public hand0 hand1 ...   game started, each hand as cards joined by '-'
+ * R round                         round started
+ * D player card                   card drawn
+ * X player card                   card discarded
+ * S round score0,score1,...       round ended
+ * E score0,score1,... winner,...  game ended
+ * </pre>
+ * Several games may be written one after another to the same writer.
+ */
+public class LineEventWriter implements GameEventSink, Flushable, Closeable {
+    private final Writer writer;
+
+    /**
+     * Creates a writer of events to the given character stream.
+     *
+     * @param writer The stream the lines are written to, ideally buffered.
+     */
+    public LineEventWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Creates a writer of events to a file, replacing any previous content.
+     *
+     * @param path The path of the file.
+     * @return The event writer.
+     * @throws IOException If the file cannot be opened.
+     */
+    public static LineEventWriter toFile(Path path) throws IOException {
+        return new LineEventWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a writer of events to a channel, e.g. a socket.
+     *
+     * @param channel The channel the lines are written to.
+     * @return The event writer.
+     */
+    public static LineEventWriter toChannel(WritableByteChannel channel) {
+        return new LineEventWriter(new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8)));
+    }
+
+    private void writeCard(GameCard card) throws IOException {
+        writer.write(card.getRank().getRankCardLog());
+        writer.write(card.getSuit().getSuitShortHand());
+    }
+
+    private void writeHand(GameHand hand) throws IOException {
+        writer.write(' ');
+        for (int i = 0; i < hand.getNumberOfCards(); i++) {
+            if (i > 0) {
+                writer.write('-');
+            }
+            writeCard(hand.get(i));
+        }
+    }
+
+    private void writeInts(int[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(Integer.toString(values[i]));
+        }
+    }
+
+    private void writeCardEvent(char type, int player, GameCard card) {
+        try {
+            writer.write(type);
+            writer.write(' ');
+            writer.write(Integer.toString(player));
+            writer.write(' ');
+            writeCard(card);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onGameStarted(long seed, GameState gameState) {
+        try {
+            writer.write("G ");
+            writer.write(Long.toString(seed));
+            writeHand(gameState.getPlayingArea());
+            for (Player player : gameState.getPlayers()) {
+                writeHand(player.getHand());
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onRoundStarted(int roundNumber) {
+        try {
+            writer.write("R ");
+            writer.write(Integer.toString(roundNumber));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onCardDrawn(int player, GameCard card) {
+        writeCardEvent('D', player, card);
+    }
+
+    @Override
+    public void onCardDiscarded(int player, GameCard card) {
+        writeCardEvent('X', player, card);
+    }
+
+    @Override
+    public void onRoundEnded(int roundNumber, int[] scores) {
+        try {
+            writer.write("S ");
+            writer.write(Integer.toString(roundNumber));
+            writer.write(' ');
+            writeInts(scores);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onGameEnded(int[] scores, List<Integer> winners) {
+        try {
+            writer.write("E ");
+            writeInts(scores);
+            writer.write(' ');
+            writeInts(winners.stream().mapToInt(Integer::intValue).toArray());
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
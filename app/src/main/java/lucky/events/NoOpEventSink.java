@@ -0,0 +1,19 @@
+package lucky.events;
+
+/**
+ * Represents a sink that ignores every event, for simulations that only need the final scores.
+ * This class is implemented as a singleton.
+ */
+public final class NoOpEventSink implements GameEventSink {
+    private static final NoOpEventSink noOpEventSink = new NoOpEventSink();
+    private NoOpEventSink() {}
+
+    /**
+     * Provides the singleton instance of the NoOpEventSink.
+     *
+     * @return A singleton instance of NoOpEventSink.
+     */
+    public static NoOpEventSink getInstance() {
+        return noOpEventSink;
+    }
+}
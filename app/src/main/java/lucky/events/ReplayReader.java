@@ -0,0 +1,107 @@
+package lucky.events;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads the games of a binary replay file written by BinaryReplayWriter, one after the other.
+ * The file is memory-mapped in windows of up to 1 GiB, so files holding millions of games are read
+ * without being loaded on the heap, and records are read in place through a single reused GameRecord.
+ */
+public class ReplayReader implements Closeable {
+    private static final long WINDOW_SIZE = 1L << 30;
+    private static final int HEADER_LENGTH = GameRecord.MAGIC.length + 1;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final GameRecord record = new GameRecord();
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int position; // Position of the next record in the window
+
+    /**
+     * Opens a replay file and checks its header.
+     *
+     * @param path The path of the replay file.
+     * @throws IOException If the file cannot be read or is not a replay file.
+     */
+    public ReplayReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        byte[] magic = new byte[GameRecord.MAGIC.length];
+        if (fileSize >= HEADER_LENGTH) {
+            map(0);
+            window.get(0, magic);
+        }
+        if (fileSize < HEADER_LENGTH || !Arrays.equals(magic, GameRecord.MAGIC)
+                                     || window.get(GameRecord.MAGIC.length) != GameRecord.VERSION) {
+            channel.close();
+            throw new IOException("Not a version " + GameRecord.VERSION + " replay file: " + path);
+        }
+        position = HEADER_LENGTH;
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, fileSize - start));
+        position = 0;
+    }
+
+    /**
+     * Moves to the next game of the file.
+     *
+     * @return The next game, only valid until the following call, or null at the end of the file.
+     * @throws IOException If the file cannot be read or ends in the middle of a record.
+     */
+    public GameRecord next() throws IOException {
+        long recordStart = windowStart + position;
+        if (recordStart >= fileSize) {
+            return null;
+        }
+        if (recordStart + Short.BYTES > fileSize) {
+            throw truncated(recordStart);
+        }
+        // Move the window forward when the next record does not fit in what is left of it
+        if (position + Short.BYTES > window.limit()) {
+            map(recordStart);
+        }
+        int recordLength = Short.BYTES + (window.getShort(position) & 0xFFFF);
+        if (recordStart + recordLength > fileSize) {
+            throw truncated(recordStart);
+        }
+        if (position + recordLength > window.limit()) {
+            map(recordStart);
+        }
+        record.wrap(window, position);
+        position += recordLength;
+        return record;
+    }
+
+    // A batch killed while writing leaves its last record cut short
+    private IOException truncated(long recordStart) {
+        return new IOException("Truncated replay record at byte " + recordStart + " of " + fileSize);
+    }
+
+    /**
+     * Calls the given action on every remaining game of the file.
+     *
+     * @param action The action to perform on each game.
+     * @throws IOException If the file cannot be read.
+     */
+    public void forEach(Consumer<GameRecord> action) throws IOException {
+        for (GameRecord game = next(); game != null; game = next()) {
+            action.accept(game);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
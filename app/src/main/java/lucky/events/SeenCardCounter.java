@@ -0,0 +1,77 @@
+package lucky.events;
+
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.Rank;
+import lucky.gameobjects.Suit;
+import lucky.score.ThirteenTable;
+
+/**
+ * Counts the cards discarded so far in a game, which every player has seen.
+ * The counts per rank, per suit and of cards summing to thirteen with each rank are updated on every discard,
+ * so card-counting bots read them in constant time instead of going through the discards again.
+ * One counter is shared by all the players of a game, through GameState.getSeenCards.
+ */
+public class SeenCardCounter implements GameEventSink {
+    private long cardMask = CardSet.EMPTY;
+    private int nbCards;
+    private final int[] rankCounts = new int[CardSet.NB_RANKS];
+    private final int[] suitCounts = new int[CardSet.NB_SUITS];
+    // For each rank, the number of seen cards that can sum to thirteen with a card of that rank
+    private final int[] matchCounts = new int[CardSet.NB_RANKS];
+
+    @Override
+    public void onCardDiscarded(int player, GameCard card) {
+        add(card.getCardId());
+    }
+
+    /**
+     * Counts a card as seen.
+     *
+     * @param cardId The CardSet id of the card.
+     */
+    public void add(int cardId) {
+        if (CardSet.contains(cardMask, cardId)) {
+            return;
+        }
+        cardMask = CardSet.add(cardMask, cardId);
+        nbCards++;
+        int rankIndex = CardSet.rankIndex(cardId);
+        rankCounts[rankIndex]++;
+        suitCounts[CardSet.suitIndex(cardId)]++;
+        for (int ranks = ThirteenTable.getMatchingRanks(rankIndex); ranks != 0; ranks &= ranks - 1) {
+            matchCounts[Integer.numberOfTrailingZeros(ranks)]++;
+        }
+    }
+
+    /**
+     * Gets the cards seen as a CardSet bitmask.
+     *
+     * @return The bitmask of card ids.
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    public int getNbCards() {
+        return nbCards;
+    }
+
+    public int getNbCards(Rank rank) {
+        return rankCounts[rank.ordinal()];
+    }
+
+    public int getNbCards(Suit suit) {
+        return suitCounts[suit.ordinal()];
+    }
+
+    /**
+     * Gets the number of seen cards that can sum to thirteen with a card of the given rank.
+     *
+     * @param rank The rank of the other card.
+     * @return The number of matching cards.
+     */
+    public int getNbMatchingCards(Rank rank) {
+        return matchCounts[rank.ordinal()];
+    }
+}
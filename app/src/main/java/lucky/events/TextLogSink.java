@@ -0,0 +1,79 @@
+package lucky.events;
+
+import lucky.GameState;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the text game log returned by GameEngine.runGame and read by the tests.
+ * Each round is one line listing the hand of each player after their turn, then the scores.
+ * A turn ending with fewer than two cards in hand is not listed.
+ * The whole log is kept in memory, so batch runs should use a LineEventWriter or the NoOpEventSink.
+ */
+public class TextLogSink implements GameEventSink {
+    private final StringBuilder logResult = new StringBuilder();
+    private GameState gameState;
+
+    @Override
+    public void onGameStarted(long seed, GameState gameState) {
+        this.gameState = gameState;
+        logResult.setLength(0);
+    }
+
+    @Override
+    public void onRoundStarted(int roundNumber) {
+        logResult.append("Round").append(roundNumber).append(":");
+    }
+
+    @Override
+    public void onTurnEnded(int player) {
+        GameHand hand = gameState.getPlayers()[player].getHand();
+
+        if (hand.getNumberOfCards() < 2) {
+            return;
+        }
+        logResult.append("P").append(player).append("-");
+
+        for (int i = 0; i < hand.getNumberOfCards(); i++) {
+            GameCard handCard = hand.get(i);
+            logResult.append(handCard.getRank().getRankCardLog()).append(handCard.getSuit().getSuitShortHand());
+            if (i < hand.getNumberOfCards() - 1) {
+                logResult.append("-");
+            }
+        }
+        logResult.append(",");
+    }
+
+    @Override
+    public void onRoundEnded(int roundNumber, int[] scores) {
+        logResult.append("Score:");
+        for (int score : scores) {
+            logResult.append(score).append(",");
+        }
+        logResult.append("\n");
+    }
+
+    @Override
+    public void onGameEnded(int[] scores, List<Integer> winners) {
+        logResult.append("EndGame:");
+        for (int score : scores) {
+            logResult.append(score).append(",");
+        }
+        logResult.append("\n");
+        logResult.append("Winners:").append(winners.stream().map(String::valueOf).collect(Collectors.
+                                                                             joining(", ")));
+    }
+
+    /**
+     * Gets the log of the last game.
+     *
+     * @return The game log.
+     */
+    @Override
+    public String toString() {
+        return logResult.toString();
+    }
+}
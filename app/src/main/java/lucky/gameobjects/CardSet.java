@@ -0,0 +1,188 @@
+package lucky.gameobjects;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Compact card model where a card is an int id from 0 to 51 and a hand or pack is a long bitmask.
+ * The id of a card is suit index * 13 + rank index, so the cards of one suit occupy 13 consecutive bits.
+ * Every operation works on primitives and allocates nothing.
+ */
+public final class CardSet {
+    public static final int NB_RANKS = 13;
+    public static final int NB_SUITS = 4;
+    public static final int NB_CARDS = NB_RANKS * NB_SUITS;
+    public static final long EMPTY = 0L;
+    public static final long FULL_DECK = (1L << NB_CARDS) - 1;
+    private static final int RANK_BITS = (1 << NB_RANKS) - 1;
+
+    private CardSet() {}
+
+    // Card ids
+    public static int cardId(Suit suit, Rank rank) {
+        return suit.ordinal() * NB_RANKS + rank.ordinal();
+    }
+    public static int cardId(GameCard card) {
+        return cardId(card.getSuit(), card.getRank());
+    }
+    public static int rankIndex(int cardId) {
+        return cardId % NB_RANKS;
+    }
+    public static int suitIndex(int cardId) {
+        return cardId / NB_RANKS;
+    }
+    public static Rank rankOf(int cardId) {
+        return Rank.fromIndex(rankIndex(cardId));
+    }
+    public static Suit suitOf(int cardId) {
+        return Suit.fromIndex(suitIndex(cardId));
+    }
+
+    /**
+     * Parses a card name as used in the properties files, e.g. "10H" or "1C".
+     *
+     * @param cardName String version of the card.
+     * @return The card id, or -1 if the name does not denote a card.
+     */
+    public static int parseCardId(String cardName) {
+        int length = cardName.length();
+        if (length < 2) {
+            return -1;
+        }
+        int rankValue = 0;
+        for (int i = 0; i < length - 1; i++) {
+            char digit = cardName.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            rankValue = rankValue * 10 + (digit - '0');
+            if (rankValue > NB_RANKS) {
+                return -1; // Also keeps long names from overflowing into a valid rank
+            }
+        }
+        int rankIndex = -1;
+        for (Rank rank : Rank.getRankValues()) {
+            if (rank.getRankCardValue() == rankValue) {
+                rankIndex = rank.ordinal();
+            }
+        }
+        int suitIndex = -1;
+        char suitChar = cardName.charAt(length - 1);
+        for (Suit suit : Suit.getSuitValues()) {
+            if (suit.getSuitShortHand().charAt(0) == suitChar) {
+                suitIndex = suit.ordinal();
+            }
+        }
+        if (rankIndex < 0 || suitIndex < 0) {
+            return -1;
+        }
+        return suitIndex * NB_RANKS + rankIndex;
+    }
+
+    // Set operations
+    public static long of(int cardId) {
+        return 1L << cardId;
+    }
+    public static long add(long cards, int cardId) {
+        return cards | (1L << cardId);
+    }
+    public static long remove(long cards, int cardId) {
+        return cards & ~(1L << cardId);
+    }
+    public static boolean contains(long cards, int cardId) {
+        return (cards & (1L << cardId)) != 0;
+    }
+    public static long union(long cards, long others) {
+        return cards | others;
+    }
+    public static long intersection(long cards, long others) {
+        return cards & others;
+    }
+    public static long difference(long cards, long others) {
+        return cards & ~others;
+    }
+    public static int size(long cards) {
+        return Long.bitCount(cards);
+    }
+    public static boolean isEmpty(long cards) {
+        return cards == 0;
+    }
+
+    /**
+     * Gets the lowest card id of a set.
+     *
+     * @param cards The set of cards, which must not be empty.
+     * @return The lowest card id.
+     */
+    public static int first(long cards) {
+        return Long.numberOfTrailingZeros(cards);
+    }
+
+    /**
+     * Gets the n-th lowest card id of a set.
+     *
+     * @param cards The set of cards.
+     * @param n Index of the card, from 0 to size - 1.
+     * @return The card id.
+     */
+    public static int nth(long cards, int n) {
+        for (int i = 0; i < n; i++) {
+            cards &= cards - 1;
+        }
+        return Long.numberOfTrailingZeros(cards);
+    }
+
+    /**
+     * Picks a random card of a set, each card being equally likely.
+     *
+     * @param cards The set of cards, which must not be empty.
+     * @param random The random number generator.
+     * @return The card id picked.
+     */
+    public static int randomCard(long cards, RandomGenerator random) {
+        return nth(cards, random.nextInt(Long.bitCount(cards)));
+    }
+
+    /**
+     * Gets the cards of one suit as a 13-bit mask indexed by rank.
+     *
+     * @param cards The set of cards.
+     * @param suitIndex The index of the suit.
+     * @return The ranks held in that suit.
+     */
+    public static int suitRanks(long cards, int suitIndex) {
+        return (int) (cards >>> (suitIndex * NB_RANKS)) & RANK_BITS;
+    }
+
+    /**
+     * Gets the ranks present in a set, whatever their suit, as a 13-bit mask indexed by rank.
+     *
+     * @param cards The set of cards.
+     * @return The ranks present.
+     */
+    public static int ranks(long cards) {
+        return (int) (cards | (cards >>> NB_RANKS) | (cards >>> (2 * NB_RANKS)) | (cards >>> (3 * NB_RANKS)))
+                                                                                                   & RANK_BITS;
+    }
+
+    /**
+     * Gets the name of a card as used in the properties files, e.g. "10H" or "1C".
+     *
+     * @param cardId The card id.
+     * @return The card name.
+     */
+    public static String cardName(int cardId) {
+        return rankOf(cardId).getRankCardValue() + suitOf(cardId).getSuitShortHand();
+    }
+
+    public static String toString(long cards) {
+        StringBuilder text = new StringBuilder("[");
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            int cardId = Long.numberOfTrailingZeros(rest);
+            if (text.length() > 1) {
+                text.append(", ");
+            }
+            text.append(rankOf(cardId).getRankCardLog()).append(suitOf(cardId).getSuitShortHand());
+        }
+        return text.append("]").toString();
+    }
+}
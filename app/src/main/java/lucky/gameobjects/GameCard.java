@@ -1,14 +1,74 @@
 package lucky.gameobjects;
 
-import ch.aplu.jcardgame.*;
-
 /**
  * Represents a card used in the game.
- * This class extends the Card class.
+ * The card is a plain value holding its suit and rank, so the game can be played without any display.
+ * There is a single immutable instance of each card, shared by every game, with its scores worked out once.
  */
-public class GameCard extends Card {
-    public GameCard(Deck deck, Suit suit, Rank rank) {
-        super(deck, suit, rank);  // Calls the constructor of ch.aplu.jcardgame.Card
+public final class GameCard {
+    private static final GameCard[] CARDS = new GameCard[CardSet.NB_CARDS]; // Indexed by card id
+
+    static {
+        for (Suit suit : Suit.getSuitValues()) {
+            for (Rank rank : Rank.getRankValues()) {
+                GameCard card = new GameCard(suit, rank);
+                CARDS[card.cardId] = card;
+            }
+        }
+    }
+
+    private final Suit suit;
+    private final Rank rank;
+    private final int cardId;
+    private final int scorePrivateCard;
+    private final int scorePublicCard;
+    private final int value;
+
+    private GameCard(Suit suit, Rank rank) {
+        this.suit = suit;
+        this.rank = rank;
+        this.cardId = CardSet.cardId(suit, rank);
+        this.scorePrivateCard = rank.getScoreCardValue() * suit.getMultiplicationFactor();
+        this.scorePublicCard = rank.getScoreCardValue() * Suit.PUBLIC_CARD_MULTIPLICATION_FACTOR;
+        this.value = rank.getRankCardValue() * suit.getMultiplicationFactor();
+    }
+
+    /**
+     * Gets the card of the given suit and rank.
+     *
+     * @param suit The suit of the card.
+     * @param rank The rank of the card.
+     * @return The shared instance of the card.
+     */
+    public static GameCard of(Suit suit, Rank rank) {
+        return CARDS[CardSet.cardId(suit, rank)];
+    }
+
+    /**
+     * Gets the card with the given id.
+     *
+     * @param cardId The CardSet id of the card, from 0 to 51.
+     * @return The shared instance of the card.
+     */
+    public static GameCard of(int cardId) {
+        return CARDS[cardId];
+    }
+
+    public Suit getSuit() {
+        return suit;
+    }
+
+    public Rank getRank() {
+        return rank;
+    }
+
+    /**
+     * Gets the compact id of the card, as used by CardSet.
+     *
+     * @return The card id, from 0 to 51.
+     */
+    public int getCardId() {
+        return cardId;
     }
 
     /**
@@ -17,10 +77,7 @@ public class GameCard extends Card {
      * @return The calculated score.
      */
     public int getScorePrivateCard() {
-        Rank rank = (Rank) this.getRank();
-        Suit suit = (Suit) this.getSuit();
-
-        return rank.getScoreCardValue() * suit.getMultiplicationFactor();
+        return scorePrivateCard;
     }
 
     /**
@@ -29,8 +86,7 @@ public class GameCard extends Card {
      * @return The calculated score.
      */
     public int getScorePublicCard() {
-        Rank rank = (Rank) this.getRank();
-        return rank.getScoreCardValue() * Suit.PUBLIC_CARD_MULTIPLICATION_FACTOR;
+        return scorePublicCard;
     }
 
     /**
@@ -38,10 +94,33 @@ public class GameCard extends Card {
      *
      * @return The calculated value.
      */
-    @Override
     public int getValue() {
-        Rank rank = (Rank) this.getRank();
-        Suit suit = (Suit) this.getSuit();
-        return rank.getRankCardValue() * suit.getMultiplicationFactor();
+        return value;
+    }
+
+    /**
+     * Gets the values the card can take when summing to thirteen, shared with its rank.
+     *
+     * @return The possible values, not to be modified.
+     */
+    public int[] getPossibleSumValues() {
+        return rank.getPossibleSumValues();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameCard)) return false;
+        return cardId == ((GameCard) o).cardId;
+    }
+
+    @Override
+    public int hashCode() {
+        return cardId;
+    }
+
+    @Override
+    public String toString() {
+        return suit + "-" + rank;
     }
-}
\ No newline at end of file
+}
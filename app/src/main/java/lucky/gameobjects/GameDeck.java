@@ -1,50 +1,69 @@
 package lucky.gameobjects;
 
-import ch.aplu.jcardgame.Card;
-import ch.aplu.jcardgame.Deck;
-import ch.aplu.jcardgame.Hand;
-
-
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents a card deck in the game.
- * This class extends the Deck class.
+ * The deck only produces plain GameCards, so no sprites are loaded when dealing.
+ * It keeps a template of the shared GameCard instances, in suit then rank order, that packs are filled from,
+ * so dealing never creates cards.
  * This class is implemented as a singleton.
  */
-public class GameDeck extends Deck {
-    // Singleton strategy
-    private static GameDeck gameDeck;
-    private int nbCards;
-
-    private GameDeck(String cover) {
-        super(Suit.getSuitValues(), Rank.getRankValues(), "cover");
-        this.nbCards = this.getNumberOfCards();
+public class GameDeck {
+    // Singleton strategy, created eagerly so that concurrent games share one instance
+    private static final GameDeck gameDeck = new GameDeck();
+    private final GameCard[] cards; // The deck template, never modified
+    private final int nbCards;
+
+    private GameDeck() {
+        List<GameCard> template = new ArrayList<>();
+        for (Suit suit : Suit.getSuitValues()) {
+            for (Rank rank : Rank.getRankValues()) {
+                template.add(GameCard.of(suit, rank));
+            }
+        }
+        this.cards = template.toArray(new GameCard[0]);
+        this.nbCards = cards.length;
     }
 
     /**
      * Gets the instance of GameDeck, ensuring it is a singleton.
      *
-     * @param cover custom card cover asset
      * @return The instance of GameDeck.
      */
-    public static GameDeck getInstance(String cover) {
-        if (gameDeck == null) {
-            gameDeck = new GameDeck(cover);
-        }
+    public static GameDeck getInstance() {
         return gameDeck;
     }
 
+    public int getNumberOfCards() {
+        return nbCards;
+    }
+
     /**
-     * Converts a Deck object into a Hand object
-     * Used in getting the dealt out cards to player's hand.
+     * Converts the deck into a single hand holding every card, in suit then rank order.
+     * Used as the pack the cards are dealt from.
      *
      * @return Hand type object
      */
-    @Override
-    public Hand toHand() {
-        return this.dealingOut(0, 0, false)[0];
+    public GameHand toHand() {
+        GameHand hand = new GameHand();
+        resetPack(hand);
+        return hand;
+    }
+
+    /**
+     * Turns a hand back into a full pack in place, in suit then rank order, reusing its storage.
+     *
+     * @param pack The hand to refill with every card.
+     */
+    public void resetPack(GameHand pack) {
+        pack.clear();
+        for (GameCard card : cards) {
+            pack.insert(card);
+        }
     }
 
     /**
@@ -53,47 +72,36 @@ public class GameDeck extends Deck {
      * @param nbPlayers number of players in the game
      * @param nbCardsPerPlayer number of cards per player
      * @param shuffle shuffle deck before distribution
-     * @return An array of hands with the dealt cards.
+     * @return An array of hands with the dealt cards, the last hand holding the remaining cards.
      */
-    @Override
-    public Hand[] dealingOut(int nbPlayers, int nbCardsPerPlayer, boolean shuffle) {
+    public GameHand[] dealingOut(int nbPlayers, int nbCardsPerPlayer, boolean shuffle) {
         if (nbPlayers * nbCardsPerPlayer > this.nbCards) {
-            fail("Error in Deck.dealing out.\n" + this.nbCards + " cards in deck. Not enough for" + "\n" +
-                      nbPlayers + (nbPlayers > 1 ? " players with " : "player with ") + nbCardsPerPlayer +
-                                      (nbCardsPerPlayer > 1 ? " cards per player." : "card per player.") +
-                                                                         "\nApplication will terminate.");
+            throw new IllegalArgumentException("Error in Deck.dealing out. " + this.nbCards +
+                    " cards in deck. Not enough for " + nbPlayers + " players with " + nbCardsPerPlayer +
+                    " cards per player.");
         }
 
-        ArrayList<Card> cards = new ArrayList<>();
-        Suit[] suits = (Suit[]) this.getSuits();
-        Rank[] ranks = (Rank[]) this.getRanks();
-
-        for (Suit suit : suits) {
-            for (Rank rank : ranks) {
-                Card card = new GameCard(this, suit, rank);
-                cards.add(card);
-            }
-        }
+        List<GameCard> cards = Arrays.asList(this.cards.clone());
 
         // Shuffle and dealing out to blocks not actually used
         if (shuffle) {
             Collections.shuffle(cards);
         }
 
-        Hand[] hands = new Hand[nbPlayers + 1];
+        GameHand[] hands = new GameHand[nbPlayers + 1];
 
         for(int p = 0; p < nbPlayers; ++p) {
-            hands[p] = new GameHand(this, null);
+            hands[p] = new GameHand();
 
             for(int k = 0; k < nbCardsPerPlayer; ++k) {
-                hands[p].insert(cards.get(p * nbCardsPerPlayer + k), false);
+                hands[p].insert(cards.get(p * nbCardsPerPlayer + k));
             }
         }
 
-        hands[nbPlayers] = new GameHand(this, null);
+        hands[nbPlayers] = new GameHand();
 
         for(int p = nbPlayers * nbCardsPerPlayer; p < this.nbCards; ++p) {
-            hands[nbPlayers].insert(cards.get(p), false);
+            hands[nbPlayers].insert(cards.get(p));
         }
 
         return hands;
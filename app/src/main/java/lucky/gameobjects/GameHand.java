@@ -1,35 +1,229 @@
 package lucky.gameobjects;
 
-import ch.aplu.jcardgame.Card;
-import ch.aplu.jcardgame.Deck;
-import ch.aplu.jcardgame.HandLayout;
-import ch.aplu.jcardgame.Hand;
-
-
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.random.RandomGenerator;
+
+import lucky.score.ThirteenTable;
 
 /**
  * Represents a player's hand that holds the cards.
- * This class extends the Hand class.
+ * The hand is a plain in-memory list of cards and does not depend on the game window.
+ * It keeps track of which of its cards can sum to thirteen, updated on every insert and remove,
+ * so that thirteen queries do not rescan the cards.
+ * It also keeps a Zobrist hash of its cards in its place of the game, see ZobristKeys.
  */
-public class GameHand extends Hand {
-    public GameHand(Deck deck) {
-        this(deck, null);
+public class GameHand {
+    /**
+     * Orderings available for sorting a hand.
+     */
+    public enum SortType {
+        SUITPRIORITY, RANKPRIORITY
+    }
+
+    private final ArrayList<GameCard> cardList = new ArrayList<>();
+    private long cardMask = CardSet.EMPTY; // The same cards as a CardSet bitmask
+    // For each rank, the number of cards of the hand that can sum to thirteen with a card of that rank
+    private final int[] matchCounts = new int[CardSet.NB_RANKS];
+    private int nbThirteenPairs; // Number of pairs of cards of the hand that can sum to thirteen
+    private final long[] hashKeys; // Zobrist keys of the place of the hand
+    private long hash;
+
+    /**
+     * Creates an empty hand outside any game state, hashed in the ZobristKeys.LOOSE place.
+     */
+    public GameHand() {
+        this(ZobristKeys.LOOSE);
+    }
+
+    /**
+     * Creates an empty hand hashed in the given place.
+     *
+     * @param place The ZobristKeys place of the hand, e.g. ZobristKeys.PACK or ZobristKeys.seat(0).
+     */
+    public GameHand(int place) {
+        this.hashKeys = ZobristKeys.keys(place);
+    }
+
+    /**
+     * Gets the cards held in this hand, in hand order.
+     *
+     * @return The list of cards.
+     */
+    public ArrayList<GameCard> getCardList() {
+        return cardList;
+    }
+
+    public GameCard get(int index) {
+        return cardList.get(index);
+    }
+
+    public int getNumberOfCards() {
+        return cardList.size();
+    }
+
+    public boolean isEmpty() {
+        return cardList.isEmpty();
+    }
+
+    public boolean contains(GameCard card) {
+        return card != null && CardSet.contains(cardMask, card.getCardId());
     }
-    public GameHand(Deck deck, HandLayout handLayout) {
-        super(deck, handLayout);
+
+    /**
+     * Gets the cards held in this hand as a CardSet bitmask.
+     *
+     * @return The bitmask of card ids.
+     */
+    public long getCardMask() {
+        return cardMask;
+    }
+
+    /**
+     * Gets the Zobrist hash of the cards held, which does not depend on their order.
+     *
+     * @return The XOR of the keys of the cards in the place of the hand.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Appends a card to the end of the hand.
+     *
+     * @param card The card to insert.
+     * @return true if the card was inserted, false if the hand already holds it.
+     */
+    public boolean insert(GameCard card) {
+        if (contains(card)) {
+            return false;
+        }
+        cardMask = CardSet.add(cardMask, card.getCardId());
+        hash ^= hashKeys[card.getCardId()];
+        int rankIndex = card.getRank().ordinal();
+        nbThirteenPairs += matchCounts[rankIndex];
+        for (int ranks = ThirteenTable.getMatchingRanks(rankIndex); ranks != 0; ranks &= ranks - 1) {
+            matchCounts[Integer.numberOfTrailingZeros(ranks)]++;
+        }
+        return cardList.add(card);
+    }
+
+    /**
+     * Removes a card from the hand.
+     *
+     * @param card The card to remove.
+     * @return true if the card was held by this hand.
+     */
+    public boolean remove(GameCard card) {
+        if (!contains(card)) {
+            return false;
+        }
+        cardMask = CardSet.remove(cardMask, card.getCardId());
+        hash ^= hashKeys[card.getCardId()];
+        int rankIndex = card.getRank().ordinal();
+        for (int ranks = ThirteenTable.getMatchingRanks(rankIndex); ranks != 0; ranks &= ranks - 1) {
+            matchCounts[Integer.numberOfTrailingZeros(ranks)]--;
+        }
+        nbThirteenPairs -= matchCounts[rankIndex];
+        return cardList.remove(card);
+    }
+
+    /**
+     * Removes every card from the hand, keeping its storage for the next cards.
+     */
+    public void clear() {
+        cardList.clear();
+        cardMask = CardSet.EMPTY;
+        hash = 0;
+        Arrays.fill(matchCounts, 0);
+        nbThirteenPairs = 0;
+    }
+
+    /**
+     * Checks whether two cards of the hand can sum to thirteen.
+     *
+     * @return A boolean value of true if thirteen is achievable or false if not.
+     */
+    public boolean hasThirteenPair() {
+        return nbThirteenPairs > 0;
+    }
+
+    /**
+     * Gets the number of pairs of cards of the hand that can sum to thirteen.
+     *
+     * @return The number of pairs.
+     */
+    public int getNbThirteenPairs() {
+        return nbThirteenPairs;
+    }
+
+    /**
+     * Gets the number of cards of the hand that can sum to thirteen with a card of the given rank.
+     *
+     * @param rank The rank of the other card.
+     * @return The number of matching cards.
+     */
+    public int getNbMatchingCards(Rank rank) {
+        return matchCounts[rank.ordinal()];
+    }
+
+    /**
+     * Checks whether a card of this hand and a card of the other hand can sum to thirteen.
+     *
+     * @param other The other hand, e.g. the public cards.
+     * @return A boolean value of true if thirteen is achievable or false if not.
+     */
+    public boolean hasThirteenWith(GameHand other) {
+        for (GameCard card : other.cardList) {
+            if (matchCounts[card.getRank().ordinal()] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds a card whose discard still leaves two cards of the hand that can sum to thirteen.
+     * Cards are tried from the end of the hand, so with three cards the pair kept is the first one in hand order.
+     *
+     * @return The card to discard, or null if no discard keeps thirteen reachable.
+     */
+    public GameCard getDiscardKeepingThirteen() {
+        for (int i = cardList.size() - 1; i >= 0; i--) {
+            int rankIndex = cardList.get(i).getRank().ordinal();
+            int selfMatch = ThirteenTable.isThirteen(rankIndex, rankIndex) ? 1 : 0;
+            if (nbThirteenPairs - (matchCounts[rankIndex] - selfMatch) > 0) {
+                return cardList.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sorts the hand by suit then rank, or by rank then suit, following enum declaration order.
+     *
+     * @param sortType The ordering to apply.
+     */
+    public void sort(SortType sortType) {
+        Comparator<GameCard> bySuit = Comparator.comparing(GameCard::getSuit);
+        Comparator<GameCard> byRank = Comparator.comparing(GameCard::getRank);
+        if (sortType == SortType.SUITPRIORITY) {
+            cardList.sort(bySuit.thenComparing(byRank));
+        } else {
+            cardList.sort(byRank.thenComparing(bySuit));
+        }
     }
 
     /**
      * Returns a random card from the hand.
      *
-     * @param random The random seed from LuckyThirdteen.
+     * @param random The deck's random stream.
      * @return A random card.
      */
-    public Card randomCard(Random random) {
-        int x = random.nextInt(this.getCardList().size());
-        return this.getCardList().get(x);
+    public GameCard randomCard(RandomGenerator random) {
+        int x = random.nextInt(cardList.size());
+        return cardList.get(x);
     }
 
     /**
@@ -38,29 +232,40 @@ public class GameHand extends Hand {
      * @param cardName String version of specified card.
      * @return The card with the specified name. Null if not found.
      */
-    public Card getCardFromList(String cardName) {
-        Rank cardRank = Rank.getRankFromString(cardName);
-        Suit cardSuit = Suit.getSuitFromString(cardName);
+    public GameCard getCardFromList(String cardName) {
+        return getCardById(CardSet.parseCardId(cardName));
+    }
 
-        for (Card card: this.getCardList()) {
-            if (card.getSuit() == cardSuit
-                    && card.getRank() == cardRank) {
-                return card;
-            }
+    /**
+     * Retrieves a card from hand, given the card's id.
+     *
+     * @param cardId The CardSet id of the card, or -1.
+     * @return The card with the specified id. Null if not found.
+     */
+    public GameCard getCardById(int cardId) {
+        if (cardId < 0 || !CardSet.contains(cardMask, cardId)) {
+            return null;
         }
-        return null;
+        return GameCard.of(cardId);
     }
 
     /**
      * Deals a card from the given pack to hand.
      *
      * @param pack The pack to deal the card from.
-     * @param random The random seed from LuckyThirdteen.
+     * @param random The deck's random stream.
+     * @return The card dealt, or null if the pack is empty.
      */
-    public void dealACardToHand(Hand pack, Random random) {
-        if (pack.isEmpty()) return;
-        Card dealt = ((GameHand)pack).randomCard(random);
-        dealt.removeFromHand(false);
-        this.insert(dealt, true);
+    public GameCard dealACardToHand(GameHand pack, RandomGenerator random) {
+        if (pack.isEmpty()) return null;
+        GameCard dealt = pack.randomCard(random);
+        pack.remove(dealt);
+        this.insert(dealt);
+        return dealt;
+    }
+
+    @Override
+    public String toString() {
+        return cardList.toString();
     }
-}
\ No newline at end of file
+}
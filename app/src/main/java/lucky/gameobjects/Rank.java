@@ -15,6 +15,8 @@ public enum Rank {
     FOUR (4, 4, 4), THREE (3, 3, 3),
     TWO (2, 2, 2);
 
+    private static final Rank[] RANKS = Rank.values(); // Cached, as values() copies the array on each call
+
     private int rankCardValue = 1;
     private int scoreValue = 0;
     private int []possibleSumValues = null;
@@ -42,6 +44,16 @@ public enum Rank {
         return Rank.values();
     }
 
+    /**
+     * Gets the rank at the given index, following declaration order (ACE is 0, TWO is 12).
+     *
+     * @param index The index of the rank.
+     * @return The rank at that index.
+     */
+    public static Rank fromIndex(int index) {
+        return RANKS[index];
+    }
+
     public static Rank getRankFromString(String cardName) {
         String rankString = cardName.substring(0, cardName.length() - 1);
         int rankValue = Integer.parseInt(rankString);
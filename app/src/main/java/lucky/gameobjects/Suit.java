@@ -6,6 +6,7 @@ package lucky.gameobjects;
 public enum Suit {
     SPADES ("S", 4), HEARTS ("H", 3),
     DIAMONDS ("D", 2), CLUBS ("C", 1);
+    private static final Suit[] SUITS = Suit.values(); // Cached, as values() copies the array on each call
     private String suitShortHand = "";
     private int multiplicationFactor = 1;
     public static final int PUBLIC_CARD_MULTIPLICATION_FACTOR = 2;
@@ -26,6 +27,16 @@ public enum Suit {
         return Suit.values();
     }
 
+    /**
+     * Gets the suit at the given index, following declaration order (SPADES is 0, CLUBS is 3).
+     *
+     * @param index The index of the suit.
+     * @return The suit at that index.
+     */
+    public static Suit fromIndex(int index) {
+        return SUITS[index];
+    }
+
     public static Suit getSuitFromString(String cardName) {
         String rankString = cardName.substring(0, cardName.length() - 1);
         String suitString = cardName.substring(cardName.length() - 1);
@@ -0,0 +1,83 @@
+package lucky.gameobjects;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of where the cards are: one key per card and place.
+ * The hash of a place is the XOR of the keys of its cards, so it is updated in constant time on every insert
+ * and remove and does not depend on the order the cards arrived in. The hashes of the places of a game combine
+ * by XOR into one hash of the whole state, as GameState.getHash does.
+ * Keys are drawn once from a fixed seed, so hashes are the same in every run and can be stored.
+ * This class only holds static lookup tables.
+ */
+public final class ZobristKeys {
+    public static final int LOOSE = 0; // Hands outside a game state, e.g. a bot's scratch hands
+    public static final int PACK = 1;
+    public static final int PLAYING_AREA = 2;
+    public static final int DISCARDS = 3;
+    private static final int FIRST_SEAT = 4;
+    public static final int MAX_SEATS = CardSet.NB_CARDS / 2; // Every player holds at least two cards
+    private static final long SEED = 0x5EED_13L;
+
+    private static final long[][] KEYS = new long[FIRST_SEAT + MAX_SEATS][CardSet.NB_CARDS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long[] placeKeys : KEYS) {
+            for (int cardId = 0; cardId < CardSet.NB_CARDS; cardId++) {
+                placeKeys[cardId] = random.nextLong();
+            }
+        }
+    }
+
+    private ZobristKeys() {}
+
+    /**
+     * Gets the place of the hand of a seat.
+     *
+     * @param player Index of the player.
+     * @return The place of the player's hand.
+     */
+    public static int seat(int player) {
+        if (player < 0 || player >= MAX_SEATS) {
+            throw new IllegalArgumentException("No seat " + player);
+        }
+        return FIRST_SEAT + player;
+    }
+
+    /**
+     * Gets the key of a card in a place.
+     *
+     * @param place The place, e.g. PACK or seat(0).
+     * @param cardId The CardSet id of the card.
+     * @return The key of the card in that place.
+     */
+    public static long key(int place, int cardId) {
+        return KEYS[place][cardId];
+    }
+
+    /**
+     * Gets the keys of every card in a place, indexed by CardSet id.
+     *
+     * @param place The place.
+     * @return The keys, not to be modified.
+     */
+    static long[] keys(int place) {
+        return KEYS[place];
+    }
+
+    /**
+     * Hashes a set of cards in a place from scratch.
+     *
+     * @param place The place.
+     * @param cards The CardSet bitmask of the cards.
+     * @return The XOR of the keys of the cards in that place.
+     */
+    public static long hash(int place, long cards) {
+        long hash = 0;
+        for (long rest = cards; rest != 0; rest &= rest - 1) {
+            hash ^= KEYS[place][Long.numberOfTrailingZeros(rest)];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,87 @@
+package lucky.host;
+
+import lucky.GameEngine;
+import lucky.GameState;
+import lucky.gameobjects.GameCard;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Represents one game played at a TableHost, on its own thread.
+ * Human moves are handed over with selectCard from any thread, typically after the table's GameObserver
+ * was told that it is a human player's turn.
+ */
+public class Table {
+    private final int id;
+    private final long seed;
+    private final GameEngine gameEngine;
+    private final CompletableFuture<List<Integer>> winners = new CompletableFuture<>();
+
+    Table(int id, long seed, GameEngine gameEngine) {
+        this.id = id;
+        this.seed = seed;
+        this.gameEngine = gameEngine;
+    }
+
+    /**
+     * Plays the whole game on the calling thread and completes the winners.
+     *
+     * @param onGameOver Called once the game is over, before the winners are completed.
+     */
+    void play(Runnable onGameOver) {
+        List<Integer> gameWinners;
+        try {
+            gameEngine.runGame();
+            gameWinners = gameEngine.getWinners();
+        } catch (RuntimeException | Error e) {
+            onGameOver.run();
+            winners.completeExceptionally(e);
+            return;
+        }
+        onGameOver.run();
+        winners.complete(gameWinners);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the state of the game, only consistent from the table's own thread or once the game is over.
+     *
+     * @return The state of the game, null before the cards are dealt.
+     */
+    public GameState getGameState() {
+        return gameEngine.getGameState();
+    }
+
+    /**
+     * Hands over the card a human player picked to discard.
+     * A card the waiting player does not hold is rejected and the turn keeps waiting for another one.
+     *
+     * @param card The card selected by the human player.
+     * @return true if the card was handed over, false if no human move is expected or the player does not hold it.
+     */
+    public boolean selectCard(GameCard card) {
+        return gameEngine.selectCard(card);
+    }
+
+    /**
+     * Gets the winners of the game, completed when the game is over.
+     * Completes exceptionally if the game failed or its table was closed.
+     *
+     * @return Indexes of the winning players.
+     */
+    public CompletableFuture<List<Integer>> getWinners() {
+        return winners;
+    }
+
+    public boolean isOver() {
+        return winners.isDone();
+    }
+}
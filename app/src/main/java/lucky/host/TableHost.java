@@ -0,0 +1,120 @@
+package lucky.host;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lucky.GameConfig;
+import lucky.GameEngine;
+import lucky.GameObserver;
+import lucky.events.GameEventSink;
+import lucky.events.NoOpEventSink;
+
+/**
+ * Hosts many independent tables in one process, each game running on its own thread.
+ * Tables waiting for a human move block on a handoff rather than polling, so idle tables cost no CPU.
+ * On Java 21 and later every table gets a virtual thread, so thousands of mostly idle tables only cost
+ * their game state; on earlier versions every table gets a platform thread.
+ * Games share nothing but stateless singletons (PlayerFactory, ScoreActors, GameDeck), so tables never interfere.
+ */
+public class TableHost implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Creates a host running each table on a virtual thread when the runtime has them.
+     */
+    public TableHost() {
+        this(newTableExecutor());
+    }
+
+    /**
+     * Creates a host running the tables on the given executor, which must not queue tables behind each other.
+     *
+     * @param executor The executor starting a thread per table.
+     */
+    public TableHost(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task when the runtime has them (Java 21 and later),
+     * or a platform daemon thread per task otherwise.
+     *
+     * @return The executor.
+     */
+    static ExecutorService newTableExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger nbThreads = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "table-" + nbThreads.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Opens a table without observer or event record, e.g. for bots only.
+     *
+     * @param config The settings of the game.
+     * @param seed The seed of the game.
+     * @return The table, already playing.
+     */
+    public Table openTable(GameConfig config, long seed) {
+        return openTable(config, seed, new GameObserver() {}, NoOpEventSink.getInstance());
+    }
+
+    /**
+     * Opens a table and starts its game on a thread of its own.
+     * The observer and event sink are called on the table's thread.
+     *
+     * @param config The settings of the game.
+     * @param seed The seed of the game.
+     * @param observer The observer of the game, told in particular when a human player has to move.
+     * @param eventSink The sink receiving the events of the game.
+     * @return The table, already playing.
+     */
+    public Table openTable(GameConfig config, long seed, GameObserver observer, GameEventSink eventSink) {
+        GameEngine gameEngine = new GameEngine(config, seed);
+        gameEngine.setObserver(observer);
+        gameEngine.setEventSink(eventSink);
+        gameEngine.setVerbose(false);
+
+        Table table = new Table(nextId.getAndIncrement(), seed, gameEngine);
+        tables.put(table.getId(), table);
+        // The table is closed before its winners are known, so that getNbOpenTables agrees with them
+        executor.execute(() -> table.play(() -> tables.remove(table.getId())));
+        return table;
+    }
+
+    /**
+     * Gets the tables whose game is not over.
+     *
+     * @return The open tables.
+     */
+    public Collection<Table> getOpenTables() {
+        return Collections.unmodifiableCollection(tables.values());
+    }
+
+    public int getNbOpenTables() {
+        return tables.size();
+    }
+
+    /**
+     * Closes the host, interrupting the games still running, e.g. waiting for a human move.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,423 @@
+package lucky.players;
+
+import lucky.GameConfig;
+import lucky.GameState;
+import lucky.events.GameEventSink;
+import lucky.events.SeenCardCounter;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.Rank;
+import lucky.score.MaxScoreTable;
+import lucky.score.ThirteenTable;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Particle filter over what one seat cannot see: the opponents' hands and the pack.
+ * Each particle is a deal of the unseen cards into two cards per opponent and the pack, and a guess of how each
+ * opponent picks its discards, with a weight. The guesses follow the bots of the game: at random, the lowest
+ * value, keeping a thirteen pair, or keeping the best score, each with some noise.
+ * Particles are dealt uniformly once the game starts. A card the seat draws removes the particles holding it
+ * elsewhere. An opponent's discard moves each particle as that opponent would have drawn and discarded it,
+ * weighting it by the likelihood of the discard under the particle's guess for that opponent.
+ * Particles are resampled when their weights grow too uneven, so the likely hands and guesses multiply.
+ * Cards are drawn uniformly at random from the pack, so its order carries no information and a particle only
+ * holds its pack as a set; shuffling it gives the pack order. An alias table is rebuilt after every update,
+ * so bots sample particles in constant time, from any number of threads between updates.
+ * The tracker subscribes to the seat's events and reads nothing else of the game but the seat's hand.
+ * It is experimental: its particles hold the opponents' actual cards more often than uniform deals do,
+ * but MctsPlayer has not yet been shown to score better with it (see StrategyComparator).
+ */
+public class BeliefTracker implements GameEventSink {
+    /**
+     * Ways an opponent may pick its discard, after the player types of the game.
+     */
+    enum OpponentModel {
+        RANDOM, LOWEST_VALUE, KEEP_THIRTEEN, BEST_SCORE
+    }
+
+    private static final OpponentModel[] MODELS = OpponentModel.values();
+    private static final double NOISE = 0.1; // Share of discards made at random whatever the model
+    private static final int KEEPS_PAIR = 1000; // Above any number of seen matching cards
+    private static final double RESAMPLE_THRESHOLD = 0.5; // Resample below this share of effective particles
+    private static final int HAND_SIZE = GameConfig.NB_START_CARDS;
+
+    private final int seat;
+    private final int nbParticles;
+    private final RandomGenerator random;
+    private int nbPlayers;
+    private int public1;
+    private int public2;
+    private long knownCards; // Cards the seat has seen: its own, the public cards and every discard
+    private int[] hands; // HAND_SIZE cards per player per particle, the seat's own slots unused
+    private long[] packs; // Pack of each particle, as a CardSet bitmask
+    private byte[] models; // OpponentModel ordinal per player per particle
+    private int[] spareHands; // Storage the particles are resampled into
+    private long[] sparePacks;
+    private byte[] spareModels;
+    private final SeenCardCounter seenCards = new SeenCardCounter(); // Discards so far, as the bots count them
+    private final double[] weights;
+    private final double[] aliasProbabilities;
+    private final int[] aliasIndexes;
+    private final double[] drawLikelihoods = new double[CardSet.NB_CARDS];
+
+    /**
+     * Creates a tracker for a seat.
+     *
+     * @param seat Index of the seat whose view is tracked.
+     * @param nbParticles Number of particles.
+     * @param random The random number generator of the tracker.
+     */
+    public BeliefTracker(int seat, int nbParticles, RandomGenerator random) {
+        this.seat = seat;
+        this.nbParticles = nbParticles;
+        this.random = random;
+        this.weights = new double[nbParticles];
+        this.aliasProbabilities = new double[nbParticles];
+        this.aliasIndexes = new int[nbParticles];
+    }
+
+    @Override
+    public void onGameStarted(long seed, GameState gameState) {
+        nbPlayers = gameState.getNbPlayers();
+        public1 = gameState.getPlayingArea().get(0).getCardId();
+        public2 = gameState.getPlayingArea().get(1).getCardId();
+        hands = new int[nbParticles * nbPlayers * HAND_SIZE];
+        spareHands = new int[hands.length];
+        packs = new long[nbParticles];
+        sparePacks = new long[nbParticles];
+        models = new byte[nbParticles * nbPlayers];
+        spareModels = new byte[models.length];
+        knownCards = gameState.getPlayers()[seat].getHand().getCardMask()
+                   | gameState.getPlayingArea().getCardMask() | gameState.getSeenCards().getCardMask();
+        dealParticles();
+    }
+
+    @Override
+    public void onCardDrawn(int player, GameCard card) {
+        if (player == seat) {
+            observeCard(card.getCardId());
+        }
+    }
+
+    @Override
+    public void onCardDiscarded(int player, GameCard card) {
+        int cardId = card.getCardId();
+        if (hands == null) {
+            return;
+        }
+        if (player == seat || CardSet.contains(knownCards, cardId)) {
+            observeCard(cardId);
+        } else {
+            knownCards = CardSet.add(knownCards, cardId);
+            for (int particle = 0; particle < nbParticles; particle++) {
+                if (weights[particle] > 0) {
+                    weights[particle] *= moveOnDiscard(particle, player, cardId);
+                }
+            }
+            endUpdate();
+        }
+        seenCards.add(cardId);
+    }
+
+    /**
+     * Records a card the seat has seen, e.g. one it drew, dropping the particles that hide it.
+     * Seeing a card again changes nothing.
+     *
+     * @param cardId The CardSet id of the card.
+     */
+    public void observeCard(int cardId) {
+        if (hands == null || CardSet.contains(knownCards, cardId)) {
+            return;
+        }
+        knownCards = CardSet.add(knownCards, cardId);
+        for (int particle = 0; particle < nbParticles; particle++) {
+            if (CardSet.contains(packs[particle], cardId)) {
+                // Every particle holds as many cards in its pack, so the draw is as likely in each of them
+                packs[particle] = CardSet.remove(packs[particle], cardId);
+            } else {
+                weights[particle] = 0;
+            }
+        }
+        endUpdate();
+    }
+
+    /**
+     * Moves a particle through an opponent's turn ending on the given discard.
+     * The card drawn is sampled in proportion to the likelihood of the discard once it is drawn.
+     *
+     * @return The likelihood of the discard in this particle, 0 if the particle cannot explain it.
+     */
+    private double moveOnDiscard(int particle, int player, int cardId) {
+        int slot = (particle * nbPlayers + player) * HAND_SIZE;
+        int card1 = hands[slot];
+        int card2 = hands[slot + 1];
+        long pack = packs[particle];
+        int packSize = CardSet.size(pack);
+        OpponentModel model = MODELS[models[particle * nbPlayers + player]];
+        if (cardId != card1 && cardId != card2) {
+            // The opponent can only have drawn the card and discarded it at once
+            if (!CardSet.contains(pack, cardId)) {
+                return 0;
+            }
+            packs[particle] = CardSet.remove(pack, cardId);
+            return discardLikelihood(model, cardId, card1, card2) / packSize;
+        }
+
+        int kept = cardId == card1 ? card2 : card1;
+        double total = 0;
+        for (long rest = pack; rest != 0; rest &= rest - 1) {
+            int drawn = Long.numberOfTrailingZeros(rest);
+            total += discardLikelihood(model, cardId, kept, drawn);
+            drawLikelihoods[drawn] = total;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        double target = random.nextDouble() * total;
+        int drawn = -1;
+        for (long rest = pack; rest != 0; rest &= rest - 1) {
+            drawn = Long.numberOfTrailingZeros(rest);
+            if (drawLikelihoods[drawn] > target) {
+                break;
+            }
+        }
+        hands[slot] = kept;
+        hands[slot + 1] = drawn;
+        packs[particle] = CardSet.remove(pack, drawn);
+        return total / packSize;
+    }
+
+    /**
+     * Likelihood that an opponent picking its discards by the model discards the first of its three cards.
+     * The model picks among the cards of highest preference, the noise among all three.
+     */
+    private double discardLikelihood(OpponentModel model, int discard, int other1, int other2) {
+        int discardPreference = preference(model, discard, other1, other2);
+        int other1Preference = preference(model, other1, discard, other2);
+        int other2Preference = preference(model, other2, discard, other1);
+        int bestPreference = Math.max(discardPreference, Math.max(other1Preference, other2Preference));
+        if (discardPreference < bestPreference) {
+            return NOISE / 3;
+        }
+        int nbBest = 1 + (other1Preference == bestPreference ? 1 : 0) + (other2Preference == bestPreference ? 1 : 0);
+        return NOISE / 3 + (1 - NOISE) / nbBest;
+    }
+
+    /**
+     * How much the model prefers discarding a card and keeping the two others, as in the player types.
+     */
+    private int preference(OpponentModel model, int discard, int kept1, int kept2) {
+        switch (model) {
+            case LOWEST_VALUE:
+                return -GameCard.of(discard).getValue();
+            case KEEP_THIRTEEN:
+                // A thirteen pair is kept, otherwise the card summing to thirteen with most discards goes
+                if (ThirteenTable.isThirteen(CardSet.rankIndex(kept1), CardSet.rankIndex(kept2))) {
+                    return KEEPS_PAIR;
+                }
+                return seenCards.getNbMatchingCards(Rank.fromIndex(CardSet.rankIndex(discard)));
+            case BEST_SCORE:
+                return MaxScoreTable.getMaxScore(kept1, kept2, public1, public2);
+            default:
+                return 0;
+        }
+    }
+
+    private void endUpdate() {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        if (total == 0) {
+            dealParticles(); // No particle explains what was seen, e.g. after predefined moves
+            return;
+        }
+        double squares = 0;
+        for (int particle = 0; particle < nbParticles; particle++) {
+            weights[particle] /= total;
+            squares += weights[particle] * weights[particle];
+        }
+        if (1 / squares < RESAMPLE_THRESHOLD * nbParticles) {
+            resample();
+        }
+        buildAliasTable();
+    }
+
+    /**
+     * Deals every particle anew, uniformly over the cards not seen, with equal weights.
+     */
+    private void dealParticles() {
+        long unseen = CardSet.difference(CardSet.FULL_DECK, knownCards);
+        int[] cards = new int[CardSet.size(unseen)];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = CardSet.first(unseen);
+            unseen &= unseen - 1;
+        }
+        int nbHidden = Math.min(cards.length, (nbPlayers - 1) * HAND_SIZE);
+        for (int particle = 0; particle < nbParticles; particle++) {
+            for (int i = 0; i < nbHidden; i++) {
+                int j = i + random.nextInt(cards.length - i);
+                int card = cards[j];
+                cards[j] = cards[i];
+                cards[i] = card;
+            }
+            int next = 0;
+            long pack = CardSet.difference(CardSet.FULL_DECK, knownCards);
+            for (int player = 0; player < nbPlayers; player++) {
+                for (int k = 0; k < HAND_SIZE; k++) {
+                    int slot = (particle * nbPlayers + player) * HAND_SIZE + k;
+                    if (player == seat || next == nbHidden) {
+                        hands[slot] = -1;
+                    } else {
+                        hands[slot] = cards[next++];
+                        pack = CardSet.remove(pack, hands[slot]);
+                    }
+                }
+            }
+            packs[particle] = pack;
+            for (int player = 0; player < nbPlayers; player++) {
+                models[particle * nbPlayers + player] = (byte) random.nextInt(MODELS.length);
+            }
+        }
+        Arrays.fill(weights, 1.0 / nbParticles);
+        buildAliasTable();
+    }
+
+    /**
+     * Systematic resampling: copies each particle about weight * nbParticles times, then evens the weights.
+     */
+    private void resample() {
+        int handsPerParticle = nbPlayers * HAND_SIZE;
+        double step = 1.0 / nbParticles;
+        double position = random.nextDouble() * step;
+        double cumulative = weights[0];
+        int source = 0;
+        for (int particle = 0; particle < nbParticles; particle++) {
+            while (cumulative < position && source < nbParticles - 1) {
+                cumulative += weights[++source];
+            }
+            System.arraycopy(hands, source * handsPerParticle, spareHands, particle * handsPerParticle,
+                                                                                        handsPerParticle);
+            sparePacks[particle] = packs[source];
+            System.arraycopy(models, source * nbPlayers, spareModels, particle * nbPlayers, nbPlayers);
+            position += step;
+        }
+        int[] resampledHands = spareHands;
+        spareHands = hands;
+        hands = resampledHands;
+        long[] resampledPacks = sparePacks;
+        sparePacks = packs;
+        packs = resampledPacks;
+        byte[] resampledModels = spareModels;
+        spareModels = models;
+        models = resampledModels;
+        Arrays.fill(weights, step);
+    }
+
+    /**
+     * Builds the alias table of the weights (Vose's method), so sampling a particle takes constant time.
+     */
+    private void buildAliasTable() {
+        int[] small = new int[nbParticles];
+        int[] large = new int[nbParticles];
+        int nbSmall = 0;
+        int nbLarge = 0;
+        for (int particle = 0; particle < nbParticles; particle++) {
+            aliasProbabilities[particle] = weights[particle] * nbParticles;
+            aliasIndexes[particle] = particle;
+            if (aliasProbabilities[particle] < 1) {
+                small[nbSmall++] = particle;
+            } else {
+                large[nbLarge++] = particle;
+            }
+        }
+        while (nbSmall > 0 && nbLarge > 0) {
+            int less = small[--nbSmall];
+            int more = large[nbLarge - 1];
+            aliasIndexes[less] = more;
+            aliasProbabilities[more] -= 1 - aliasProbabilities[less];
+            if (aliasProbabilities[more] < 1) {
+                nbLarge--;
+                small[nbSmall++] = more;
+            }
+        }
+        // Whatever is left is 1 up to rounding
+        while (nbLarge > 0) {
+            aliasProbabilities[large[--nbLarge]] = 1;
+        }
+        while (nbSmall > 0) {
+            aliasProbabilities[small[--nbSmall]] = 1;
+        }
+    }
+
+    /**
+     * Samples a particle in proportion to its weight, in constant time.
+     *
+     * @param random The random number generator of the caller.
+     * @return The index of the particle.
+     */
+    public int sample(RandomGenerator random) {
+        int particle = random.nextInt(nbParticles);
+        return random.nextDouble() < aliasProbabilities[particle] ? particle : aliasIndexes[particle];
+    }
+
+    /**
+     * Gets a card an opponent holds in a particle.
+     *
+     * @param particle The index of the particle.
+     * @param player Index of the opponent.
+     * @param index Index of the card in the opponent's hand, below NB_START_CARDS.
+     * @return The CardSet id of the card.
+     */
+    public int getCard(int particle, int player, int index) {
+        return hands[(particle * nbPlayers + player) * HAND_SIZE + index];
+    }
+
+    /**
+     * Gets the cards left in the pack in a particle.
+     *
+     * @param particle The index of the particle.
+     * @return The CardSet bitmask of the pack.
+     */
+    public long getPack(int particle) {
+        return packs[particle];
+    }
+
+    public double getWeight(int particle) {
+        return weights[particle];
+    }
+
+    public int getNbParticles() {
+        return nbParticles;
+    }
+
+    /**
+     * Gets the cards the seat has not seen, which the particles deal into the opponents' hands and the pack.
+     *
+     * @return The CardSet bitmask of the unseen cards.
+     */
+    public long getUnseenCards() {
+        return CardSet.difference(CardSet.FULL_DECK, knownCards);
+    }
+
+    /**
+     * Gets the believed probability that an opponent holds a card.
+     *
+     * @param player Index of the opponent.
+     * @param cardId The CardSet id of the card.
+     * @return The total weight of the particles where the opponent holds the card.
+     */
+    public double getHoldingProbability(int player, int cardId) {
+        double probability = 0;
+        for (int particle = 0; particle < nbParticles; particle++) {
+            for (int k = 0; k < HAND_SIZE; k++) {
+                if (getCard(particle, player, k) == cardId) {
+                    probability += weights[particle];
+                }
+            }
+        }
+        return probability;
+    }
+}
@@ -0,0 +1,69 @@
+package lucky.players;
+
+import lucky.clock.GameClock;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a player that discards by solving the rest of its game exactly with an EndgameSolver.
+ * The solver looks at most maxDepth of the player's own future draws ahead, so with the default depth of 1
+ * the last two rounds are solved exactly and earlier rounds look one draw ahead.
+ * This class extends the Player class.
+ */
+public class EndgamePlayer extends Player {
+    private final EndgameSolver solver = new EndgameSolver();
+    private final int maxDepth;
+
+    /**
+     * Creates a solver-based player.
+     *
+     * @param thinkingTime Delay for each robot's turn.
+     * @param clock The clock used to pause while thinking.
+     * @param maxDepth Maximum number of the player's own future draws solved.
+     */
+    public EndgamePlayer(int thinkingTime, GameClock clock, int maxDepth) {
+        super(thinkingTime, clock);
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Method that selects a card to discard.
+     * An endgame player discards the card that leaves the highest expected final score.
+     *
+     * @param pack The deck of cards to deal from.
+     * @param random The deck's random stream, used to draw a card.
+     * @return The selected card to discard.
+     */
+    @Override
+    public GameCard getSelectedCard(GameHand pack, RandomGenerator random) {
+        this.hand.dealACardToHand(pack, random); // Get a card from the deck
+
+        clock.delay(thinkingTime);
+
+        GameHand playingArea = gameState.getPlayingArea();
+        long seenCards = hand.getCardMask() | playingArea.getCardMask() | gameState.getSeenCards().getCardMask();
+        long unseenCards = CardSet.difference(CardSet.FULL_DECK, seenCards);
+        int public1 = playingArea.get(0).getCardId();
+        int public2 = playingArea.get(1).getCardId();
+
+        // Opponents after this player still play this round, every player plays the later rounds
+        int nbPlayers = gameState.getNbPlayers();
+        int nbDrawsLeft = gameState.getNbRounds() - gameState.getRoundNumber();
+        int[] opponentDrawsLeft = new int[nbPlayers - 1];
+        for (int p = 0, i = 0; p < nbPlayers; p++) {
+            if (p != seat) {
+                opponentDrawsLeft[i++] = p > seat ? nbDrawsLeft + 1 : nbDrawsLeft;
+            }
+        }
+        double opponentThirteenProbability = EndgameSolver.estimateOpponentThirteenProbability(unseenCards,
+                                                                           public1, public2, opponentDrawsLeft);
+
+        int[] cards = {hand.get(0).getCardId(), hand.get(1).getCardId(), hand.get(2).getCardId()};
+        int discard = solver.solve(cards, public1, public2, unseenCards, Math.min(nbDrawsLeft, maxDepth),
+                                                                          opponentThirteenProbability, null);
+        return hand.get(discard);
+    }
+}
@@ -0,0 +1,178 @@
+package lucky.players;
+
+import lucky.gameobjects.CardSet;
+import lucky.score.MaxScoreTable;
+import lucky.score.ThirteenTable;
+
+/**
+ * Exact expectimax solver for a player's discards over the player's remaining draws.
+ * Decision nodes keep the best of the three possible discards, chance nodes average over every unseen card
+ * the player may draw next, and a final pair is worth its expected end-of-game score under the
+ * ScoreActors rules: 100 if only the player makes thirteen, its composite max score if others also do,
+ * its private card score if nobody does and 0 if only others do.
+ * Opponents only enter through the probability that at least one of them ends with thirteen,
+ * which does not depend on the player's discards.
+ * States are memoized in a transposition table keyed on the canonical state (sorted pair, unseen cards,
+ * draws left), so one solver should be reused rather than created per decision. A solver is not thread-safe.
+ */
+public class EndgameSolver {
+    private static final int TABLE_BITS = 16;
+    private static final int TABLE_SIZE = 1 << TABLE_BITS;
+    private static final int MAX_ENTRIES = TABLE_SIZE / 2;
+
+    // Transposition table, open addressing; an entry is valid when its generation is the current one
+    private final long[] tableUnseen = new long[TABLE_SIZE];
+    private final int[] tablePairs = new int[TABLE_SIZE];
+    private final int[] tableGenerations = new int[TABLE_SIZE];
+    private final double[] tableValues = new double[TABLE_SIZE];
+    private int generation;
+    private int nbEntries;
+
+    private int public1;
+    private int public2;
+    private double noOpponentThirteen; // Probability that no opponent ends with thirteen
+
+    /**
+     * Finds the discard maximizing the expected end-of-game score.
+     *
+     * @param hand The ids of the three cards to discard one from.
+     * @param public1 Card id of the first public card.
+     * @param public2 Card id of the second public card.
+     * @param unseenCards The cards the player has not seen, which the draws come from, as a CardSet bitmask.
+     * @param nbDrawsLeft Number of turns the player plays after this one.
+     * @param opponentThirteenProbability Probability that at least one opponent ends with thirteen.
+     * @param expectedScores Receives the expected score of discarding each card of the hand, may be null.
+     * @return The index in the hand of the card to discard.
+     */
+    public int solve(int[] hand, int public1, int public2, long unseenCards, int nbDrawsLeft,
+                                                 double opponentThirteenProbability, double[] expectedScores) {
+        this.public1 = public1;
+        this.public2 = public2;
+        this.noOpponentThirteen = 1 - opponentThirteenProbability;
+        // A new generation empties the table without clearing it
+        generation++;
+        nbEntries = 0;
+
+        int best = 0;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int discard = 0; discard < 3; discard++) {
+            double value = value(hand[(discard + 1) % 3], hand[(discard + 2) % 3], unseenCards, nbDrawsLeft);
+            if (expectedScores != null) {
+                expectedScores[discard] = value;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                best = discard;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Expected end-of-game score when keeping the given pair with the given draws still to play.
+     */
+    private double value(int card1, int card2, long unseenCards, int nbDrawsLeft) {
+        if (nbDrawsLeft == 0 || unseenCards == CardSet.EMPTY) {
+            return finalValue(card1, card2);
+        }
+        int pair = card1 < card2 ? card1 * CardSet.NB_CARDS + card2 : card2 * CardSet.NB_CARDS + card1;
+        long unseenKey = unseenCards | (long) nbDrawsLeft << CardSet.NB_CARDS;
+        int slot = find(unseenKey, pair);
+        if (tableGenerations[slot] == generation) {
+            return tableValues[slot];
+        }
+
+        double total = 0;
+        for (long rest = unseenCards; rest != 0; rest &= rest - 1) {
+            int drawn = Long.numberOfTrailingZeros(rest);
+            long remaining = CardSet.remove(unseenCards, drawn);
+            double keepPair = value(card1, card2, remaining, nbDrawsLeft - 1);
+            double keepFirst = value(card1, drawn, remaining, nbDrawsLeft - 1);
+            double keepSecond = value(card2, drawn, remaining, nbDrawsLeft - 1);
+            total += Math.max(keepPair, Math.max(keepFirst, keepSecond));
+        }
+        double value = total / CardSet.size(unseenCards);
+
+        // Looked up again as the recursion may have filled the slot found before
+        slot = find(unseenKey, pair);
+        if (nbEntries < MAX_ENTRIES && tableGenerations[slot] != generation) {
+            tableUnseen[slot] = unseenKey;
+            tablePairs[slot] = pair;
+            tableGenerations[slot] = generation;
+            tableValues[slot] = value;
+            nbEntries++;
+        }
+        return value;
+    }
+
+    /**
+     * Finds the slot holding the given state, or the empty slot where it belongs.
+     */
+    private int find(long unseenKey, int pair) {
+        long hash = (unseenKey * 0x9E3779B97F4A7C15L) ^ (pair * 0xC2B2AE3D27D4EB4FL);
+        int slot = (int) (hash >>> (Long.SIZE - TABLE_BITS));
+        while (tableGenerations[slot] == generation
+                && (tableUnseen[slot] != unseenKey || tablePairs[slot] != pair)) {
+            slot = (slot + 1) & (TABLE_SIZE - 1);
+        }
+        return slot;
+    }
+
+    private double finalValue(int card1, int card2) {
+        int maxScore = MaxScoreTable.getMaxScore(card1, card2, public1, public2);
+        if (maxScore > 0) {
+            return noOpponentThirteen * 100 + (1 - noOpponentThirteen) * maxScore;
+        }
+        return noOpponentThirteen * MaxScoreTable.getPrivateScore(card1, card2);
+    }
+
+    /**
+     * Estimates the probability that at least one opponent ends the game with thirteen.
+     * Each opponent is taken to hold random unseen cards and to keep a pair making thirteen whenever one of
+     * the pairs it sees does, and pairs are counted as independent.
+     *
+     * @param unseenCards The cards the player has not seen, as a CardSet bitmask.
+     * @param public1 Card id of the first public card.
+     * @param public2 Card id of the second public card.
+     * @param opponentDrawsLeft Number of cards each opponent still draws.
+     * @return The estimated probability.
+     */
+    public static double estimateOpponentThirteenProbability(long unseenCards, int public1, int public2,
+                                                                                   int[] opponentDrawsLeft) {
+        int publicRank1 = CardSet.rankIndex(public1);
+        int publicRank2 = CardSet.rankIndex(public2);
+        int[] rankCounts = new int[CardSet.NB_RANKS];
+        for (long rest = unseenCards; rest != 0; rest &= rest - 1) {
+            rankCounts[CardSet.rankIndex(Long.numberOfTrailingZeros(rest))]++;
+        }
+
+        // Count the unseen pairs that make thirteen, by rank
+        long nbThirteenPairs = 0;
+        for (int rank1 = 0; rank1 < CardSet.NB_RANKS; rank1++) {
+            for (int rank2 = rank1; rank2 < CardSet.NB_RANKS; rank2++) {
+                boolean isThirteen = ThirteenTable.isThirteen(rank1, rank2)
+                        || ThirteenTable.isThirteen(rank1, publicRank1)
+                        || ThirteenTable.isThirteen(rank1, publicRank2)
+                        || ThirteenTable.isThirteen(rank2, publicRank1)
+                        || ThirteenTable.isThirteen(rank2, publicRank2)
+                        || ThirteenTable.isThirteen(rank1, rank2, publicRank1, publicRank2);
+                if (isThirteen) {
+                    nbThirteenPairs += rank1 == rank2 ? rankCounts[rank1] * (rankCounts[rank1] - 1) / 2
+                                                      : rankCounts[rank1] * rankCounts[rank2];
+                }
+            }
+        }
+        int nbUnseen = CardSet.size(unseenCards);
+        if (nbUnseen < 2) {
+            return 0;
+        }
+        double pairProbability = nbThirteenPairs / (nbUnseen * (nbUnseen - 1) / 2.0);
+
+        double noThirteen = 1;
+        for (int drawsLeft : opponentDrawsLeft) {
+            int nbCardsSeen = 2 + drawsLeft;
+            noThirteen *= Math.pow(1 - pairProbability, nbCardsSeen * (nbCardsSeen - 1) / 2.0);
+        }
+        return 1 - noThirteen;
+    }
+}
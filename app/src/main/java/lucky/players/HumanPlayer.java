@@ -1,20 +1,18 @@
 package lucky.players;
 
-import ch.aplu.jcardgame.Card;
-import ch.aplu.jcardgame.Hand;
+import lucky.clock.GameClock;
+import lucky.gameobjects.GameCard;
 import lucky.gameobjects.GameHand;
 
-import java.util.Random;
-
-import static ch.aplu.util.BaseTimer.delay;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a human player in the game.
  * This class extends the Player class.
  */
 public class HumanPlayer extends Player {
-    public HumanPlayer(int thinkingTime) {
-        super(thinkingTime);
+    public HumanPlayer(int thinkingTime, GameClock clock) {
+        super(thinkingTime, clock);
     }
 
     /**
@@ -22,7 +20,7 @@ public class HumanPlayer extends Player {
      * Not implemented by the human player, as this behaviour is handled by the UI.
      */
     @Override
-    public Card getSelectedCard(Hand pack, Random random) {
+    public GameCard getSelectedCard(GameHand pack, RandomGenerator random) {
         return null;
     }
 }
@@ -0,0 +1,178 @@
+package lucky.players;
+
+import lucky.GameState;
+import lucky.clock.GameClock;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a player that picks its discard with information set Monte Carlo tree search.
+ * The search reasons about everything the player may know: its hand, the public cards, the discarded cards
+ * and the turns left, and samples the unseen pack and opponents' hands (see MctsSearch).
+ * Several threads may search independent trees whose root statistics are added up (root parallelism).
+ * The search either runs a fixed number of iterations, then waits thinkingTime like the other bots,
+ * or searches for thinkingTime milliseconds instead of waiting.
+ * Seeds of the searches come from the seat's random stream, so an iteration budget gives reproducible games.
+ * With particles, a BeliefTracker follows the discards to sample the opponents' hands instead of dealing
+ * them uniformly. This is experimental and off by default.
+ * This class extends the Player class.
+ */
+public class MctsPlayer extends Player {
+    private final int iterations;
+    private final int nbThreads;
+    private final boolean isTimeBudget;
+    private final int nbParticles;
+    private BeliefTracker belief;
+
+    /**
+     * Creates a search-based player.
+     *
+     * @param thinkingTime Delay for each turn, or time searched with a time budget.
+     * @param clock The clock used to pause while thinking.
+     * @param iterations Iterations searched per discard with an iteration budget.
+     * @param nbThreads Number of threads searching at the same time.
+     * @param isTimeBudget Whether to search for thinkingTime rather than a number of iterations.
+     */
+    public MctsPlayer(int thinkingTime, GameClock clock, int iterations, int nbThreads, boolean isTimeBudget) {
+        this(thinkingTime, clock, iterations, nbThreads, isTimeBudget, 0);
+    }
+
+    /**
+     * Creates a search-based player tracking its belief about the opponents' hands.
+     *
+     * @param thinkingTime Delay for each turn, or time searched with a time budget.
+     * @param clock The clock used to pause while thinking.
+     * @param iterations Iterations searched per discard with an iteration budget.
+     * @param nbThreads Number of threads searching at the same time.
+     * @param isTimeBudget Whether to search for thinkingTime rather than a number of iterations.
+     * @param nbParticles Particles of the belief tracker, 0 to deal the opponents' hands uniformly.
+     */
+    public MctsPlayer(int thinkingTime, GameClock clock, int iterations, int nbThreads, boolean isTimeBudget,
+                                                                                            int nbParticles) {
+        super(thinkingTime, clock);
+        this.iterations = iterations;
+        this.nbThreads = Math.max(1, nbThreads);
+        this.isTimeBudget = isTimeBudget;
+        this.nbParticles = nbParticles;
+    }
+
+    @Override
+    public void joinGame(GameState gameState, int seat) {
+        super.joinGame(gameState, seat);
+        if (nbParticles > 0) {
+            belief = new BeliefTracker(seat, nbParticles, new SplittableRandom(seatRandom.nextLong()));
+            gameState.getEventBus().subscribe(belief, seat);
+        }
+    }
+
+    /**
+     * Method that selects a card to discard.
+     * An MCTS player discards the card whose discard scored best on average over the searched games.
+     * If the pack is empty, it discards the lowest value of its two cards without searching.
+     *
+     * @param pack The deck of cards to deal from.
+     * @param random The deck's random stream, used to draw a card.
+     * @return The selected card to discard.
+     */
+    @Override
+    public GameCard getSelectedCard(GameHand pack, RandomGenerator random) {
+        GameCard drawn = this.hand.dealACardToHand(pack, random); // Get a card from the deck
+        if (drawn == null) {
+            // The pack ran out, so there is nothing to search: keep the card worth the most
+            clock.delay(thinkingTime);
+            GameCard lowestCard = hand.get(0);
+            for (GameCard card : hand.getCardList()) {
+                if (card.getValue() < lowestCard.getValue()) {
+                    lowestCard = card;
+                }
+            }
+            return lowestCard;
+        }
+        if (belief != null) {
+            belief.observeCard(drawn.getCardId()); // Seen now, before the game reports the draw
+        }
+        long deadline = System.nanoTime() + thinkingTime * 1_000_000L;
+
+        SplittableRandom searchRandom = new SplittableRandom(seatRandom.nextLong());
+        List<MctsSearch> searches = new ArrayList<>();
+        for (int i = 0; i < nbThreads; i++) {
+            searches.add(newSearch(searchRandom.split()));
+        }
+
+        // The calling thread runs the first search while the others run on the common pool
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 1; i < nbThreads; i++) {
+            MctsSearch search = searches.get(i);
+            int share = iterations / nbThreads;
+            futures.add(CompletableFuture.runAsync(() -> runSearch(search, share, deadline)));
+        }
+        runSearch(searches.get(0), iterations - (nbThreads - 1) * (iterations / nbThreads), deadline);
+        futures.forEach(CompletableFuture::join);
+
+        if (!isTimeBudget) {
+            clock.delay(thinkingTime);
+        }
+
+        int[] visits = new int[CardSet.NB_CARDS];
+        for (MctsSearch search : searches) {
+            search.addRootVisits(visits);
+        }
+        GameCard selected = hand.get(0);
+        for (GameCard card : hand.getCardList()) {
+            if (visits[card.getCardId()] > visits[selected.getCardId()]) {
+                selected = card;
+            }
+        }
+        return selected;
+    }
+
+    private void runSearch(MctsSearch search, int share, long deadline) {
+        if (isTimeBudget) {
+            search.runUntil(deadline);
+        } else {
+            search.run(share);
+        }
+    }
+
+    /**
+     * Builds a search from what the player knows of the game.
+     */
+    private MctsSearch newSearch(SplittableRandom random) {
+        int nbPlayers = gameState.getNbPlayers();
+        long seenCards = hand.getCardMask() | gameState.getPlayingArea().getCardMask()
+                                            | gameState.getSeenCards().getCardMask();
+
+        int[] rootCards = new int[3];
+        for (int i = 0; i < rootCards.length; i++) {
+            rootCards[i] = hand.get(i).getCardId();
+        }
+        int[] publicCards = {gameState.getPlayingArea().get(0).getCardId(),
+                             gameState.getPlayingArea().get(1).getCardId()};
+
+        // Players after this one finish the current round, then every player plays each remaining round
+        int nbRoundsLeft = gameState.getNbRounds() - gameState.getRoundNumber();
+        int[] turnSeats = new int[nbPlayers - 1 - seat + nbRoundsLeft * nbPlayers];
+        int turn = 0;
+        for (int p = seat + 1; p < nbPlayers; p++) {
+            turnSeats[turn++] = p;
+        }
+        for (int round = 0; round < nbRoundsLeft; round++) {
+            for (int p = 0; p < nbPlayers; p++) {
+                turnSeats[turn++] = p;
+            }
+        }
+
+        long unseenCards = CardSet.difference(CardSet.FULL_DECK, seenCards);
+        // The belief deals the same unseen cards unless it lost track of the game, e.g. after predefined moves
+        BeliefTracker searchBelief = belief != null && belief.getUnseenCards() == unseenCards ? belief : null;
+        return new MctsSearch(random, nbPlayers, seat, rootCards, publicCards, unseenCards, turnSeats,
+                                                                                            searchBelief);
+    }
+}
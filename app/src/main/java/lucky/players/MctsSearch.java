@@ -0,0 +1,292 @@
+package lucky.players;
+
+import lucky.gameobjects.CardSet;
+import lucky.score.MaxScoreTable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Single-observer information set Monte Carlo tree search for one discard decision of an MctsPlayer.
+ * Each iteration deals the unseen cards at random into the opponents' hands and the pack (a determinization),
+ * uniformly or following the particles of a BeliefTracker, walks the tree of the player's own discards, which is
+ * shared by all determinizations, then plays the rest of the game out with a greedy policy and scores it with
+ * MaxScoreTable.
+ * Only the player's hand, the public cards and the discarded cards are known to the search.
+ * One search runs on one thread and allocates nothing but new tree nodes.
+ */
+class MctsSearch {
+    private static final double EXPLORATION = 0.7;
+    private static final double SCORE_SCALE = 100.0; // Score of a sole thirteen, maps rewards to about [0, 1]
+
+    /**
+     * Represents the player's discard of one card, after the decisions of its parent nodes.
+     */
+    static final class Node {
+        final int action; // Card id discarded
+        Node[] children = new Node[3];
+        int nbChildren;
+        int visits;
+        int availability; // Number of iterations in which this discard was possible
+        double totalReward;
+
+        Node(int action) {
+            this.action = action;
+        }
+
+        Node findChild(int action) {
+            for (int i = 0; i < nbChildren; i++) {
+                if (children[i].action == action) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        Node addChild(int action) {
+            if (nbChildren == children.length) {
+                Node[] grown = new Node[2 * nbChildren];
+                System.arraycopy(children, 0, grown, 0, nbChildren);
+                children = grown;
+            }
+            Node child = new Node(action);
+            children[nbChildren++] = child;
+            return child;
+        }
+    }
+
+    private final SplittableRandom random;
+    private final BeliefTracker belief; // Where opponents' hands are sampled from, or null to deal them uniformly
+    private final int nbPlayers;
+    private final int seat;
+    private final int public1;
+    private final int public2;
+    private final int[] rootCards; // The player's three cards
+    private final int[] unseen; // Cards the player has not seen, dealt anew by each determinization
+    private final int[] turnSeats; // Seats of the turns left after the current one, in order
+    private final int nbDealt; // Cards each determinization needs: the opponents' hands then the draws
+    private final int[] hands; // Two cards per player
+    private final int[] scores;
+    private final int[] cards = new int[3];
+    private final Node[] path;
+    private final Node root = new Node(-1);
+
+    /**
+     * Prepares a search.
+     *
+     * @param random The random number generator of this search.
+     * @param nbPlayers Number of players at the table.
+     * @param seat Index of the searching player.
+     * @param rootCards The three cards the player chooses a discard from.
+     * @param publicCards The ids of the two public cards.
+     * @param unseenCards The cards the player has not seen, as a CardSet bitmask.
+     * @param turnSeats Seats of the turns left after the current one, in order.
+     * @param belief The tracker sampling the opponents' hands, dealing the same unseen cards, or null.
+     */
+    MctsSearch(SplittableRandom random, int nbPlayers, int seat, int[] rootCards, int[] publicCards,
+                                                 long unseenCards, int[] turnSeats, BeliefTracker belief) {
+        this.random = random;
+        this.belief = belief;
+        this.nbPlayers = nbPlayers;
+        this.seat = seat;
+        this.rootCards = rootCards;
+        this.public1 = publicCards[0];
+        this.public2 = publicCards[1];
+        this.turnSeats = turnSeats;
+        this.unseen = new int[CardSet.size(unseenCards)];
+        for (int i = 0; i < unseen.length; i++) {
+            unseen[i] = CardSet.first(unseenCards);
+            unseenCards &= unseenCards - 1;
+        }
+        this.nbDealt = Math.min(unseen.length, 2 * (nbPlayers - 1) + turnSeats.length);
+        this.hands = new int[2 * nbPlayers];
+        this.scores = new int[nbPlayers];
+        int nbOwnTurns = 1;
+        for (int turnSeat : turnSeats) {
+            if (turnSeat == seat) nbOwnTurns++;
+        }
+        this.path = new Node[nbOwnTurns + 1];
+    }
+
+    /**
+     * Runs a number of iterations.
+     *
+     * @param iterations Number of iterations to run.
+     */
+    void run(int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            iterate();
+        }
+    }
+
+    /**
+     * Runs iterations until the given time.
+     *
+     * @param deadline The System.nanoTime value to stop at.
+     * @return Number of iterations run, at least one.
+     */
+    int runUntil(long deadline) {
+        int iterations = 0;
+        do {
+            iterate();
+            iterations++;
+        } while (System.nanoTime() < deadline);
+        return iterations;
+    }
+
+    /**
+     * Adds the visits of each root discard to the given counts.
+     *
+     * @param visits Visits indexed by card id.
+     */
+    void addRootVisits(int[] visits) {
+        for (int i = 0; i < root.nbChildren; i++) {
+            visits[root.children[i].action] += root.children[i].visits;
+        }
+    }
+
+    private void iterate() {
+        // Determinization: the opponents' hands then the draws, from unseen[0] on
+        int next = belief != null ? dealFromBelief() : dealUniformly();
+
+        cards[0] = rootCards[0];
+        cards[1] = rootCards[1];
+        cards[2] = rootCards[2];
+        Node node = select(root, cards);
+        int depth = 0;
+        path[depth++] = node;
+        boolean inTree = node.visits > 0;
+        keep(seat, node.action);
+
+        for (int turnSeat : turnSeats) {
+            if (next == nbDealt) {
+                break; // The pack is empty
+            }
+            cards[0] = hands[2 * turnSeat];
+            cards[1] = hands[2 * turnSeat + 1];
+            cards[2] = unseen[next++];
+            int discard;
+            if (turnSeat == seat && inTree) {
+                node = select(node, cards);
+                path[depth++] = node;
+                inTree = node.visits > 0;
+                discard = node.action;
+            } else {
+                discard = playoutDiscard();
+            }
+            keep(turnSeat, discard);
+        }
+
+        MaxScoreTable.scoreEndOfGame(hands, public1, public2, scores);
+        double reward = scores[seat] / SCORE_SCALE;
+        for (int i = 0; i < depth; i++) {
+            path[i].visits++;
+            path[i].totalReward += reward;
+        }
+    }
+
+    /**
+     * Deals the unseen cards at random into the opponents' hands and the pack.
+     *
+     * @return The index in unseen of the first card drawn.
+     */
+    private int dealUniformly() {
+        for (int i = 0; i < nbDealt; i++) {
+            int j = i + random.nextInt(unseen.length - i);
+            int card = unseen[j];
+            unseen[j] = unseen[i];
+            unseen[i] = card;
+        }
+        int next = 0;
+        for (int p = 0; p < nbPlayers; p++) {
+            if (p != seat) {
+                hands[2 * p] = unseen[next++];
+                hands[2 * p + 1] = unseen[next++];
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Deals the opponents' hands of a particle sampled from the belief, then shuffles its pack
+     * as far as the draws need.
+     *
+     * @return The index in unseen of the first card drawn.
+     */
+    private int dealFromBelief() {
+        int particle = belief.sample(random);
+        int next = 0;
+        for (int p = 0; p < nbPlayers; p++) {
+            if (p != seat) {
+                hands[2 * p] = unseen[next++] = belief.getCard(particle, p, 0);
+                hands[2 * p + 1] = unseen[next++] = belief.getCard(particle, p, 1);
+            }
+        }
+        int size = next;
+        for (long pack = belief.getPack(particle); pack != 0; pack &= pack - 1) {
+            unseen[size++] = Long.numberOfTrailingZeros(pack);
+        }
+        for (int i = next; i < nbDealt; i++) {
+            int j = i + random.nextInt(size - i);
+            int card = unseen[j];
+            unseen[j] = unseen[i];
+            unseen[i] = card;
+        }
+        return next;
+    }
+
+    /**
+     * Sets the hand of a player to the two cards of the current three that are not discarded.
+     */
+    private void keep(int player, int discard) {
+        int kept = 0;
+        for (int card : cards) {
+            if (card != discard) {
+                hands[2 * player + kept++] = card;
+            }
+        }
+    }
+
+    /**
+     * Picks the child to follow among the discards available with the current cards.
+     * An untried discard is expanded first, otherwise the discard with the best upper confidence bound
+     * over its availability is followed.
+     */
+    private Node select(Node node, int[] cards) {
+        Node best = null;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int card : cards) {
+            Node child = node.findChild(card);
+            if (child == null) {
+                child = node.addChild(card);
+            }
+            child.availability++;
+            if (best != null && best.visits == 0) {
+                continue;
+            }
+            double value = child.visits == 0 ? Double.POSITIVE_INFINITY : child.totalReward / child.visits
+                    + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Greedy playout policy: discard the card whose removal leaves the best score if the game ended now,
+     * or a random card when no two cards make thirteen.
+     */
+    private int playoutDiscard() {
+        int bestDiscard = cards[random.nextInt(3)];
+        int bestScore = 0;
+        for (int i = 0; i < 3; i++) {
+            int score = MaxScoreTable.getMaxScore(cards[(i + 1) % 3], cards[(i + 2) % 3], public1, public2);
+            if (score > bestScore) {
+                bestScore = score;
+                bestDiscard = cards[i];
+            }
+        }
+        return bestDiscard;
+    }
+}
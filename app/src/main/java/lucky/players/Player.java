@@ -1,20 +1,46 @@
 package lucky.players;
 
-import ch.aplu.jcardgame.Card;
-import ch.aplu.jcardgame.Hand;
+import lucky.GameState;
+import lucky.clock.GameClock;
+import lucky.events.GameEventBus;
+import lucky.events.GameEventSink;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
 import lucky.gameobjects.GameHand;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Abstract class representing player in the game.
  * Each player maintains their own set of private cards.
+ * A player hears the events of its game through the game's event bus: every discard, and its own draws only.
  */
-public abstract class Player {
-    protected Hand hand; // The set of private cards held by each player.
+public abstract class Player implements GameEventSink {
+    protected GameHand hand; // The set of private cards held by each player.
     protected int thinkingTime;
-    public Player(int thinkingTime) {
+    protected GameClock clock; // The clock used to pause while thinking.
+    protected GameState gameState; // The game the player sits at, for the public cards and discards.
+    protected int seat; // Index of the player at the table.
+    protected RandomGenerator seatRandom; // The seat's own random stream, for the player's decisions.
+    public Player(int thinkingTime, GameClock clock) {
         this.thinkingTime = thinkingTime;
+        this.clock = clock;
+    }
+
+    /**
+     * Seats the player at a game, giving it the seat's random stream for its decisions,
+     * and subscribes it to the events of the game.
+     * Bots that reason about the table read the public cards, the discarded cards and the round from it,
+     * and must not look at the other players' hands or the order of the pack.
+     *
+     * @param gameState The state of the game.
+     * @param seat Index of the player at the table.
+     */
+    public void joinGame(GameState gameState, int seat) {
+        this.gameState = gameState;
+        this.seat = seat;
+        this.seatRandom = gameState.getRandomStreams().getSeatRandom(seat);
+        gameState.getEventBus().subscribe(this, seat);
     }
 
     /**
@@ -22,7 +48,7 @@ public abstract class Player {
      *
      * @return The player's hand.
      */
-    public Hand getHand() {
+    public GameHand getHand() {
         return this.hand;
     }
 
@@ -31,7 +57,7 @@ public abstract class Player {
      *
      * @param hand The player's hand.
      */
-    public void setHand(Hand hand) {
+    public void setHand(GameHand hand) {
         this.hand = hand;
     }
 
@@ -39,37 +65,31 @@ public abstract class Player {
      * Abstract method that selects a card to discard for each player turn.
      *
      * @param pack The deck of cards to deal from.
-     * @param random The random seed from LuckyThirdteen.
+     * @param random The deck's random stream, used to draw a card.
      * @return The selected card to be discarded.
      */
-    public abstract Card getSelectedCard(Hand pack, Random random);
+    public abstract GameCard getSelectedCard(GameHand pack, RandomGenerator random);
 
     /**
      * Applies automatic movement based on the pre-defined sequence of cards in game properties.
      *
      * @param pack The deck of cards to deal from.
-     * @param nextMovement The string of pre-defined movements.
+     * @param drawnCardId The id of the card to draw.
+     * @param discardedCardId The id of the card to discard, or -1 to leave the choice to the player.
      * @return The selected card to be discarded, or null if no valid card is found.
      */
-    public Card applyAutoMovement(Hand pack, String nextMovement) {
+    public GameCard applyAutoMovement(GameHand pack, int drawnCardId, int discardedCardId) {
         if (pack.isEmpty()) return null;
 
-        String[] cardStrings = nextMovement.split("-");
-        String cardDealtString = cardStrings[0];
-        Card dealt = ((GameHand)pack).getCardFromList(cardDealtString);
+        GameCard dealt = pack.getCardById(drawnCardId);
 
         if (dealt != null) {
-            dealt.removeFromHand(false);
-            this.hand.insert(dealt, true);
+            pack.remove(dealt);
+            this.hand.insert(dealt);
         } else {
-            System.out.println("cannot draw card: " + cardDealtString + " - hand: " + this.hand);
+            System.out.println("cannot draw card: " + CardSet.cardName(drawnCardId) + " - hand: " + this.hand);
         }
 
-        if (cardStrings.length > 1) {
-            String cardDiscardString = cardStrings[1];
-            return ((GameHand)this.hand).getCardFromList(cardDiscardString);
-        } else {
-            return null;
-        }
+        return this.hand.getCardById(discardedCardId);
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,16 @@
 package lucky.players;
 
+import lucky.clock.GameClock;
+
+import java.util.List;
+
 /**
  * Factory class for creating different types of players.
  * This class is implemented as a singleton.
  */
 public class PlayerFactory {
-    private static PlayerFactory playerFactory; // The singleton instance
+    public static final List<String> PLAYER_TYPES = List.of("human", "random", "basic", "clever", "mcts", "endgame");
+    private static final PlayerFactory playerFactory = new PlayerFactory(); // The singleton instance
     private PlayerFactory() {}
 
     /**
@@ -14,29 +19,48 @@ public class PlayerFactory {
      * @return Instance of PlayerFactory.
      */
     public static PlayerFactory getInstance() {
-        if (playerFactory == null) {
-            playerFactory = new PlayerFactory();
-        }
         return playerFactory;
     }
 
     /**
      * Creates a player of the specified type.
      *
-     * @param playerType Type of player to create (human, random, basic, clever).
+     * @param playerType Type of player to create (human, random, basic, clever, mcts, endgame).
+     * @param thinkingTime Delay for each robot's turn.
+     * @param clock The clock used to pause while thinking.
+     * @return The created player instance.
+     */
+    public Player createPlayer(String playerType, int thinkingTime, GameClock clock) {
+        return createPlayer(playerType, thinkingTime, clock, PlayerSettings.DEFAULTS);
+    }
+
+    /**
+     * Creates a player of the specified type, reading the settings of search-based bots:
+     * mcts.iterations (2000), mcts.threads (1), mcts.budget (iterations or time), endgame.depth (1), and the
+     * experimental mcts.particles (0, off). Particles let an mcts player track a belief over the opponents' hands,
+     * but have not yet been shown to score better than uniform deals.
+     *
+     * @param playerType Type of player to create (human, random, basic, clever, mcts, endgame).
      * @param thinkingTime Delay for each robot's turn.
+     * @param clock The clock used to pause while thinking.
+     * @param settings Settings of the player types, validated by GameConfig.
      * @return The created player instance.
      */
-    public Player createPlayer(String playerType, int thinkingTime) {
+    public Player createPlayer(String playerType, int thinkingTime, GameClock clock, PlayerSettings settings) {
         switch (playerType) {
             case "human":
-                return new HumanPlayer(thinkingTime);
+                return new HumanPlayer(thinkingTime, clock);
             case "random":
-                return new RandomPlayer(thinkingTime);
+                return new RandomPlayer(thinkingTime, clock);
             case "basic":
-                return new BasicPlayer(thinkingTime);
+                return new BasicPlayer(thinkingTime, clock);
             case "clever":
-                return new CleverPlayer(thinkingTime);
+                return new CleverPlayer(thinkingTime, clock);
+            case "mcts":
+                return new MctsPlayer(thinkingTime, clock, settings.getMctsIterations(), settings.getMctsThreads(),
+                        settings.isMctsTimeBudget(), settings.getMctsParticles());
+            case "endgame":
+                return new EndgamePlayer(thinkingTime, clock, settings.getEndgameDepth());
             default:
                 throw new IllegalArgumentException("Unknown player type");
         }
@@ -0,0 +1,69 @@
+package lucky.players;
+
+/**
+ * Represents the settings of the search-based player types, parsed and validated once by GameConfig
+ * from the keys named after a player type, e.g. mcts.iterations.
+ * PlayerFactory reads them for every player it creates, so creating a player never parses strings.
+ * This class is immutable.
+ */
+public final class PlayerSettings {
+    public static final PlayerSettings DEFAULTS = new PlayerSettings(2000, 1, false, 0, 1);
+
+    private final int mctsIterations;
+    private final int mctsThreads;
+    private final boolean isMctsTimeBudget;
+    private final int mctsParticles;
+    private final int endgameDepth;
+
+    /**
+     * Creates the settings of the search-based players.
+     *
+     * @param mctsIterations Iterations searched per discard by mcts players with an iteration budget.
+     * @param mctsThreads Number of threads searching at the same time for an mcts player.
+     * @param isMctsTimeBudget Whether mcts players search for thinkingTime rather than a number of iterations.
+     * @param mctsParticles Particles of the mcts players' belief tracker, 0 to deal the opponents' hands uniformly.
+     * @param endgameDepth Maximum number of an endgame player's own future draws solved.
+     */
+    public PlayerSettings(int mctsIterations, int mctsThreads, boolean isMctsTimeBudget, int mctsParticles,
+                                                                                       int endgameDepth) {
+        this.mctsIterations = mctsIterations;
+        this.mctsThreads = mctsThreads;
+        this.isMctsTimeBudget = isMctsTimeBudget;
+        this.mctsParticles = mctsParticles;
+        this.endgameDepth = endgameDepth;
+    }
+
+    public int getMctsIterations() {
+        return mctsIterations;
+    }
+
+    public int getMctsThreads() {
+        return mctsThreads;
+    }
+
+    public boolean isMctsTimeBudget() {
+        return isMctsTimeBudget;
+    }
+
+    public int getMctsParticles() {
+        return mctsParticles;
+    }
+
+    public int getEndgameDepth() {
+        return endgameDepth;
+    }
+
+    /**
+     * Describes every setting with the keys of the game properties.
+     *
+     * @return The settings, e.g. "mcts.iterations=2000;mcts.threads=1;...".
+     */
+    @Override
+    public String toString() {
+        return "mcts.iterations=" + mctsIterations
+               + ";mcts.threads=" + mctsThreads
+               + ";mcts.budget=" + (isMctsTimeBudget ? "time" : "iterations")
+               + ";mcts.particles=" + mctsParticles
+               + ";endgame.depth=" + endgameDepth;
+    }
+}
@@ -1,20 +1,18 @@
 package lucky.players;
 
-import ch.aplu.jcardgame.Card;
-import ch.aplu.jcardgame.Hand;
+import lucky.clock.GameClock;
+import lucky.gameobjects.GameCard;
 import lucky.gameobjects.GameHand;
 
-import java.util.Random;
-
-import static ch.aplu.util.BaseTimer.delay;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a random player in the game.
  * This class extends the Player class.
  */
 public class RandomPlayer extends Player {
-    public RandomPlayer(int thinkingTime) {
-        super(thinkingTime);
+    public RandomPlayer(int thinkingTime, GameClock clock) {
+        super(thinkingTime, clock);
     }
 
     /**
@@ -22,17 +20,17 @@ public class RandomPlayer extends Player {
      * A random player randomly selects a card to discard.
      *
      * @param pack The deck of cards to deal from.
-     * @param random The random seed from LuckyThirdteen.
+     * @param random The deck's random stream, used to draw a card.
      * @return A random card to discard.
      */
     @Override
-    public Card getSelectedCard(Hand pack, Random random) {
-        ((GameHand)this.hand).dealACardToHand(pack, random); // Get a card from the deck
+    public GameCard getSelectedCard(GameHand pack, RandomGenerator random) {
+        this.hand.dealACardToHand(pack, random); // Get a card from the deck
 
-        delay(thinkingTime);
+        clock.delay(thinkingTime);
 
         // Get a random index from list of cards to discard
-        int x = random.nextInt(this.hand.getCardList().size());
+        int x = seatRandom.nextInt(this.hand.getCardList().size());
         return this.hand.getCardList().get(x);
     }
 }
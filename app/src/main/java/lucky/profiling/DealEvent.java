@@ -0,0 +1,24 @@
+package lucky.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event timing the deal of a game, from the fresh pack to the dealt hands and public cards.
+ */
+@Name("lucky.Deal")
+@Label("Deal")
+@Category({"Lucky Thirteen", "Game"})
+@Description("Dealing of the initial hands and public cards")
+@StackTrace(false)
+public class DealEvent extends Event {
+    @Label("Players")
+    public int nbPlayers;
+
+    @Label("Cards Dealt")
+    public int nbCardsDealt;
+}
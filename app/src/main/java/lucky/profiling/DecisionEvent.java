@@ -0,0 +1,30 @@
+package lucky.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event timing one Player.getSelectedCard call, thinking pauses included.
+ */
+@Name("lucky.Decision")
+@Label("Decision")
+@Category({"Lucky Thirteen", "Players"})
+@Description("A player drawing a card and choosing the card to discard")
+@StackTrace(false)
+public class DecisionEvent extends Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Seat")
+    public int seat;
+
+    @Label("Player Type")
+    public String playerType;
+
+    @Label("Selected Card")
+    public String selectedCard;
+}
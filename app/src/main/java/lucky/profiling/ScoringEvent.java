@@ -0,0 +1,24 @@
+package lucky.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event timing the end of game scoring.
+ */
+@Name("lucky.Scoring")
+@Label("End of Game Scoring")
+@Category({"Lucky Thirteen", "Game"})
+@Description("Scoring of the final hands by ScoreActors")
+@StackTrace(false)
+public class ScoringEvent extends Event {
+    @Label("Players")
+    public int nbPlayers;
+
+    @Label("Players With Thirteen")
+    public int nbThirteen;
+}
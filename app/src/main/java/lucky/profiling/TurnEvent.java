@@ -0,0 +1,31 @@
+package lucky.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event timing one player's turn: the draw, the choice of the discard and the pauses.
+ */
+@Name("lucky.Turn")
+@Label("Turn")
+@Category({"Lucky Thirteen", "Game"})
+@Description("One player's turn, either a predefined move in auto mode or a move chosen by the player")
+@StackTrace(false)
+public class TurnEvent extends Event {
+    @Label("Round")
+    public int round;
+
+    @Label("Seat")
+    public int seat;
+
+    @Label("Player Type")
+    public String playerType;
+
+    @Label("Predefined Move")
+    @Description("Whether the turn replayed a move from the game properties")
+    public boolean isAuto;
+}
@@ -1,6 +1,6 @@
 package lucky.score;
 
-import ch.aplu.jcardgame.Hand;
+import lucky.gameobjects.GameHand;
 import lucky.players.Player;
 
 /**
@@ -17,7 +17,7 @@ public class CompositeMaxScoreStrategy extends CompositeScoreStrategy{
      * @param playingArea The cards to be considered for score calculation.
      * @return An integer of maximum score possible.
      */
-    public int calculateScore(Player player, Hand playingArea) {
+    public int calculateScore(Player player, GameHand playingArea) {
         int maxScore = 0;
         for (ScoreStrategy strategy : this.scoringStrategies) {
             int score = strategy.calculateScore(player, playingArea);
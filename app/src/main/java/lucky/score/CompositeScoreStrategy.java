@@ -1,6 +1,6 @@
 package lucky.score;
 
-import ch.aplu.jcardgame.Hand;
+import lucky.gameobjects.GameHand;
 import lucky.players.Player;
 
 import java.util.ArrayList;
@@ -29,5 +29,5 @@ public abstract class CompositeScoreStrategy implements ScoreStrategy {
      * @param playingArea The cards to be considered for score calculation.
      * @Return An integer of the most desirable score based on the calculation logic.
      */
-    public abstract int calculateScore(Player player, Hand playingArea);
+    public abstract int calculateScore(Player player, GameHand playingArea);
 }
@@ -0,0 +1,103 @@
+package lucky.score;
+
+/**
+ * Represents many end-of-game positions laid out as a structure of arrays, for batch scoring.
+ * Each position holds two private card ids per player and two public card ids, and every card slot is
+ * stored in its own array indexed by position, so a scorer reads consecutive positions from each array.
+ */
+public class EndgameBatch {
+    private final int nbPlayers;
+    private final int capacity;
+    private final int[][] privateCards; // Card ids of private card k of player p, in array 2 * p + k
+    private final int[] publicCards1;
+    private final int[] publicCards2;
+    private final int[][] scores; // Scores of player p, in array p
+    private final int[] thirteenCounts; // Room for the number of players making thirteen in each position
+    private int size;
+
+    /**
+     * Creates an empty batch.
+     *
+     * @param nbPlayers Number of players of every position.
+     * @param capacity Maximum number of positions.
+     */
+    public EndgameBatch(int nbPlayers, int capacity) {
+        this.nbPlayers = nbPlayers;
+        this.capacity = capacity;
+        this.privateCards = new int[2 * nbPlayers][capacity];
+        this.publicCards1 = new int[capacity];
+        this.publicCards2 = new int[capacity];
+        this.scores = new int[nbPlayers][capacity];
+        this.thirteenCounts = new int[capacity];
+    }
+
+    /**
+     * Adds a position to the batch.
+     *
+     * @param privateCards The two private card ids of each player, player after player.
+     * @param public1 Card id of the first public card.
+     * @param public2 Card id of the second public card.
+     * @return The index of the position.
+     */
+    public int add(int[] privateCards, int public1, int public2) {
+        if (size == capacity) {
+            throw new IllegalStateException("The batch already holds " + capacity + " positions");
+        }
+        for (int slot = 0; slot < 2 * nbPlayers; slot++) {
+            this.privateCards[slot][size] = privateCards[slot];
+        }
+        publicCards1[size] = public1;
+        publicCards2[size] = public2;
+        return size++;
+    }
+
+    /**
+     * Removes every position, keeping the arrays for the next ones.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int getNbPlayers() {
+        return nbPlayers;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the score of a player once the batch was scored.
+     *
+     * @param position The index of the position.
+     * @param player Index of the player.
+     * @return The end-of-game score of the player.
+     */
+    public int getScore(int position, int player) {
+        return scores[player][position];
+    }
+
+    int[] getPrivateCards(int player, int card) {
+        return privateCards[2 * player + card];
+    }
+
+    int[] getPublicCards1() {
+        return publicCards1;
+    }
+
+    int[] getPublicCards2() {
+        return publicCards2;
+    }
+
+    int[] getScores(int player) {
+        return scores[player];
+    }
+
+    int[] getThirteenCounts() {
+        return thirteenCounts;
+    }
+}
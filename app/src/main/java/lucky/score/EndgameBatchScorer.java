@@ -0,0 +1,79 @@
+package lucky.score;
+
+/**
+ * Scores batches of end-of-game positions following ScoreActors.calculateScoreEndOfGame rules:
+ * 100 points for a sole player making thirteen, the best of the Option One, Two and Three scores for each
+ * player making thirteen when several do, and the sum of the private card scores when nobody does.
+ * This scorer goes through the positions one at a time with MaxScoreTable; create() returns a scorer
+ * working on several positions per instruction when the Vector API is available.
+ */
+public class EndgameBatchScorer {
+    static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_SCORER = "lucky.score.VectorEndgameBatchScorer";
+
+    /**
+     * Creates the fastest scorer the runtime supports: the vectorized scorer if the jdk.incubator.vector
+     * module was added to the JVM (--add-modules jdk.incubator.vector), this scalar scorer otherwise.
+     *
+     * @return The scorer.
+     */
+    public static EndgameBatchScorer create() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return (EndgameBatchScorer) Class.forName(VECTOR_SCORER).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Falls back to the scalar scorer
+            }
+        }
+        return new EndgameBatchScorer();
+    }
+
+    /**
+     * Scores every position of the batch.
+     *
+     * @param batch The positions, receiving the scores.
+     */
+    public void score(EndgameBatch batch) {
+        scorePositions(batch, 0, batch.size());
+    }
+
+    /**
+     * Scores positions one at a time.
+     *
+     * @param batch The positions, receiving the scores.
+     * @param from Index of the first position to score.
+     * @param to Index after the last position to score.
+     */
+    void scorePositions(EndgameBatch batch, int from, int to) {
+        int nbPlayers = batch.getNbPlayers();
+        int[] publicCards1 = batch.getPublicCards1();
+        int[] publicCards2 = batch.getPublicCards2();
+        for (int position = from; position < to; position++) {
+            int public1 = publicCards1[position];
+            int public2 = publicCards2[position];
+            int nbThirteen = 0;
+            for (int player = 0; player < nbPlayers; player++) {
+                int score = MaxScoreTable.getMaxScore(batch.getPrivateCards(player, 0)[position],
+                                               batch.getPrivateCards(player, 1)[position], public1, public2);
+                batch.getScores(player)[position] = score;
+                if (score > 0) {
+                    nbThirteen++;
+                }
+            }
+
+            for (int player = 0; player < nbPlayers; player++) {
+                int[] scores = batch.getScores(player);
+                // CASE 1: If there is only one player who achieves thirteen, they win the game
+                if (nbThirteen == 1) {
+                    scores[position] = scores[position] > 0 ? 100 : 0;
+                }
+                // CASE 2: If no player has sum of thirteen, players calculate score with 2 private cards
+                else if (nbThirteen == 0) {
+                    scores[position] = MaxScoreTable.getPrivateScore(batch.getPrivateCards(player, 0)[position],
+                                                                   batch.getPrivateCards(player, 1)[position]);
+                }
+                // CASE 3: scores already hold the composite max of the players who made thirteen
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package lucky.score;
+
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.Rank;
+import lucky.gameobjects.Suit;
+
+/**
+ * Precomputed CompositeMaxScoreStrategy results, indexed by compact card ids.
+ * The best score depends on the two private cards and only the ranks of the two public cards,
+ * so the whole function fits in a 52 x 52 x 13 x 13 table, filled on first use.
+ * A score of 0 means the player cannot make thirteen.
+ * This class only holds static lookup tables.
+ */
+public final class MaxScoreTable {
+    private static final int NB_CARDS = CardSet.NB_CARDS;
+    private static final int NB_RANKS = CardSet.NB_RANKS;
+    private static final int[] PRIVATE_SCORES = new int[NB_CARDS];
+    private static final int[] PUBLIC_SCORES = new int[NB_CARDS];
+
+    static {
+        for (int cardId = 0; cardId < NB_CARDS; cardId++) {
+            Rank rank = CardSet.rankOf(cardId);
+            Suit suit = CardSet.suitOf(cardId);
+            PRIVATE_SCORES[cardId] = rank.getScoreCardValue() * suit.getMultiplicationFactor();
+            PUBLIC_SCORES[cardId] = rank.getScoreCardValue() * Suit.PUBLIC_CARD_MULTIPLICATION_FACTOR;
+        }
+    }
+
+    /**
+     * Holds the table so that it is only built when first needed.
+     */
+    private static class Holder {
+        private static final short[] MAX_SCORES = buildTable();
+    }
+
+    private MaxScoreTable() {}
+
+    private static short[] buildTable() {
+        short[] table = new short[NB_CARDS * NB_CARDS * NB_RANKS * NB_RANKS];
+        for (int private1 = 0; private1 < NB_CARDS; private1++) {
+            for (int private2 = 0; private2 < NB_CARDS; private2++) {
+                for (int publicRank1 = 0; publicRank1 < NB_RANKS; publicRank1++) {
+                    for (int publicRank2 = 0; publicRank2 < NB_RANKS; publicRank2++) {
+                        // Public card scores only depend on rank, so any suit stands for the public cards
+                        table[index(private1, private2, publicRank1, publicRank2)] =
+                                (short) computeScore(private1, private2, publicRank1, publicRank2);
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int index(int private1, int private2, int publicRank1, int publicRank2) {
+        return ((private1 * NB_CARDS + private2) * NB_RANKS + publicRank1) * NB_RANKS + publicRank2;
+    }
+
+    /**
+     * Computes the best score of the Option One, Two and Three strategies without the table.
+     *
+     * @param private1 Card id of the first private card.
+     * @param private2 Card id of the second private card.
+     * @param public1 Card id of the first public card.
+     * @param public2 Card id of the second public card.
+     * @return The maximum score, 0 if thirteen cannot be made.
+     */
+    public static int computeScore(int private1, int private2, int public1, int public2) {
+        int rank1 = CardSet.rankIndex(private1);
+        int rank2 = CardSet.rankIndex(private2);
+        int rank3 = CardSet.rankIndex(public1);
+        int rank4 = CardSet.rankIndex(public2);
+        int privateScore1 = PRIVATE_SCORES[private1];
+        int privateScore2 = PRIVATE_SCORES[private2];
+        int publicScore1 = PUBLIC_SCORES[public1];
+        int publicScore2 = PUBLIC_SCORES[public2];
+
+        int maxScore = 0;
+        // Option 1: two private cards
+        if (ThirteenTable.isThirteen(rank1, rank2)) {
+            maxScore = Math.max(maxScore, privateScore1 + privateScore2);
+        }
+        // Option 2: one private card and one public card
+        if (ThirteenTable.isThirteen(rank1, rank3)) {
+            maxScore = Math.max(maxScore, privateScore1 + publicScore1);
+        }
+        if (ThirteenTable.isThirteen(rank1, rank4)) {
+            maxScore = Math.max(maxScore, privateScore1 + publicScore2);
+        }
+        if (ThirteenTable.isThirteen(rank2, rank3)) {
+            maxScore = Math.max(maxScore, privateScore2 + publicScore1);
+        }
+        if (ThirteenTable.isThirteen(rank2, rank4)) {
+            maxScore = Math.max(maxScore, privateScore2 + publicScore2);
+        }
+        // Option 3: two private cards and two public cards
+        if (ThirteenTable.isThirteen(rank1, rank2, rank3, rank4)) {
+            maxScore = Math.max(maxScore, privateScore1 + privateScore2 + publicScore1 + publicScore2);
+        }
+        return maxScore;
+    }
+
+    /**
+     * Gets the best score a player holding the given cards achieves, as CompositeMaxScoreStrategy would.
+     *
+     * @param private1 Card id of the first private card.
+     * @param private2 Card id of the second private card.
+     * @param public1 Card id of the first public card.
+     * @param public2 Card id of the second public card.
+     * @return The maximum score, 0 if thirteen cannot be made.
+     */
+    public static int getMaxScore(int private1, int private2, int public1, int public2) {
+        return Holder.MAX_SCORES[index(private1, private2, CardSet.rankIndex(public1), CardSet.rankIndex(public2))];
+    }
+
+    /**
+     * Checks whether a player holding the given cards can make thirteen.
+     *
+     * @param private1 Card id of the first private card.
+     * @param private2 Card id of the second private card.
+     * @param public1 Card id of the first public card.
+     * @param public2 Card id of the second public card.
+     * @return A boolean value of true if thirteen is achievable or false if not.
+     */
+    public static boolean isThirteen(int private1, int private2, int public1, int public2) {
+        return getMaxScore(private1, private2, public1, public2) > 0;
+    }
+
+    /**
+     * Gets the score of two private cards when nobody made thirteen.
+     *
+     * @param private1 Card id of the first private card.
+     * @param private2 Card id of the second private card.
+     * @return The sum of the private card scores.
+     */
+    public static int getPrivateScore(int private1, int private2) {
+        return PRIVATE_SCORES[private1] + PRIVATE_SCORES[private2];
+    }
+
+    /**
+     * Scores the end of a game from card ids, following ScoreActors.calculateScoreEndOfGame rules.
+     *
+     * @param privateCards The two private card ids of each player, player after player.
+     * @param public1 Card id of the first public card.
+     * @param public2 Card id of the second public card.
+     * @param scores The array receiving each player's score.
+     */
+    public static void scoreEndOfGame(int[] privateCards, int public1, int public2, int[] scores) {
+        int nbPlayers = scores.length;
+        int nbThirteen = 0;
+        int winner = -1;
+        for (int i = 0; i < nbPlayers; i++) {
+            scores[i] = getMaxScore(privateCards[2 * i], privateCards[2 * i + 1], public1, public2);
+            if (scores[i] > 0) {
+                nbThirteen++;
+                winner = i;
+            }
+        }
+
+        // CASE 1: If there is only one player who achieves thirteen, they win the game
+        if (nbThirteen == 1) {
+            for (int i = 0; i < nbPlayers; i++) {
+                scores[i] = i == winner ? 100 : 0;
+            }
+        }
+        // CASE 2: If no player has sum of thirteen, players calculate score with 2 private cards
+        else if (nbThirteen == 0) {
+            for (int i = 0; i < nbPlayers; i++) {
+                scores[i] = getPrivateScore(privateCards[2 * i], privateCards[2 * i + 1]);
+            }
+        }
+        // CASE 3: scores already hold the composite max of the players who made thirteen, 0 for the others
+    }
+}
@@ -1,8 +1,7 @@
 package lucky.score;
 
-import ch.aplu.jcardgame.Card;
-import ch.aplu.jcardgame.Hand;
 import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
 import lucky.players.Player;
 
 import java.util.ArrayList;
@@ -21,10 +20,10 @@ public class OptionOneScoreStrategy implements ScoreStrategy {
      * @return An integer of score calculated.
      */
     @Override
-    public int calculateScore(Player player, Hand playingArea) {
-        ArrayList<Card> privateCards = player.getHand().getCardList();
-        GameCard privateCard1 = (GameCard) privateCards.get(0);
-        GameCard privateCard2 = (GameCard) privateCards.get(1);
+    public int calculateScore(Player player, GameHand playingArea) {
+        ArrayList<GameCard> privateCards = player.getHand().getCardList();
+        GameCard privateCard1 = privateCards.get(0);
+        GameCard privateCard2 = privateCards.get(1);
 
         int score = 0;
         if (ScoreActors.getInstance().isThirteenCards(privateCard1, privateCard2, null, null)) {
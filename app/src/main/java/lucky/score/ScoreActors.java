@@ -1,17 +1,16 @@
 package lucky.score;
 
-import ch.aplu.jcardgame.Card;
-
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.HashSet;
 import java.util.Set;
 
-import ch.aplu.jcardgame.Hand;
 import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
 import lucky.gameobjects.Rank;
 import lucky.players.Player;
+import lucky.profiling.ScoringEvent;
 
 /**
  * Handles the score calculation at the end of the game by checking the number of players
@@ -20,16 +19,13 @@ import lucky.players.Player;
  */
 public class ScoreActors {
     private static final int THIRTEEN_GOAL = 13;
-    private static ScoreActors scoreActors;
+    private static final ScoreActors scoreActors = new ScoreActors();
     private ScoreActors() {}
     /**
-     * Provides the singleton instance of the ScoreActors by checking its existence.
+     * Provides the singleton instance of the ScoreActors.
      * @Return A singleton instance of ScoreActors.
      */
     public static ScoreActors getInstance() {
-        if (scoreActors == null) {
-            scoreActors = new ScoreActors();
-        }
         return scoreActors;
     }
 
@@ -41,12 +37,14 @@ public class ScoreActors {
      * @param playingArea The cards to be considered for score calculation.
      * @param scores The list to keep track of players' scores.
      */
-    public void calculateScoreEndOfGame(Hand playingArea, Player[] players, int[] scores) {
-        List<Boolean> isThirteenChecks = Arrays.asList(false, false, false, false);
+    public void calculateScoreEndOfGame(GameHand playingArea, Player[] players, int[] scores) {
+        ScoringEvent event = new ScoringEvent();
+        event.begin();
+        List<Boolean> isThirteenChecks = new ArrayList<>();
 
         // Check if any player can sum to thirteen
         for (int i = 0; i < players.length; i++) {
-            isThirteenChecks.set(i, isThirteen(playingArea, players[i].getHand()));
+            isThirteenChecks.add(isThirteen(playingArea, players[i].getHand()));
         }
 
         // Keep track of players who can sum to thirteen
@@ -75,32 +73,40 @@ public class ScoreActors {
         // CASE 2: If no player has sum of thirteen, players calculate score with 2 private cards
         } else {
             for (int i = 0; i < scores.length; i++) {
-                GameCard privateCard1 = (GameCard) players[i].getHand().getCardList().get(0);
-                GameCard privateCard2 = (GameCard) players[i].getHand().getCardList().get(1);
+                GameCard privateCard1 = players[i].getHand().getCardList().get(0);
+                GameCard privateCard2 = players[i].getHand().getCardList().get(1);
 
                 scores[i] = privateCard1.getScorePrivateCard() +
                         privateCard2.getScorePrivateCard();
             }
         }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.nbPlayers = players.length;
+            event.nbThirteen = indexesWithThirteen.size();
+            event.commit();
+        }
     }
 
     /**
-     * Determines whether a player can achieve thirteen by checking all possible card combinations.
+     * Determines whether a player can achieve thirteen with two private cards, a private and a public card,
+     * or all four cards.
      *
      * @param playingArea The public cards used in the game.
      * @param hand The private cards held by the player.
      * @return A boolean value of true if thirteen is achievable or false if not.
      */
-    public boolean isThirteen(Hand playingArea, Hand hand) {
-        List<Card> privateCards = hand.getCardList();
-        List<Card> publicCards = playingArea.getCardList();
-
-        boolean isThirteenPrivate = isThirteenCards(privateCards.get(0), privateCards.get(1), null, null);
-        boolean isThirteenAll = isThirteenCards(privateCards.get(0), privateCards.get(1), publicCards.get(0),
-                                                                                         publicCards.get(1));
-        boolean isThirteenMixed = isThirteenMixedCards(privateCards, publicCards);
+    public boolean isThirteen(GameHand playingArea, GameHand hand) {
+        // The private and mixed checks are answered by the hand's own thirteen tracking
+        if (hand.hasThirteenPair() || hand.hasThirteenWith(playingArea)) {
+            return true;
+        }
 
-        return (isThirteenMixed || isThirteenPrivate) || isThirteenAll;
+        List<GameCard> privateCards = hand.getCardList();
+        List<GameCard> publicCards = playingArea.getCardList();
+        return isThirteenCards(privateCards.get(0), privateCards.get(1), publicCards.get(0), publicCards.get(1));
     }
 
     /**
@@ -110,9 +116,9 @@ public class ScoreActors {
      * @param publicCards The private cards to be used to check for combination(s) that create thirteen.
      * @return A boolean value of true if thirteen is achievable or false if not.
      */
-    public boolean isThirteenMixedCards(List<Card> privateCards, List<Card> publicCards) {
-        for (Card privateCard : privateCards) {
-            for (Card publicCard : publicCards) {
+    public boolean isThirteenMixedCards(List<GameCard> privateCards, List<GameCard> publicCards) {
+        for (GameCard privateCard : privateCards) {
+            for (GameCard publicCard : publicCards) {
                 if (isThirteenCards(privateCard, publicCard, null, null)) {
                     return true;
                 }
@@ -124,6 +130,7 @@ public class ScoreActors {
 
     /**
      * Retrieve rank values for each card and use them to check if any sum values create thirteen.
+     * The check is answered by the precomputed ThirteenTable.
      *
      * @param card1 The card to consider for combination(s) that create thirteen.
      * @param card2 The card to consider for combination(s) that create thirteen.
@@ -131,24 +138,20 @@ public class ScoreActors {
      * @param card4 The card to consider for combination(s) that create thirteen.
      * @return A boolean value of true if thirteen is achievable or false if not.
      */
-    public boolean isThirteenCards(Card card1, Card card2, Card card3, Card card4) {
-        Rank rank1 = (Rank) card1.getRank();
-        Rank rank2 = (Rank) card2.getRank();
+    public boolean isThirteenCards(GameCard card1, GameCard card2, GameCard card3, GameCard card4) {
+        Rank rank1 = card1.getRank();
+        Rank rank2 = card2.getRank();
 
-        Rank rank3;
-        Rank rank4;
         if (card3 != null && card4 != null) {
-            rank3 = (Rank) card3.getRank();
-            rank4 = (Rank) card4.getRank();
-            return isThirteenFromPossibleValues(rank1.getPossibleSumValues(), rank2.getPossibleSumValues(),
-                                               rank3.getPossibleSumValues(), rank4.getPossibleSumValues());
+            return ThirteenTable.isThirteen(rank1, rank2, card3.getRank(), card4.getRank());
         }
 
-        return isThirteenFromPossibleValues(rank1.getPossibleSumValues(), rank2.getPossibleSumValues(), null, null);
+        return ThirteenTable.isThirteen(rank1, rank2);
     }
 
     /**
      * Check if any combination of possible sum values of the input cards can create thirteen.
+     * This is the reference implementation the ThirteenTable is checked against.
      *
      * @param possibleValues1 A list of possible sum values for a card used for score calculation.
      * @param possibleValues2 A list of possible sum values for a card used for score calculation.
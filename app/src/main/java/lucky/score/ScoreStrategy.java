@@ -1,6 +1,6 @@
 package lucky.score;
 
-import ch.aplu.jcardgame.Hand;
+import lucky.gameobjects.GameHand;
 import lucky.players.Player;
 
 /**
@@ -15,5 +15,5 @@ public interface ScoreStrategy {
      * @param playingArea The cards to be considered for score calculation.
      * @return An integer of the most desirable score based on the calculation logic.
      */
-    int calculateScore(Player player, Hand playingArea);
+    int calculateScore(Player player, GameHand playingArea);
 }
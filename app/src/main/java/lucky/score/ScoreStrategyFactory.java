@@ -6,8 +6,8 @@ package lucky.score;
  * This class is implemented as a singleton.
  */
 public class ScoreStrategyFactory {
-    private static ScoreStrategyFactory scoreStrategyFactory;
-    private CompositeMaxScoreStrategy compositeMaxScoreStrategy;
+    private static final ScoreStrategyFactory scoreStrategyFactory = new ScoreStrategyFactory();
+    private final CompositeMaxScoreStrategy compositeMaxScoreStrategy;
 
     private ScoreStrategyFactory() {
         compositeMaxScoreStrategy = new CompositeMaxScoreStrategy();
@@ -17,14 +17,11 @@ public class ScoreStrategyFactory {
     }
 
     /**
-     * Provides the singleton instance of the ScoreStrategyFactory by checking its existence.
+     * Provides the singleton instance of the ScoreStrategyFactory.
      *
      * @return A singleton instance of ScoreStrategyFactory.
      */
     public static ScoreStrategyFactory getInstance() {
-        if (scoreStrategyFactory == null) {
-            scoreStrategyFactory = new ScoreStrategyFactory();
-        }
         return scoreStrategyFactory;
     }
 
@@ -0,0 +1,121 @@
+package lucky.score;
+
+import lucky.gameobjects.Rank;
+
+/**
+ * Precomputed answers to "can these ranks sum to thirteen".
+ * Every pair of ranks is stored as one bit of a 13x13 table and every quadruple of ranks as one bit
+ * of a 13^4 table, both filled once from Rank.getPossibleSumValues, so a check is a single array load.
+ * This class only holds static lookup tables.
+ */
+public final class ThirteenTable {
+    private static final int THIRTEEN_GOAL = 13;
+    private static final int NB_RANKS = Rank.getRankValues().length;
+
+    // Bit r2 of PAIRS[r1] is set if ranks r1 and r2 can sum to thirteen
+    private static final int[] PAIRS = new int[NB_RANKS];
+    // Bit i of QUADS, with i = ((r1 * 13 + r2) * 13 + r3) * 13 + r4, is set if the four ranks can sum to thirteen
+    private static final long[] QUADS = new long[(NB_RANKS * NB_RANKS * NB_RANKS * NB_RANKS + 63) / 64];
+
+    static {
+        // Sums reachable by each pair of ranks, as a bitmask of sum values
+        long[] pairSums = new long[NB_RANKS * NB_RANKS];
+        for (Rank rank1 : Rank.getRankValues()) {
+            for (Rank rank2 : Rank.getRankValues()) {
+                long sums = 0;
+                for (int value1 : rank1.getPossibleSumValues()) {
+                    for (int value2 : rank2.getPossibleSumValues()) {
+                        sums |= 1L << (value1 + value2);
+                    }
+                }
+                pairSums[rank1.ordinal() * NB_RANKS + rank2.ordinal()] = sums;
+                if ((sums & (1L << THIRTEEN_GOAL)) != 0) {
+                    PAIRS[rank1.ordinal()] |= 1 << rank2.ordinal();
+                }
+            }
+        }
+
+        for (int pair12 = 0; pair12 < NB_RANKS * NB_RANKS; pair12++) {
+            for (int pair34 = 0; pair34 < NB_RANKS * NB_RANKS; pair34++) {
+                if (canMakeThirteen(pairSums[pair12], pairSums[pair34])) {
+                    int index = pair12 * NB_RANKS * NB_RANKS + pair34;
+                    QUADS[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+    }
+
+    private ThirteenTable() {}
+
+    /**
+     * Checks whether a sum from the first set plus a sum from the second set can equal thirteen.
+     */
+    private static boolean canMakeThirteen(long sums1, long sums2) {
+        for (long rest = sums1; rest != 0; rest &= rest - 1) {
+            int sum1 = Long.numberOfTrailingZeros(rest);
+            if (sum1 <= THIRTEEN_GOAL && (sums2 & (1L << (THIRTEEN_GOAL - sum1))) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether two cards of the given ranks can sum to thirteen.
+     *
+     * @param rank1 The rank of the first card.
+     * @param rank2 The rank of the second card.
+     * @return A boolean value of true if thirteen is achievable or false if not.
+     */
+    public static boolean isThirteen(Rank rank1, Rank rank2) {
+        return isThirteen(rank1.ordinal(), rank2.ordinal());
+    }
+
+    /**
+     * Checks whether two cards of the given rank indexes can sum to thirteen.
+     *
+     * @param rankIndex1 The rank index of the first card.
+     * @param rankIndex2 The rank index of the second card.
+     * @return A boolean value of true if thirteen is achievable or false if not.
+     */
+    public static boolean isThirteen(int rankIndex1, int rankIndex2) {
+        return (PAIRS[rankIndex1] & (1 << rankIndex2)) != 0;
+    }
+
+    /**
+     * Gets the ranks that can sum to thirteen with a card of the given rank index.
+     *
+     * @param rankIndex The rank index of the card.
+     * @return A 13-bit mask of the matching rank indexes.
+     */
+    public static int getMatchingRanks(int rankIndex) {
+        return PAIRS[rankIndex];
+    }
+
+    /**
+     * Checks whether four cards of the given ranks can sum to thirteen.
+     *
+     * @param rank1 The rank of the first card.
+     * @param rank2 The rank of the second card.
+     * @param rank3 The rank of the third card.
+     * @param rank4 The rank of the fourth card.
+     * @return A boolean value of true if thirteen is achievable or false if not.
+     */
+    public static boolean isThirteen(Rank rank1, Rank rank2, Rank rank3, Rank rank4) {
+        return isThirteen(rank1.ordinal(), rank2.ordinal(), rank3.ordinal(), rank4.ordinal());
+    }
+
+    /**
+     * Checks whether four cards of the given rank indexes can sum to thirteen.
+     *
+     * @param rankIndex1 The rank index of the first card.
+     * @param rankIndex2 The rank index of the second card.
+     * @param rankIndex3 The rank index of the third card.
+     * @param rankIndex4 The rank index of the fourth card.
+     * @return A boolean value of true if thirteen is achievable or false if not.
+     */
+    public static boolean isThirteen(int rankIndex1, int rankIndex2, int rankIndex3, int rankIndex4) {
+        int index = ((rankIndex1 * NB_RANKS + rankIndex2) * NB_RANKS + rankIndex3) * NB_RANKS + rankIndex4;
+        return (QUADS[index >>> 6] & (1L << index)) != 0;
+    }
+}
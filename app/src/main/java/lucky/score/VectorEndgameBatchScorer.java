@@ -0,0 +1,159 @@
+package lucky.score;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+
+/**
+ * Scores batches of end-of-game positions with the Vector API, one position per vector lane.
+ * The values a rank can take when summing to thirteen always form a range, e.g. 10 to 13 for a king,
+ * so a set of cards can make thirteen exactly when the sum of their lowest values is at most thirteen and
+ * the sum of their highest values is at least thirteen. Each lane thus works out the six Option One, Two and
+ * Three checks of every player with additions and comparisons on one packed word per card, gathered by card id,
+ * then applies the end-of-game cases with lane masks. The positions left over after the last full vector are
+ * scored one at a time.
+ * Only loaded by EndgameBatchScorer.create, when the jdk.incubator.vector module is present.
+ */
+final class VectorEndgameBatchScorer extends EndgameBatchScorer {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int THIRTEEN_GOAL = 13;
+
+    // Lowest and highest sum values, private and public scores of each card, 6 bits each
+    private static final int[] CARD_WORDS = new int[CardSet.NB_CARDS];
+    private static final int FIELD_BITS = 6;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int HIGH_VALUE_SHIFT = FIELD_BITS;
+    private static final int PRIVATE_SCORE_SHIFT = 2 * FIELD_BITS;
+    private static final int PUBLIC_SCORE_SHIFT = 3 * FIELD_BITS;
+
+    static {
+        for (int cardId = 0; cardId < CardSet.NB_CARDS; cardId++) {
+            GameCard card = GameCard.of(cardId);
+            int[] values = card.getPossibleSumValues();
+            int lowValue = Arrays.stream(values).min().orElseThrow();
+            int highValue = Arrays.stream(values).max().orElseThrow();
+            if (highValue - lowValue + 1 != values.length) {
+                throw new IllegalStateException("The sum values of " + card.getRank() + " are not a range");
+            }
+            CARD_WORDS[cardId] = lowValue
+                               | highValue << HIGH_VALUE_SHIFT
+                               | card.getScorePrivateCard() << PRIVATE_SCORE_SHIFT
+                               | card.getScorePublicCard() << PUBLIC_SCORE_SHIFT;
+        }
+    }
+
+    @Override
+    public void score(EndgameBatch batch) {
+        int size = batch.size();
+        int bound = SPECIES.loopBound(size);
+        int[] nbThirteen = batch.getThirteenCounts();
+        Arrays.fill(nbThirteen, 0, bound, 0);
+        // Players are scored one after the other over all the positions, so that each vector loop stays small
+        // enough for the JIT compiler to keep every vector in registers
+        for (int player = 0; player < batch.getNbPlayers(); player++) {
+            for (int position = 0; position < bound; position += SPECIES.length()) {
+                scorePlayerLanes(batch, player, position, nbThirteen);
+            }
+        }
+        for (int position = 0; position < bound; position += SPECIES.length()) {
+            applyEndOfGameCases(batch, position, nbThirteen);
+        }
+        scorePositions(batch, bound, size);
+    }
+
+    /**
+     * Works out the best Option One, Two or Three score of a player in one vector of consecutive positions,
+     * 0 where the player cannot make thirteen, and counts the players making thirteen.
+     *
+     * @param batch The positions, receiving the scores.
+     * @param player Index of the player.
+     * @param position Index of the first position of the vector.
+     * @param nbThirteen The number of players making thirteen in each position.
+     */
+    private void scorePlayerLanes(EndgameBatch batch, int player, int position, int[] nbThirteen) {
+        IntVector public1 = IntVector.fromArray(SPECIES, CARD_WORDS, 0, batch.getPublicCards1(), position);
+        IntVector public2 = IntVector.fromArray(SPECIES, CARD_WORDS, 0, batch.getPublicCards2(), position);
+        IntVector card1 = IntVector.fromArray(SPECIES, CARD_WORDS, 0, batch.getPrivateCards(player, 0), position);
+        IntVector card2 = IntVector.fromArray(SPECIES, CARD_WORDS, 0, batch.getPrivateCards(player, 1), position);
+        IntVector low1 = card1.and(FIELD_MASK);
+        IntVector low2 = card2.and(FIELD_MASK);
+        IntVector low3 = public1.and(FIELD_MASK);
+        IntVector low4 = public2.and(FIELD_MASK);
+        IntVector high1 = card1.lanewise(VectorOperators.LSHR, HIGH_VALUE_SHIFT).and(FIELD_MASK);
+        IntVector high2 = card2.lanewise(VectorOperators.LSHR, HIGH_VALUE_SHIFT).and(FIELD_MASK);
+        IntVector high3 = public1.lanewise(VectorOperators.LSHR, HIGH_VALUE_SHIFT).and(FIELD_MASK);
+        IntVector high4 = public2.lanewise(VectorOperators.LSHR, HIGH_VALUE_SHIFT).and(FIELD_MASK);
+        IntVector privateScore1 = card1.lanewise(VectorOperators.LSHR, PRIVATE_SCORE_SHIFT).and(FIELD_MASK);
+        IntVector privateScore2 = card2.lanewise(VectorOperators.LSHR, PRIVATE_SCORE_SHIFT).and(FIELD_MASK);
+        IntVector publicScore1 = public1.lanewise(VectorOperators.LSHR, PUBLIC_SCORE_SHIFT).and(FIELD_MASK);
+        IntVector publicScore2 = public2.lanewise(VectorOperators.LSHR, PUBLIC_SCORE_SHIFT).and(FIELD_MASK);
+        IntVector privateSum = privateScore1.add(privateScore2);
+        IntVector zero = IntVector.zero(SPECIES);
+        // Helper methods are avoided here, as the JIT compiler would stop inlining them in such a large method
+        // and box their vectors
+
+        // Option 1: two private cards
+        VectorMask<Integer> isThirteen = low1.add(low2).compare(VectorOperators.LE, THIRTEEN_GOAL)
+                                        .and(high1.add(high2).compare(VectorOperators.GE, THIRTEEN_GOAL));
+        IntVector maxScore = zero.blend(privateSum, isThirteen);
+        // Option 2: one private card and one public card
+        isThirteen = low1.add(low3).compare(VectorOperators.LE, THIRTEEN_GOAL)
+                    .and(high1.add(high3).compare(VectorOperators.GE, THIRTEEN_GOAL));
+        maxScore = maxScore.max(zero.blend(privateScore1.add(publicScore1), isThirteen));
+        isThirteen = low1.add(low4).compare(VectorOperators.LE, THIRTEEN_GOAL)
+                    .and(high1.add(high4).compare(VectorOperators.GE, THIRTEEN_GOAL));
+        maxScore = maxScore.max(zero.blend(privateScore1.add(publicScore2), isThirteen));
+        isThirteen = low2.add(low3).compare(VectorOperators.LE, THIRTEEN_GOAL)
+                    .and(high2.add(high3).compare(VectorOperators.GE, THIRTEEN_GOAL));
+        maxScore = maxScore.max(zero.blend(privateScore2.add(publicScore1), isThirteen));
+        isThirteen = low2.add(low4).compare(VectorOperators.LE, THIRTEEN_GOAL)
+                    .and(high2.add(high4).compare(VectorOperators.GE, THIRTEEN_GOAL));
+        maxScore = maxScore.max(zero.blend(privateScore2.add(publicScore2), isThirteen));
+        // Option 3: two private cards and two public cards
+        isThirteen = low1.add(low2).add(low3).add(low4).compare(VectorOperators.LE, THIRTEEN_GOAL)
+                    .and(high1.add(high2).add(high3).add(high4).compare(VectorOperators.GE, THIRTEEN_GOAL));
+        maxScore = maxScore.max(zero.blend(privateSum.add(publicScore1).add(publicScore2), isThirteen));
+
+        maxScore.intoArray(batch.getScores(player), position);
+        IntVector.fromArray(SPECIES, nbThirteen, position)
+                 .add(zero.blend(1, maxScore.compare(VectorOperators.GT, 0)))
+                 .intoArray(nbThirteen, position);
+    }
+
+    /**
+     * Turns the best scores of one vector of consecutive positions into end-of-game scores.
+     *
+     * @param batch The positions, holding the best scores and receiving the end-of-game scores.
+     * @param position Index of the first position of the vector.
+     * @param nbThirteen The number of players making thirteen in each position.
+     */
+    private void applyEndOfGameCases(EndgameBatch batch, int position, int[] nbThirteen) {
+        IntVector thirteenCounts = IntVector.fromArray(SPECIES, nbThirteen, position);
+        VectorMask<Integer> isSole = thirteenCounts.compare(VectorOperators.EQ, 1);
+        VectorMask<Integer> isNone = thirteenCounts.compare(VectorOperators.EQ, 0);
+        if (!isSole.anyTrue() && !isNone.anyTrue()) {
+            // CASE 3: scores already hold the composite max of the players who made thirteen
+            return;
+        }
+        IntVector zero = IntVector.zero(SPECIES);
+        for (int player = 0; player < batch.getNbPlayers(); player++) {
+            int[] scores = batch.getScores(player);
+            IntVector score = IntVector.fromArray(SPECIES, scores, position);
+            // CASE 1: If there is only one player who achieves thirteen, they win the game
+            score = score.blend(zero.blend(100, score.compare(VectorOperators.GT, 0)), isSole);
+            // CASE 2: If no player has sum of thirteen, players calculate score with 2 private cards
+            IntVector card1 = IntVector.fromArray(SPECIES, CARD_WORDS, 0, batch.getPrivateCards(player, 0), position);
+            IntVector card2 = IntVector.fromArray(SPECIES, CARD_WORDS, 0, batch.getPrivateCards(player, 1), position);
+            IntVector privateSum = card1.lanewise(VectorOperators.LSHR, PRIVATE_SCORE_SHIFT).and(FIELD_MASK)
+                                   .add(card2.lanewise(VectorOperators.LSHR, PRIVATE_SCORE_SHIFT).and(FIELD_MASK));
+            score = score.blend(privateSum, isNone);
+            score.intoArray(scores, position);
+        }
+    }
+}
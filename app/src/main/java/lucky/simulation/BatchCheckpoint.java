@@ -0,0 +1,205 @@
+package lucky.simulation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import lucky.GameConfig;
+
+/**
+ * Represents the progress of a batch saved to a file: the ranges of games completed and their aggregated results.
+ * Game i always plays with BatchRunner.gameSeed(masterSeed, i), so the master seed and the completed ranges are
+ * the whole random state of a batch, and a resumed batch plays the remaining games exactly as the first run would.
+ * The file records the fingerprint of the config, so a batch whose settings changed does not resume from it.
+ * Results merge by sums and counts, so the final result does not depend on when the batch was interrupted.
+ * The file is a properties file, replaced atomically by a fully written copy, so a killed run leaves either
+ * the previous or the new checkpoint, never half of one. Checkpoints cannot be written on file systems
+ * without atomic moves.
+ */
+public class BatchCheckpoint {
+    private final Path file;
+    private final String configName;
+    private final String configFingerprint;
+    private final long masterSeed;
+    private final int nbGames;
+    private final int nbChunks;
+    private final BatchResult result;
+    private final TreeMap<Integer, Integer> completedRanges = new TreeMap<>(); // First game to end game, merged
+
+    private BatchCheckpoint(Path file, GameConfig config, long masterSeed, int nbGames, int nbChunks,
+                                                                                      BatchResult result) {
+        this.file = file;
+        this.configName = config.toString();
+        this.configFingerprint = config.fingerprint();
+        this.masterSeed = masterSeed;
+        this.nbGames = nbGames;
+        this.nbChunks = nbChunks;
+        this.result = result;
+    }
+
+    /**
+     * Opens the checkpoint of a batch, resuming from the file if it exists.
+     *
+     * @param file The checkpoint file.
+     * @param config Settings shared by every game of the batch.
+     * @param masterSeed The seed of the whole batch.
+     * @param nbGames Number of games of the batch.
+     * @param nbChunks Number of chunks the games are split into, unless the file already set it.
+     * @return The checkpoint, with the progress of the file if any.
+     * @throws IllegalStateException If the file was written for another batch.
+     */
+    public static BatchCheckpoint open(Path file, GameConfig config, long masterSeed, int nbGames, int nbChunks) {
+        if (!Files.exists(file)) {
+            return new BatchCheckpoint(file, config, masterSeed, nbGames, nbChunks,
+                                                                  new BatchResult(config.getPlayerTypes()));
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!config.fingerprint().equals(properties.getProperty("fingerprint"))
+                || masterSeed != Long.parseLong(properties.getProperty("masterSeed"))
+                || nbGames != Integer.parseInt(properties.getProperty("games"))) {
+            throw new IllegalStateException("Checkpoint " + file + " was written for another batch: "
+                    + properties.getProperty("games") + " games of " + properties.getProperty("config"));
+        }
+        BatchCheckpoint checkpoint = new BatchCheckpoint(file, config, masterSeed, nbGames,
+                Integer.parseInt(properties.getProperty("chunks")),
+                BatchResult.load(config.getPlayerTypes(), properties));
+        for (String range : properties.getProperty("completed", "").split(",")) {
+            if (!range.isEmpty()) {
+                int separator = range.indexOf('-');
+                checkpoint.addRange(Integer.parseInt(range.substring(0, separator)),
+                                    Integer.parseInt(range.substring(separator + 1)));
+            }
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Gets the number of chunks the games are split into, kept across runs so that chunks are resumed whole.
+     *
+     * @return The number of chunks.
+     */
+    public int getNbChunks() {
+        return nbChunks;
+    }
+
+    /**
+     * Checks whether every game of a range was completed.
+     *
+     * @param from Index of the first game, inclusive.
+     * @param to Index of the last game, exclusive.
+     * @return A boolean value of true if the range was completed.
+     */
+    public boolean isCompleted(int from, int to) {
+        Map.Entry<Integer, Integer> range = completedRanges.floorEntry(from);
+        return from == to || range != null && range.getValue() >= to;
+    }
+
+    /**
+     * Records the results of a completed range of games. The checkpoint is only saved by write.
+     *
+     * @param from Index of the first game, inclusive.
+     * @param to Index of the last game, exclusive.
+     * @param rangeResult The results of the games of the range.
+     */
+    public void complete(int from, int to, BatchResult rangeResult) {
+        result.merge(rangeResult);
+        addRange(from, to);
+    }
+
+    private void addRange(int from, int to) {
+        int start = from;
+        int end = to;
+        Map.Entry<Integer, Integer> before = completedRanges.floorEntry(from);
+        if (before != null && before.getValue() >= from) {
+            start = before.getKey();
+            end = Math.max(end, before.getValue());
+        }
+        Map.Entry<Integer, Integer> after = completedRanges.ceilingEntry(start);
+        while (after != null && after.getKey() <= end) {
+            end = Math.max(end, after.getValue());
+            completedRanges.remove(after.getKey());
+            after = completedRanges.ceilingEntry(start);
+        }
+        completedRanges.put(start, end);
+    }
+
+    /**
+     * Gets the number of games completed so far.
+     *
+     * @return The number of games.
+     */
+    public long getNbGamesCompleted() {
+        return result.getNbGames();
+    }
+
+    /**
+     * Gets the aggregated results of the games completed so far.
+     *
+     * @return The results.
+     */
+    public BatchResult getResult() {
+        return result;
+    }
+
+    /**
+     * Saves the checkpoint: writes it to a temporary file next to the checkpoint, forces it to disk,
+     * then moves it over the checkpoint in one step.
+     *
+     * @throws UncheckedIOException If the file cannot be written, or the file system cannot replace it atomically.
+     */
+    public void write() {
+        Properties properties = new Properties();
+        properties.setProperty("config", configName);
+        properties.setProperty("fingerprint", configFingerprint);
+        properties.setProperty("masterSeed", Long.toString(masterSeed));
+        properties.setProperty("games", Integer.toString(nbGames));
+        properties.setProperty("chunks", Integer.toString(nbChunks));
+        StringBuilder completed = new StringBuilder();
+        completedRanges.forEach((from, to) ->
+                completed.append(completed.length() > 0 ? "," : "").append(from).append('-').append(to));
+        properties.setProperty("completed", completed.toString());
+        result.store(properties);
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            properties.store(bytes, "Lucky Thirteen batch checkpoint");
+            Path directory = file.toAbsolutePath().getParent();
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(true);
+                }
+                try {
+                    Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    // A plain move could leave half a checkpoint if the batch is killed while it runs
+                    throw new IOException("Cannot replace checkpoint " + file + " atomically", e);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package lucky.simulation;
+
+import java.util.*;
+
+/**
+ * Aggregates the outcome of many games played by the same seats.
+ * Keeps win counts, score sums and score distributions per seat, and combines
+ * the seats sharing a player type to report per player type.
+ */
+public class BatchResult {
+    private final String[] playerTypes;
+    private long nbGames;
+    private final long[] wins; // Games won by the seat, drawn wins included
+    private final long[] scoreSums;
+    private final List<SortedMap<Integer, Long>> scoreCounts;
+
+    /**
+     * Creates an empty result.
+     *
+     * @param playerTypes The player type seated at each index.
+     */
+    public BatchResult(String[] playerTypes) {
+        this.playerTypes = playerTypes.clone();
+        this.wins = new long[playerTypes.length];
+        this.scoreSums = new long[playerTypes.length];
+        this.scoreCounts = new ArrayList<>();
+        for (int i = 0; i < playerTypes.length; i++) {
+            scoreCounts.add(new TreeMap<>());
+        }
+    }
+
+    /**
+     * Records the end of game scores and winners of one game.
+     *
+     * @param scores The final score of each seat.
+     * @param winners Indexes of the winning seats.
+     */
+    public void recordGame(int[] scores, List<Integer> winners) {
+        nbGames++;
+        for (int i = 0; i < scores.length; i++) {
+            scoreSums[i] += scores[i];
+            scoreCounts.get(i).merge(scores[i], 1L, Long::sum);
+        }
+        for (int winner : winners) {
+            wins[winner]++;
+        }
+    }
+
+    /**
+     * Adds the games recorded by another result to this one.
+     *
+     * @param other The result to merge, played by the same seats.
+     */
+    public void merge(BatchResult other) {
+        nbGames += other.nbGames;
+        for (int i = 0; i < playerTypes.length; i++) {
+            wins[i] += other.wins[i];
+            scoreSums[i] += other.scoreSums[i];
+            SortedMap<Integer, Long> counts = scoreCounts.get(i);
+            other.scoreCounts.get(i).forEach((score, count) -> counts.merge(score, count, Long::sum));
+        }
+    }
+
+    /**
+     * Stores the results in properties, e.g. for a checkpoint.
+     *
+     * @param properties The properties receiving the results.
+     */
+    void store(Properties properties) {
+        properties.setProperty("result.games", Long.toString(nbGames));
+        for (int i = 0; i < playerTypes.length; i++) {
+            properties.setProperty("result.seat." + i + ".wins", Long.toString(wins[i]));
+            properties.setProperty("result.seat." + i + ".scoreSum", Long.toString(scoreSums[i]));
+            StringBuilder counts = new StringBuilder();
+            scoreCounts.get(i).forEach((score, count) ->
+                    counts.append(counts.length() > 0 ? "," : "").append(score).append(':').append(count));
+            properties.setProperty("result.seat." + i + ".scores", counts.toString());
+        }
+    }
+
+    /**
+     * Restores results stored by store.
+     *
+     * @param playerTypes The player type seated at each index.
+     * @param properties The properties holding the results.
+     * @return The restored results.
+     */
+    static BatchResult load(String[] playerTypes, Properties properties) {
+        BatchResult result = new BatchResult(playerTypes);
+        result.nbGames = Long.parseLong(properties.getProperty("result.games", "0"));
+        for (int i = 0; i < playerTypes.length; i++) {
+            result.wins[i] = Long.parseLong(properties.getProperty("result.seat." + i + ".wins", "0"));
+            result.scoreSums[i] = Long.parseLong(properties.getProperty("result.seat." + i + ".scoreSum", "0"));
+            String counts = properties.getProperty("result.seat." + i + ".scores", "");
+            for (String entry : counts.split(",")) {
+                if (!entry.isEmpty()) {
+                    int separator = entry.indexOf(':');
+                    result.scoreCounts.get(i).put(Integer.parseInt(entry.substring(0, separator)),
+                                                  Long.parseLong(entry.substring(separator + 1)));
+                }
+            }
+        }
+        return result;
+    }
+
+    public long getNbGames() {
+        return nbGames;
+    }
+
+    public int getNbSeats() {
+        return playerTypes.length;
+    }
+
+    public String getPlayerType(int seat) {
+        return playerTypes[seat];
+    }
+
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    public double getWinRate(int seat) {
+        return nbGames == 0 ? 0 : (double) wins[seat] / nbGames;
+    }
+
+    public double getMeanScore(int seat) {
+        return nbGames == 0 ? 0 : (double) scoreSums[seat] / nbGames;
+    }
+
+    /**
+     * Gets how many times each final score was reached by a seat.
+     *
+     * @param seat Index of the seat.
+     * @return The number of games per final score, by increasing score.
+     */
+    public SortedMap<Integer, Long> getScoreDistribution(int seat) {
+        return Collections.unmodifiableSortedMap(scoreCounts.get(seat));
+    }
+
+    /**
+     * Gets the distinct player types of the seats, in seat order.
+     *
+     * @return The player types.
+     */
+    public Set<String> getPlayerTypes() {
+        return new LinkedHashSet<>(Arrays.asList(playerTypes));
+    }
+
+    /**
+     * Calculates the share of seat-games won by a player type.
+     *
+     * @param playerType The player type.
+     * @return The win rate over every seat holding that type.
+     */
+    public double getWinRate(String playerType) {
+        long typeWins = 0;
+        long seatGames = 0;
+        for (int i = 0; i < playerTypes.length; i++) {
+            if (playerTypes[i].equals(playerType)) {
+                typeWins += wins[i];
+                seatGames += nbGames;
+            }
+        }
+        return seatGames == 0 ? 0 : (double) typeWins / seatGames;
+    }
+
+    /**
+     * Calculates the mean final score of a player type.
+     *
+     * @param playerType The player type.
+     * @return The mean score over every seat holding that type.
+     */
+    public double getMeanScore(String playerType) {
+        long typeScores = 0;
+        long seatGames = 0;
+        for (int i = 0; i < playerTypes.length; i++) {
+            if (playerTypes[i].equals(playerType)) {
+                typeScores += scoreSums[i];
+                seatGames += nbGames;
+            }
+        }
+        return seatGames == 0 ? 0 : (double) typeScores / seatGames;
+    }
+
+    /**
+     * Gets how many times each final score was reached by a player type.
+     *
+     * @param playerType The player type.
+     * @return The number of seat-games per final score, by increasing score.
+     */
+    public SortedMap<Integer, Long> getScoreDistribution(String playerType) {
+        SortedMap<Integer, Long> counts = new TreeMap<>();
+        for (int i = 0; i < playerTypes.length; i++) {
+            if (playerTypes[i].equals(playerType)) {
+                scoreCounts.get(i).forEach((score, count) -> counts.merge(score, count, Long::sum));
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append("Games: ").append(nbGames).append("\n");
+        for (int i = 0; i < playerTypes.length; i++) {
+            report.append(String.format("Seat %d (%s): win rate %.4f, mean score %.2f%n", i, playerTypes[i],
+                                                                         getWinRate(i), getMeanScore(i)));
+        }
+        for (String playerType : getPlayerTypes()) {
+            report.append(String.format("Type %s: win rate %.4f, mean score %.2f, scores %s%n", playerType,
+                    getWinRate(playerType), getMeanScore(playerType), getScoreDistribution(playerType)));
+        }
+        return report.toString();
+    }
+}
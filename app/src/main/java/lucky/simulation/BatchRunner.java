@@ -0,0 +1,223 @@
+package lucky.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import lucky.Driver;
+import lucky.GameConfig;
+import lucky.GameEngine;
+import lucky.PropertiesLoader;
+import lucky.clock.VirtualGameClock;
+import lucky.events.BinaryReplayWriter;
+import lucky.events.GameEventSink;
+import lucky.events.NoOpEventSink;
+
+/**
+ * Plays many headless games across all cores and aggregates their results.
+ * Each game runs on its own GameEngine, with a seed derived from GameEngine.SEED and the game index,
+ * so a batch gives the same result whatever the number of threads.
+ * With a checkpoint file, the progress of the batch is saved as chunks complete, and a batch started again
+ * with the same file resumes where the last checkpoint left off, reaching the same result.
+ */
+public class BatchRunner {
+    static final int CHUNKS_PER_THREAD = 8; // Keeps threads busy when games differ in length
+    static final int CHECKPOINT_CHUNK_GAMES = 10000; // Most games lost when a checkpointed run is killed
+    static final long CHECKPOINT_INTERVAL_NANOS = 10_000_000_000L;
+
+    private final GameConfig config;
+    private final int nbThreads;
+    private final String[] playerTypes;
+    private Path replayDirectory; // Where the games are archived, null to keep no record
+    private Path checkpointFile; // Where the progress is saved, null to keep none
+
+    /**
+     * Creates a batch runner.
+     *
+     * @param properties Game properties shared by every game of the batch.
+     * @param nbThreads Number of games played at the same time.
+     */
+    public BatchRunner(Properties properties, int nbThreads) {
+        this(GameConfig.fromProperties(properties), nbThreads);
+    }
+
+    /**
+     * Creates a batch runner for settings already parsed.
+     *
+     * @param config Settings shared by every game of the batch.
+     * @param nbThreads Number of games played at the same time.
+     */
+    public BatchRunner(GameConfig config, int nbThreads) {
+        if ("human".equals(config.getPlayerType(0))) {
+            throw new IllegalArgumentException("Batch games cannot seat a human player");
+        }
+        this.config = config;
+        this.nbThreads = nbThreads;
+        this.playerTypes = config.getPlayerTypes();
+    }
+
+    /**
+     * Archives every game of the batch in binary replay files, one file per chunk of games.
+     *
+     * @param replayDirectory The directory receiving the replay files, or null to keep no record.
+     */
+    public void setReplayDirectory(Path replayDirectory) {
+        this.replayDirectory = replayDirectory;
+    }
+
+    /**
+     * Saves the progress of the batch to a file every few seconds, and resumes from it if it exists.
+     * With a checkpoint, chunks hold at most CHECKPOINT_CHUNK_GAMES games, and keep the count of the first run.
+     *
+     * @param checkpointFile The checkpoint file, or null to keep no checkpoint.
+     */
+    public void setCheckpointFile(Path checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    /**
+     * Derives the seed of one game from the master seed, mixing the bits so that
+     * neighbouring games do not get correlated random sequences.
+     *
+     * @param masterSeed The seed of the whole batch.
+     * @param gameIndex Index of the game in the batch.
+     * @return The seed of the game.
+     */
+    public static long gameSeed(long masterSeed, long gameIndex) {
+        // SplitMix64 finaliser
+        long z = masterSeed + (gameIndex + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays the given number of games and aggregates their results.
+     *
+     * @param nbGames Number of games to play.
+     * @return The aggregated results.
+     */
+    public BatchResult run(int nbGames) {
+        int nbChunks = Math.max(1, Math.min(nbGames, nbThreads * CHUNKS_PER_THREAD));
+        BatchCheckpoint checkpoint = null;
+        if (checkpointFile != null) {
+            nbChunks = Math.max(nbChunks, (int) ((nbGames + CHECKPOINT_CHUNK_GAMES - 1L) / CHECKPOINT_CHUNK_GAMES));
+            checkpoint = BatchCheckpoint.open(checkpointFile, config, GameEngine.SEED, nbGames, nbChunks);
+            nbChunks = checkpoint.getNbChunks();
+        }
+        BatchResult result = checkpoint != null ? checkpoint.getResult() : new BatchResult(playerTypes);
+
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            CompletionService<BatchResult> completionService = new ExecutorCompletionService<>(executor);
+            Map<Future<BatchResult>, int[]> chunkRanges = new HashMap<>();
+            for (int chunk = 0; chunk < nbChunks; chunk++) {
+                int from = (int) ((long) nbGames * chunk / nbChunks);
+                int to = (int) ((long) nbGames * (chunk + 1) / nbChunks);
+                if (checkpoint == null || !checkpoint.isCompleted(from, to)) {
+                    chunkRanges.put(completionService.submit(() -> playGames(from, to)), new int[] {from, to});
+                }
+            }
+
+            // Results are sums and counts, so merging chunks as they complete gives the same result in any order
+            long lastWrite = System.nanoTime();
+            for (int i = 0; i < chunkRanges.size(); i++) {
+                Future<BatchResult> future = completionService.take();
+                if (checkpoint == null) {
+                    result.merge(future.get());
+                    continue;
+                }
+                int[] range = chunkRanges.get(future);
+                checkpoint.complete(range[0], range[1], future.get());
+                if (System.nanoTime() - lastWrite >= CHECKPOINT_INTERVAL_NANOS) {
+                    checkpoint.write();
+                    lastWrite = System.nanoTime();
+                }
+            }
+            if (checkpoint != null) {
+                checkpoint.write();
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Batch game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a range of games on the calling thread.
+     *
+     * @param from Index of the first game, inclusive.
+     * @param to Index of the last game, exclusive.
+     * @return The results of the games in the range.
+     */
+    public BatchResult playGames(int from, int to) {
+        BatchResult result = new BatchResult(playerTypes);
+        BinaryReplayWriter replayWriter = null;
+        try {
+            if (replayDirectory != null) {
+                Path replayFile = replayDirectory.resolve("games-" + from + "-" + to + ".lt13");
+                replayWriter = BinaryReplayWriter.toFile(replayFile);
+            }
+            GameEventSink eventSink = replayWriter != null ? replayWriter : NoOpEventSink.getInstance();
+            for (int i = from; i < to; i++) {
+                GameEngine gameEngine = new GameEngine(config, gameSeed(GameEngine.SEED, i));
+                gameEngine.setClock(new VirtualGameClock());
+                gameEngine.setVerbose(false);
+                gameEngine.setEventSink(eventSink);
+                gameEngine.runGame();
+                result.recordGame(gameEngine.getGameState().getScores(), gameEngine.getWinners());
+            }
+            if (replayWriter != null) {
+                replayWriter.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Runs a batch from the command line.
+     *
+     * @param args Properties file, number of games, number of threads, replay directory ("-" for none)
+     *             and checkpoint file, all optional.
+     * @throws IOException If the replay directory cannot be created.
+     */
+    public static void main(String[] args) throws IOException {
+        String propertiesPath = args.length > 0 ? args[0] : Driver.DEFAULT_PROPERTIES_PATH;
+        int nbGames = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int nbThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        Properties properties = PropertiesLoader.loadPropertiesFile(propertiesPath);
+        BatchRunner batchRunner = new BatchRunner(properties, nbThreads);
+        if (args.length > 3 && !"-".equals(args[3])) {
+            batchRunner.setReplayDirectory(Files.createDirectories(Paths.get(args[3])));
+        }
+        if (args.length > 4) {
+            batchRunner.setCheckpointFile(Paths.get(args[4]));
+        }
+        long start = System.nanoTime();
+        BatchResult result = batchRunner.run(nbGames);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(result);
+        System.out.printf("%d games on %d threads in %.2fs (%.0f games/s)%n", nbGames, nbThreads, seconds,
+                                                                                         nbGames / seconds);
+    }
+}
@@ -0,0 +1,91 @@
+package lucky.simulation;
+
+import java.util.Locale;
+
+/**
+ * Represents the outcome of a sequential comparison of two configs of the same seat.
+ * Keeps the wins and score sums of the seat under each config, for the games played before the test stopped,
+ * and the decision of the test.
+ */
+public class ComparisonResult {
+    /**
+     * Outcomes of a comparison.
+     */
+    public enum Decision {
+        A_BETTER, B_BETTER, INCONCLUSIVE
+    }
+
+    private final StrategyComparator.Metric metric;
+    private final long nbGames;
+    private final long winsA;
+    private final long winsB;
+    private final long scoreSumA;
+    private final long scoreSumB;
+    private final double logLikelihoodRatio;
+    private final Decision decision;
+
+    ComparisonResult(StrategyComparator.Metric metric, long nbGames, long winsA, long winsB, long scoreSumA,
+                     long scoreSumB, double logLikelihoodRatio, Decision decision) {
+        this.metric = metric;
+        this.nbGames = nbGames;
+        this.winsA = winsA;
+        this.winsB = winsB;
+        this.scoreSumA = scoreSumA;
+        this.scoreSumB = scoreSumB;
+        this.logLikelihoodRatio = logLikelihoodRatio;
+        this.decision = decision;
+    }
+
+    public StrategyComparator.Metric getMetric() {
+        return metric;
+    }
+
+    /**
+     * Gets the number of games played under each config before the test stopped.
+     *
+     * @return The number of game pairs.
+     */
+    public long getNbGames() {
+        return nbGames;
+    }
+
+    public double getWinRateA() {
+        return nbGames == 0 ? 0 : (double) winsA / nbGames;
+    }
+
+    public double getWinRateB() {
+        return nbGames == 0 ? 0 : (double) winsB / nbGames;
+    }
+
+    public double getMeanScoreA() {
+        return nbGames == 0 ? 0 : (double) scoreSumA / nbGames;
+    }
+
+    public double getMeanScoreB() {
+        return nbGames == 0 ? 0 : (double) scoreSumB / nbGames;
+    }
+
+    /**
+     * Gets the log of the mixture likelihood ratio the test stopped on.
+     *
+     * @return The log likelihood ratio of a difference against no difference.
+     */
+    public double getLogLikelihoodRatio() {
+        return logLikelihoodRatio;
+    }
+
+    public Decision getDecision() {
+        return decision;
+    }
+
+    public boolean isSignificant() {
+        return decision != Decision.INCONCLUSIVE;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s after %d games on %s: A win rate %.4f, mean score %.2f; "
+                        + "B win rate %.4f, mean score %.2f (log likelihood ratio %.2f)%n", decision, nbGames,
+                metric, getWinRateA(), getMeanScoreA(), getWinRateB(), getMeanScoreB(), logLikelihoodRatio);
+    }
+}
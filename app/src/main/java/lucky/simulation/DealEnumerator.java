@@ -0,0 +1,233 @@
+package lucky.simulation;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import lucky.GameConfig;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.Rank;
+import lucky.gameobjects.Suit;
+import lucky.score.MaxScoreTable;
+
+/**
+ * Enumerates every initial deal of NB_FACE_UP_CARDS public cards and NB_START_CARDS private cards per player,
+ * and counts exactly how often each end-of-game scoring case happens if the initial cards are kept.
+ * Whether a player makes thirteen only depends on card ranks, and suits only enter the scores through
+ * the multiplication factor of the private cards. So deals are enumerated by rank, every suit assignment of a
+ * rank deal being the same outcome, and each rank deal is weighted by its number of suit assignments. Scores are
+ * averaged over the suits of each player's private pair, which is exact as suits of a rank deal are uniform.
+ * Players are enumerated as a multiset of rank pairs, weighted by their number of seatings, as seats are
+ * interchangeable. The work is split by public pair and first player pair over a ForkJoinPool.
+ */
+public class DealEnumerator {
+    public static final int MAX_PLAYERS = 4; // Beyond that, the enumeration takes hours and overflows its counts
+    private static final int NB_RANKS = CardSet.NB_RANKS;
+    private static final int NB_SUITS = CardSet.NB_SUITS;
+    private static final int NB_RANK_PAIRS = NB_RANKS * (NB_RANKS + 1) / 2;
+    private static final int SOLE_THIRTEEN_SCORE = 100;
+    private static final int ROOTS_PER_TASK = 64;
+
+    // Ranks of each unordered rank pair, the first never greater than the second
+    private static final int[] PAIR_RANKS1 = new int[NB_RANK_PAIRS];
+    private static final int[] PAIR_RANKS2 = new int[NB_RANK_PAIRS];
+
+    static {
+        int pair = 0;
+        for (int rank1 = 0; rank1 < NB_RANKS; rank1++) {
+            for (int rank2 = rank1; rank2 < NB_RANKS; rank2++) {
+                PAIR_RANKS1[pair] = rank1;
+                PAIR_RANKS2[pair] = rank2;
+                pair++;
+            }
+        }
+    }
+
+    private final int nbPlayers;
+    // Expected best score of each private pair against each public pair, times SCORE_SCALE, 0 without thirteen
+    private final long[] maxScores = new long[NB_RANK_PAIRS * NB_RANK_PAIRS];
+    // Expected private score of each private pair, times SCORE_SCALE
+    private final long[] privateScores = new long[NB_RANK_PAIRS];
+
+    /**
+     * Creates an enumerator of the deals of a game.
+     *
+     * @param nbPlayers The number of players dealt in, at most MAX_PLAYERS.
+     */
+    public DealEnumerator(int nbPlayers) {
+        if (nbPlayers < 1 || nbPlayers > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Deals can be enumerated for 1 to " + MAX_PLAYERS + " players");
+        }
+        this.nbPlayers = nbPlayers;
+        for (int privatePair = 0; privatePair < NB_RANK_PAIRS; privatePair++) {
+            int rank1 = PAIR_RANKS1[privatePair];
+            int rank2 = PAIR_RANKS2[privatePair];
+            // Two cards of the same rank have distinct suits, other pairs any suits
+            int weight = DealOutcomes.SCORE_SCALE / (rank1 == rank2 ? NB_SUITS * (NB_SUITS - 1) : NB_SUITS * NB_SUITS);
+            for (int suit1 = 0; suit1 < NB_SUITS; suit1++) {
+                for (int suit2 = 0; suit2 < NB_SUITS; suit2++) {
+                    if (rank1 == rank2 && suit1 == suit2) {
+                        continue;
+                    }
+                    int private1 = CardSet.cardId(Suit.fromIndex(suit1), Rank.fromIndex(rank1));
+                    int private2 = CardSet.cardId(Suit.fromIndex(suit2), Rank.fromIndex(rank2));
+                    privateScores[privatePair] += weight * MaxScoreTable.getPrivateScore(private1, private2);
+                    for (int publicPair = 0; publicPair < NB_RANK_PAIRS; publicPair++) {
+                        // Public card scores only depend on rank, so any suit stands for the public cards
+                        int public1 = CardSet.cardId(Suit.CLUBS, Rank.fromIndex(PAIR_RANKS1[publicPair]));
+                        int public2 = CardSet.cardId(Suit.CLUBS, Rank.fromIndex(PAIR_RANKS2[publicPair]));
+                        int score = MaxScoreTable.getMaxScore(private1, private2, public1, public2);
+                        maxScores[publicPair * NB_RANK_PAIRS + privatePair] += weight * score;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Enumerates every deal.
+     *
+     * @param nbThreads Parallelism of the ForkJoinPool doing the work.
+     * @return The exact outcome frequencies.
+     */
+    public DealOutcomes enumerate(int nbThreads) {
+        ForkJoinPool pool = new ForkJoinPool(nbThreads);
+        try {
+            return pool.invoke(new EnumerationTask(0, NB_RANK_PAIRS * NB_RANK_PAIRS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Enumerates the deals of a range of roots, a root being a public pair and the first player's pair.
+     */
+    private class EnumerationTask extends RecursiveTask<DealOutcomes> {
+        private static final long serialVersionUID = 1L;
+        private final int fromRoot;
+        private final int toRoot;
+
+        EnumerationTask(int fromRoot, int toRoot) {
+            this.fromRoot = fromRoot;
+            this.toRoot = toRoot;
+        }
+
+        @Override
+        protected DealOutcomes compute() {
+            if (toRoot - fromRoot > ROOTS_PER_TASK) {
+                int middle = (fromRoot + toRoot) >>> 1;
+                EnumerationTask left = new EnumerationTask(fromRoot, middle);
+                left.fork();
+                DealOutcomes outcomes = new EnumerationTask(middle, toRoot).compute();
+                outcomes.merge(left.join());
+                return outcomes;
+            }
+            DealOutcomes outcomes = new DealOutcomes(nbPlayers);
+            RootEnumeration enumeration = new RootEnumeration();
+            for (int root = fromRoot; root < toRoot; root++) {
+                enumeration.enumerate(root / NB_RANK_PAIRS, root % NB_RANK_PAIRS);
+                outcomes.add(enumeration.counts, enumeration.scaledScores);
+            }
+            return outcomes;
+        }
+    }
+
+    /**
+     * Sequential enumeration of the deals of one root, counted in longs.
+     */
+    private class RootEnumeration {
+        private final int[] rankCounts = new int[NB_RANKS]; // Cards of each rank dealt so far
+        private final long[] counts = new long[nbPlayers + 1];
+        private final long[] scaledScores = new long[nbPlayers + 1];
+        private int publicPair;
+
+        void enumerate(int publicPair, int firstPair) {
+            Arrays.fill(counts, 0);
+            Arrays.fill(scaledScores, 0);
+            this.publicPair = publicPair;
+            long publicWeight = deal(publicPair);
+            long weight = publicWeight * deal(firstPair);
+            if (weight > 0) {
+                int thirteen = maxScores[publicPair * NB_RANK_PAIRS + firstPair] > 0 ? 1 : 0;
+                dealPlayers(1, firstPair, weight, 1, 1, thirteen,
+                            maxScores[publicPair * NB_RANK_PAIRS + firstPair], privateScores[firstPair]);
+            }
+            undeal(firstPair);
+            undeal(publicPair);
+        }
+
+        /**
+         * Deals the remaining players pairs no smaller than the previous one, so each multiset of pairs is seen once.
+         *
+         * @param seat Number of players dealt so far.
+         * @param previousPair Pair of the last player dealt.
+         * @param weight Suit assignments of the cards dealt so far.
+         * @param seatings Orders of the pairs dealt so far among their seats.
+         * @param runLength Players dealt so far holding the previous pair.
+         * @param nbThirteen Players dealt so far making thirteen.
+         * @param maxScoreSum Scaled sum of the best scores of the players dealt so far.
+         * @param privateScoreSum Scaled sum of the private scores of the players dealt so far.
+         */
+        private void dealPlayers(int seat, int previousPair, long weight, long seatings, int runLength,
+                                 int nbThirteen, long maxScoreSum, long privateScoreSum) {
+            if (seat == nbPlayers) {
+                long nbDeals = weight * seatings;
+                long scaledScore = nbThirteen == 0 ? privateScoreSum
+                        : nbThirteen == 1 ? (long) SOLE_THIRTEEN_SCORE * DealOutcomes.SCORE_SCALE : maxScoreSum;
+                counts[nbThirteen] += nbDeals;
+                scaledScores[nbThirteen] += nbDeals * scaledScore;
+                return;
+            }
+            for (int pair = previousPair; pair < NB_RANK_PAIRS; pair++) {
+                long pairWeight = deal(pair);
+                if (pairWeight > 0) {
+                    int newRunLength = pair == previousPair ? runLength + 1 : 1;
+                    long maxScore = maxScores[publicPair * NB_RANK_PAIRS + pair];
+                    dealPlayers(seat + 1, pair, weight * pairWeight, seatings * (seat + 1) / newRunLength,
+                                newRunLength, nbThirteen + (maxScore > 0 ? 1 : 0), maxScoreSum + maxScore,
+                                privateScoreSum + privateScores[pair]);
+                }
+                undeal(pair);
+            }
+        }
+
+        /**
+         * Deals the two cards of a rank pair.
+         *
+         * @param pair The rank pair.
+         * @return The number of ways to pick their suits among the cards left, 0 if not enough are left.
+         */
+        private long deal(int pair) {
+            int rank1 = PAIR_RANKS1[pair];
+            int rank2 = PAIR_RANKS2[pair];
+            long weight = Math.max(NB_SUITS - rankCounts[rank1]++, 0);
+            weight *= Math.max(NB_SUITS - rankCounts[rank2]++, 0);
+            // The two suits of a same-rank pair are unordered
+            return rank1 == rank2 ? weight / 2 : weight;
+        }
+
+        private void undeal(int pair) {
+            rankCounts[PAIR_RANKS1[pair]]--;
+            rankCounts[PAIR_RANKS2[pair]]--;
+        }
+    }
+
+    /**
+     * Prints the exact outcome frequencies of the deals of a game.
+     *
+     * @param args Number of players and number of threads, both optional.
+     */
+    public static void main(String[] args) {
+        int nbPlayers = args.length > 0 ? Integer.parseInt(args[0]) : MAX_PLAYERS;
+        int nbThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        DealOutcomes outcomes = new DealEnumerator(nbPlayers).enumerate(nbThreads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d public and %d private cards per player%n", GameConfig.NB_FACE_UP_CARDS,
+                          GameConfig.NB_START_CARDS);
+        System.out.print(outcomes);
+        System.out.printf("Enumerated on %d threads in %.2fs%n", nbThreads, seconds);
+    }
+}
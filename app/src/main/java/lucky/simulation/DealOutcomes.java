@@ -0,0 +1,167 @@
+package lucky.simulation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Exact frequencies of the end-of-game scoring cases over every initial deal of a game.
+ * Deals are counted by the number of players who can make thirteen with their initial cards:
+ * none is CASE 2 of ScoreActors.calculateScoreEndOfGame, one is CASE 1 and more than one is CASE 3.
+ * Score sums are kept as exact multiples of 1 / SCORE_SCALE, since they average over the suits of private cards.
+ */
+public class DealOutcomes {
+    /**
+     * Denominator of the score sums: every suit pair of two private cards is weighted by a divisor of it.
+     */
+    public static final int SCORE_SCALE = 48;
+
+    private final int nbPlayers;
+    private final BigInteger[] dealCounts; // Deals by number of players making thirteen
+    private final BigInteger[] scoreSums; // Scores of all players over those deals, times SCORE_SCALE
+
+    /**
+     * Creates an empty result.
+     *
+     * @param nbPlayers The number of players dealt in.
+     */
+    public DealOutcomes(int nbPlayers) {
+        this.nbPlayers = nbPlayers;
+        this.dealCounts = new BigInteger[nbPlayers + 1];
+        this.scoreSums = new BigInteger[nbPlayers + 1];
+        Arrays.fill(dealCounts, BigInteger.ZERO);
+        Arrays.fill(scoreSums, BigInteger.ZERO);
+    }
+
+    /**
+     * Adds deals counted in longs by one part of the enumeration.
+     *
+     * @param counts Deals by number of players making thirteen.
+     * @param scaledScores Scores of all players over those deals, times SCORE_SCALE.
+     */
+    void add(long[] counts, long[] scaledScores) {
+        for (int i = 0; i <= nbPlayers; i++) {
+            dealCounts[i] = dealCounts[i].add(BigInteger.valueOf(counts[i]));
+            scoreSums[i] = scoreSums[i].add(BigInteger.valueOf(scaledScores[i]));
+        }
+    }
+
+    /**
+     * Adds the deals counted by another result to this one.
+     *
+     * @param other The result to merge, for as many players.
+     */
+    public void merge(DealOutcomes other) {
+        for (int i = 0; i <= nbPlayers; i++) {
+            dealCounts[i] = dealCounts[i].add(other.dealCounts[i]);
+            scoreSums[i] = scoreSums[i].add(other.scoreSums[i]);
+        }
+    }
+
+    public int getNbPlayers() {
+        return nbPlayers;
+    }
+
+    /**
+     * Gets the number of initial deals, seats told apart and the order of cards within a hand ignored.
+     *
+     * @return The number of deals.
+     */
+    public BigInteger getNbDeals() {
+        BigInteger total = BigInteger.ZERO;
+        for (BigInteger count : dealCounts) {
+            total = total.add(count);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of initial deals where exactly the given number of players can make thirteen.
+     *
+     * @param nbThirteen The number of players making thirteen.
+     * @return The number of deals.
+     */
+    public BigInteger getNbDeals(int nbThirteen) {
+        return dealCounts[nbThirteen];
+    }
+
+    /**
+     * Gets the sum of all players' scores over the deals where exactly the given number of players can make
+     * thirteen, times SCORE_SCALE.
+     *
+     * @param nbThirteen The number of players making thirteen.
+     * @return The scaled score sum.
+     */
+    public BigInteger getScaledScoreSum(int nbThirteen) {
+        return scoreSums[nbThirteen];
+    }
+
+    /**
+     * Gets the probability that exactly the given number of players can make thirteen.
+     *
+     * @param nbThirteen The number of players making thirteen.
+     * @return The probability.
+     */
+    public double getProbability(int nbThirteen) {
+        return ratio(dealCounts[nbThirteen], getNbDeals());
+    }
+
+    /**
+     * Gets the probability that a given seat can make thirteen, the same for every seat.
+     *
+     * @return The probability.
+     */
+    public double getThirteenProbability() {
+        BigInteger seatsWithThirteen = BigInteger.ZERO;
+        for (int i = 1; i <= nbPlayers; i++) {
+            seatsWithThirteen = seatsWithThirteen.add(dealCounts[i].multiply(BigInteger.valueOf(i)));
+        }
+        return ratio(seatsWithThirteen, getNbDeals().multiply(BigInteger.valueOf(nbPlayers)));
+    }
+
+    /**
+     * Gets the expected score of a given seat, the same for every seat.
+     *
+     * @return The expected score.
+     */
+    public double getExpectedScore() {
+        BigInteger total = BigInteger.ZERO;
+        for (BigInteger scoreSum : scoreSums) {
+            total = total.add(scoreSum);
+        }
+        return ratio(total, getNbDeals().multiply(BigInteger.valueOf((long) nbPlayers * SCORE_SCALE)));
+    }
+
+    /**
+     * Gets the expected score of a given seat in the deals where exactly the given number of players
+     * can make thirteen.
+     *
+     * @param nbThirteen The number of players making thirteen.
+     * @return The expected score.
+     */
+    public double getExpectedScore(int nbThirteen) {
+        return ratio(scoreSums[nbThirteen],
+                     dealCounts[nbThirteen].multiply(BigInteger.valueOf((long) nbPlayers * SCORE_SCALE)));
+    }
+
+    private static double ratio(BigInteger numerator, BigInteger denominator) {
+        return denominator.signum() == 0 ? 0 : new BigDecimal(numerator)
+                .divide(new BigDecimal(denominator), MathContext.DECIMAL64).doubleValue();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%d players, %s deals%n", nbPlayers, getNbDeals()));
+        builder.append("thirteen,deals,probability,expected score\n");
+        for (int i = 0; i <= nbPlayers; i++) {
+            builder.append(String.format(Locale.ROOT, "%d,%s,%.9f,%.6f%n", i, dealCounts[i],
+                                         getProbability(i), getExpectedScore(i)));
+        }
+        builder.append(String.format(Locale.ROOT, "seat makes thirteen %.9f, expected score %.6f%n",
+                                     getThirteenProbability(), getExpectedScore()));
+        return builder.toString();
+    }
+}
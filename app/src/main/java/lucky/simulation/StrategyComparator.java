@@ -0,0 +1,280 @@
+package lucky.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import lucky.Driver;
+import lucky.GameConfig;
+import lucky.GameEngine;
+import lucky.PropertiesLoader;
+import lucky.clock.VirtualGameClock;
+import lucky.events.NoOpEventSink;
+
+/**
+ * Compares two configs of one seat, e.g. two player types, playing only as many games as needed.
+ * Game i is played once under each config with the same seed, so both games deal the same cards and only
+ * the seat's play differs. After each pair of games, a mixture sequential probability ratio test on the
+ * paired differences of the chosen metric checks whether the configs differ; the comparison stops as soon
+ * as they do at about the configured error rate, or when the maximum number of games is reached.
+ * Games are played in rounds across threads but tested in game order, so the result does not depend on the
+ * number of threads.
+ */
+public class StrategyComparator {
+    /**
+     * Metrics the configs can be compared on, for the compared seat.
+     */
+    public enum Metric {
+        WIN_RATE, MEAN_SCORE
+    }
+
+    static final int GAMES_PER_TASK = 16;
+    private static final int WIN_A = 0;
+    private static final int WIN_B = 1;
+    private static final int SCORE_A = 2;
+    private static final int SCORE_B = 3;
+
+    private final GameConfig configA;
+    private final GameConfig configB;
+    private final int seat;
+    private final int nbThreads;
+    private Metric metric = Metric.WIN_RATE;
+    private double errorRate = 0.05;
+    private double effectSize = 0.1;
+    private int minGames = 100;
+
+    /**
+     * Creates a comparator.
+     *
+     * @param configA The first config.
+     * @param configB The second config, seating as many players.
+     * @param seat Index of the seat whose results are compared.
+     * @param nbThreads Number of games played at the same time.
+     */
+    public StrategyComparator(GameConfig configA, GameConfig configB, int seat, int nbThreads) {
+        if (configA.getNbPlayers() != configB.getNbPlayers()) {
+            throw new IllegalArgumentException("Compared configs must seat as many players");
+        }
+        if (seat < 0 || seat >= configA.getNbPlayers()) {
+            throw new IllegalArgumentException("No seat " + seat + " in a game of " + configA.getNbPlayers());
+        }
+        if ("human".equals(configA.getPlayerType(0)) || "human".equals(configB.getPlayerType(0))) {
+            throw new IllegalArgumentException("Compared games cannot seat a human player");
+        }
+        this.configA = configA;
+        this.configB = configB;
+        this.seat = seat;
+        this.nbThreads = nbThreads;
+    }
+
+    /**
+     * Creates a comparator of two player types in one seat, the other seats keeping the types of the config.
+     *
+     * @param config The config of the games.
+     * @param seat Index of the seat whose player type changes.
+     * @param playerTypeA The first player type.
+     * @param playerTypeB The second player type.
+     * @param nbThreads Number of games played at the same time.
+     * @return The comparator.
+     */
+    public static StrategyComparator forPlayerTypes(GameConfig config, int seat, String playerTypeA,
+                                                    String playerTypeB, int nbThreads) {
+        String[] playerTypesA = config.getPlayerTypes();
+        String[] playerTypesB = config.getPlayerTypes();
+        playerTypesA[seat] = playerTypeA;
+        playerTypesB[seat] = playerTypeB;
+        return new StrategyComparator(config.withPlayerTypes(playerTypesA), config.withPlayerTypes(playerTypesB),
+                                                                                             seat, nbThreads);
+    }
+
+    public void setMetric(Metric metric) {
+        this.metric = metric;
+    }
+
+    /**
+     * Sets the probability of finding a difference between configs that play equally well.
+     * The rate is only approximate, as the spread of the differences is estimated from the games themselves.
+     *
+     * @param errorRate The error rate, e.g. 0.05.
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Sets the typical difference looked for, in standard deviations of the paired differences.
+     * Differences near this size are found fastest, while any difference is found eventually.
+     *
+     * @param effectSize The standardised effect size, e.g. 0.1.
+     */
+    public void setEffectSize(double effectSize) {
+        this.effectSize = effectSize;
+    }
+
+    /**
+     * Sets the number of games played before the test is first checked, so the spread is well estimated.
+     *
+     * @param minGames The minimum number of games.
+     */
+    public void setMinGames(int minGames) {
+        this.minGames = minGames;
+    }
+
+    /**
+     * Plays pairs of games until the configs differ significantly or the maximum number of games is reached.
+     *
+     * @param maxGames Maximum number of games per config.
+     * @return The outcome of the comparison.
+     */
+    public ComparisonResult compare(int maxGames) {
+        SequentialTest test = new SequentialTest();
+        int roundSize = nbThreads * GAMES_PER_TASK;
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            for (int roundStart = 0; roundStart < maxGames; roundStart += roundSize) {
+                List<Future<int[][]>> futures = new ArrayList<>();
+                for (int from = roundStart; from < Math.min(roundStart + roundSize, maxGames); from += GAMES_PER_TASK) {
+                    int taskFrom = from;
+                    int taskTo = Math.min(from + GAMES_PER_TASK, maxGames);
+                    futures.add(executor.submit(() -> playPairs(taskFrom, taskTo)));
+                }
+                for (Future<int[][]> future : futures) {
+                    for (int[] pair : future.get()) {
+                        test.add(pair);
+                        if (test.isSignificant()) {
+                            return test.toResult(test.getMeanDifference() > 0 ? ComparisonResult.Decision.A_BETTER
+                                                                          : ComparisonResult.Decision.B_BETTER);
+                        }
+                    }
+                }
+            }
+            return test.toResult(ComparisonResult.Decision.INCONCLUSIVE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Comparison interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Comparison game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a range of games under both configs on the calling thread.
+     *
+     * @param from Index of the first game, inclusive.
+     * @param to Index of the last game, exclusive.
+     * @return For each game, whether the seat won and its score under each config.
+     */
+    int[][] playPairs(int from, int to) {
+        int[][] pairs = new int[to - from][4];
+        for (int i = from; i < to; i++) {
+            long seed = BatchRunner.gameSeed(GameEngine.SEED, i);
+            GameEngine gameA = playGame(configA, seed);
+            GameEngine gameB = playGame(configB, seed);
+            pairs[i - from][WIN_A] = gameA.getWinners().contains(seat) ? 1 : 0;
+            pairs[i - from][WIN_B] = gameB.getWinners().contains(seat) ? 1 : 0;
+            pairs[i - from][SCORE_A] = gameA.getGameState().getScores()[seat];
+            pairs[i - from][SCORE_B] = gameB.getGameState().getScores()[seat];
+        }
+        return pairs;
+    }
+
+    private static GameEngine playGame(GameConfig config, long seed) {
+        GameEngine gameEngine = new GameEngine(config, seed);
+        gameEngine.setClock(new VirtualGameClock());
+        gameEngine.setVerbose(false);
+        gameEngine.setEventSink(NoOpEventSink.getInstance());
+        gameEngine.runGame();
+        return gameEngine;
+    }
+
+    /**
+     * Mixture sequential probability ratio test of a zero mean for the paired differences, with a normal
+     * mixing distribution of standard deviation effectSize times the spread of the differences.
+     * With a known spread, its likelihood ratio would only exceed 1 / errorRate with probability errorRate when
+     * the mean is zero, however often it is checked. Here the spread is estimated from the games so far, so the
+     * bound only holds approximately: an early estimate can be too small, which minGames guards against by
+     * waiting until the estimate settles before the ratio is checked.
+     */
+    private class SequentialTest {
+        private long nbGames;
+        private long winsA;
+        private long winsB;
+        private long scoreSumA;
+        private long scoreSumB;
+        private double mean; // Running mean and sum of squared deviations of the differences (Welford)
+        private double squaredDeviations;
+        private double logLikelihoodRatio;
+
+        void add(int[] pair) {
+            nbGames++;
+            winsA += pair[WIN_A];
+            winsB += pair[WIN_B];
+            scoreSumA += pair[SCORE_A];
+            scoreSumB += pair[SCORE_B];
+            double difference = metric == Metric.WIN_RATE ? pair[WIN_A] - pair[WIN_B]
+                                                          : pair[SCORE_A] - pair[SCORE_B];
+            double delta = difference - mean;
+            mean += delta / nbGames;
+            squaredDeviations += delta * (difference - mean);
+
+            double variance = nbGames > 1 ? squaredDeviations / (nbGames - 1) : 0;
+            if (variance == 0) {
+                logLikelihoodRatio = 0; // Identical results so far are no evidence of a difference
+                return;
+            }
+            double n = nbGames;
+            double mixing = n * effectSize * effectSize; // n * tau^2 / sigma^2
+            logLikelihoodRatio = -0.5 * Math.log1p(mixing) + n * mixing * mean * mean / (2 * variance * (1 + mixing));
+        }
+
+        boolean isSignificant() {
+            return nbGames >= minGames && logLikelihoodRatio >= -Math.log(errorRate);
+        }
+
+        double getMeanDifference() {
+            return mean;
+        }
+
+        ComparisonResult toResult(ComparisonResult.Decision decision) {
+            return new ComparisonResult(metric, nbGames, winsA, winsB, scoreSumA, scoreSumB, logLikelihoodRatio,
+                                                                                                      decision);
+        }
+    }
+
+    /**
+     * Compares two player types in one seat from the command line.
+     *
+     * @param args Properties file, seat, first player type, second player type, metric (WIN_RATE or MEAN_SCORE),
+     *             maximum number of games, number of threads and error rate, all optional.
+     */
+    public static void main(String[] args) {
+        String propertiesPath = args.length > 0 ? args[0] : Driver.DEFAULT_PROPERTIES_PATH;
+        int seat = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        String playerTypeA = args.length > 2 ? args[2] : "clever";
+        String playerTypeB = args.length > 3 ? args[3] : "basic";
+        Metric metric = args.length > 4 ? Metric.valueOf(args[4]) : Metric.WIN_RATE;
+        int maxGames = args.length > 5 ? Integer.parseInt(args[5]) : 100000;
+        int nbThreads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        Properties properties = PropertiesLoader.loadPropertiesFile(propertiesPath);
+        StrategyComparator comparator = forPlayerTypes(GameConfig.fromProperties(properties), seat, playerTypeA,
+                                                                                     playerTypeB, nbThreads);
+        comparator.setMetric(metric);
+        if (args.length > 7) {
+            comparator.setErrorRate(Double.parseDouble(args[7]));
+        }
+        long start = System.nanoTime();
+        ComparisonResult result = comparator.compare(maxGames);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Seat %d: A is %s, B is %s%n", seat, playerTypeA, playerTypeB);
+        System.out.print(result);
+        System.out.printf("%d games per config on %d threads in %.2fs%n", result.getNbGames(), nbThreads, seconds);
+    }
+}
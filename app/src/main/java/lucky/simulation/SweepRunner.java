@@ -0,0 +1,207 @@
+package lucky.simulation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import lucky.GameConfig;
+import lucky.PropertiesLoader;
+import lucky.gameobjects.CardSet;
+
+/**
+ * Plays a grid of game configs, e.g. several player mixes, initial cards and numbers of rounds,
+ * and writes one row of results per config and seat.
+ * The games of every config are split into chunks played on a single thread pool, so that small batches
+ * still keep every thread busy. Game i of every config has the same seed, as in a BatchRunner.
+ */
+public class SweepRunner {
+    public static final String DEFAULT_PROPERTIES_PATH = "properties/sweep.properties";
+    private static final String CONFIG_SEPARATOR = ";";
+
+    private final int nbThreads;
+
+    /**
+     * Creates a sweep runner.
+     *
+     * @param nbThreads Number of games played at the same time.
+     */
+    public SweepRunner(int nbThreads) {
+        this.nbThreads = nbThreads;
+    }
+
+    /**
+     * Builds every combination of the given settings on top of a base config.
+     * An empty list keeps the setting of the base config.
+     *
+     * @param base The config giving the other settings.
+     * @param playerMixes The player types of the seats, one array per mix.
+     * @param sharedInitialCards Comma-separated shared initial cards, one string per variant.
+     * @param nbRounds Numbers of rounds.
+     * @return The configs, player mixes varying slowest and numbers of rounds fastest.
+     */
+    public static List<GameConfig> grid(GameConfig base, List<String[]> playerMixes, List<String> sharedInitialCards,
+                                                                                         List<Integer> nbRounds) {
+        List<GameConfig> configs = new ArrayList<>();
+        for (String[] playerTypes : playerMixes.isEmpty() ? Collections.singletonList(base.getPlayerTypes())
+                                                                          : playerMixes) {
+            GameConfig mixConfig = base.withPlayerTypes(playerTypes);
+            for (String cards : sharedInitialCards.isEmpty() ? List.of("") : sharedInitialCards) {
+                GameConfig cardsConfig = sharedInitialCards.isEmpty() ? mixConfig
+                                                                      : mixConfig.withSharedInitialCards(cards);
+                for (int rounds : nbRounds.isEmpty() ? List.of(base.getNbRounds()) : nbRounds) {
+                    configs.add(cardsConfig.withNbRounds(rounds));
+                }
+            }
+        }
+        return configs;
+    }
+
+    /**
+     * Builds the grid described by the sweep keys of game properties:
+     * sweep.players lists player mixes such as "clever,basic,random,random;mcts,basic,random,random",
+     * sweep.shared.initialcards lists shared initial cards such as ";8H,9H" (none, then 8H and 9H)
+     * and sweep.nbRounds lists numbers of rounds such as "2,4,6". The other keys make the base config.
+     *
+     * @param properties Game properties with sweep keys.
+     * @return The configs of the sweep.
+     */
+    public static List<GameConfig> grid(Properties properties) {
+        List<String[]> playerMixes = new ArrayList<>();
+        for (String mix : split(properties.getProperty("sweep.players"), CONFIG_SEPARATOR)) {
+            playerMixes.add(mix.split(","));
+        }
+        List<Integer> nbRounds = new ArrayList<>();
+        for (String rounds : split(properties.getProperty("sweep.nbRounds"), ",")) {
+            nbRounds.add(Integer.parseInt(rounds));
+        }
+        String sharedInitialCards = properties.getProperty("sweep.shared.initialcards");
+        List<String> cards = sharedInitialCards == null ? List.of()
+                                                        : List.of(sharedInitialCards.split(CONFIG_SEPARATOR, -1));
+        return grid(GameConfig.fromProperties(properties), playerMixes, cards, nbRounds);
+    }
+
+    private static List<String> split(String value, String separator) {
+        List<String> parts = new ArrayList<>();
+        if (value != null) {
+            for (String part : value.split(separator)) {
+                if (!part.isBlank()) {
+                    parts.add(part.trim());
+                }
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Plays the given number of games with each config.
+     *
+     * @param configs The configs to play, without human players.
+     * @param nbGames Number of games per config.
+     * @return The results, in the order of the configs.
+     */
+    public List<BatchResult> run(List<GameConfig> configs, int nbGames) {
+        List<BatchRunner> batchRunners = new ArrayList<>();
+        for (GameConfig config : configs) {
+            batchRunners.add(new BatchRunner(config, 1));
+        }
+        int nbChunks = Math.max(1, Math.min(nbGames,
+                                 nbThreads * BatchRunner.CHUNKS_PER_THREAD / Math.max(1, configs.size())));
+
+        ExecutorService executor = Executors.newFixedThreadPool(nbThreads);
+        try {
+            List<List<Future<BatchResult>>> futures = new ArrayList<>();
+            for (BatchRunner batchRunner : batchRunners) {
+                List<Future<BatchResult>> configFutures = new ArrayList<>();
+                for (int chunk = 0; chunk < nbChunks; chunk++) {
+                    int from = (int) ((long) nbGames * chunk / nbChunks);
+                    int to = (int) ((long) nbGames * (chunk + 1) / nbChunks);
+                    configFutures.add(executor.submit(() -> batchRunner.playGames(from, to)));
+                }
+                futures.add(configFutures);
+            }
+
+            List<BatchResult> results = new ArrayList<>();
+            for (int i = 0; i < configs.size(); i++) {
+                BatchResult result = new BatchResult(configs.get(i).getPlayerTypes());
+                for (Future<BatchResult> future : futures.get(i)) {
+                    result.merge(future.get());
+                }
+                results.add(result);
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Sweep game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the results of a sweep as a comma-separated table, one row per config and seat.
+     *
+     * @param configs The configs of the sweep.
+     * @param results The results of the configs, in the same order.
+     * @param writer The writer receiving the table.
+     */
+    public static void writeTable(List<GameConfig> configs, List<BatchResult> results, Writer writer) {
+        PrintWriter table = new PrintWriter(writer);
+        table.println("config,players,nbRounds,sharedCards,seat,playerType,games,wins,winRate,meanScore");
+        for (int i = 0; i < configs.size(); i++) {
+            GameConfig config = configs.get(i);
+            BatchResult result = results.get(i);
+            StringBuilder sharedCards = new StringBuilder();
+            for (int cardId : config.getSharedInitialCards()) {
+                sharedCards.append(sharedCards.length() > 0 ? " " : "").append(CardSet.cardName(cardId));
+            }
+            for (int seat = 0; seat < result.getNbSeats(); seat++) {
+                table.printf(Locale.ROOT, "%d,%s,%d,%s,%d,%s,%d,%d,%.4f,%.2f%n", i,
+                        String.join(" ", config.getPlayerTypes()), config.getNbRounds(), sharedCards, seat,
+                        result.getPlayerType(seat), result.getNbGames(), result.getWins(seat),
+                        result.getWinRate(seat), result.getMeanScore(seat));
+            }
+        }
+        table.flush();
+    }
+
+    /**
+     * Runs a sweep from the command line.
+     *
+     * @param args Properties file, number of games per config, number of threads and results file, all optional.
+     *             The table is printed when no results file is given.
+     * @throws IOException If the results file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        String propertiesPath = args.length > 0 ? args[0] : DEFAULT_PROPERTIES_PATH;
+        int nbGames = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        int nbThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        List<GameConfig> configs = grid(PropertiesLoader.loadPropertiesFile(propertiesPath));
+        long start = System.nanoTime();
+        List<BatchResult> results = new SweepRunner(nbThreads).run(configs, nbGames);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        if (args.length > 3) {
+            try (Writer writer = Files.newBufferedWriter(Paths.get(args[3]))) {
+                writeTable(configs, results, writer);
+            }
+        } else {
+            writeTable(configs, results, new PrintWriter(System.out));
+        }
+        System.err.printf("%d configs of %d games on %d threads in %.2fs%n", configs.size(), nbGames, nbThreads,
+                                                                                                      seconds);
+    }
+}
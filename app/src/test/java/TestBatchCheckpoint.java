@@ -0,0 +1,128 @@
+import lucky.GameConfig;
+import lucky.GameEngine;
+import lucky.PropertiesLoader;
+import lucky.simulation.BatchCheckpoint;
+import lucky.simulation.BatchResult;
+import lucky.simulation.BatchRunner;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestBatchCheckpoint {
+    private static Properties botProperties() {
+        return PropertiesLoader.loadPropertiesFile("properties/bots.properties");
+    }
+
+    private static GameConfig botConfig() {
+        return GameConfig.fromProperties(botProperties());
+    }
+
+    private static GameConfig botConfig(String key, String value) {
+        Properties properties = botProperties();
+        properties.setProperty(key, value);
+        return GameConfig.fromProperties(properties);
+    }
+
+    @Test
+    public void resumedBatchMatchesAnUninterruptedOne() throws IOException {
+        GameConfig config = botConfig();
+        BatchResult expected = new BatchRunner(config, 2).run(25000);
+
+        // A run killed after completing three of its chunks, out of order
+        Path checkpointFile = Files.createTempFile("lucky", ".checkpoint");
+        Files.delete(checkpointFile);
+        BatchRunner killedRunner = new BatchRunner(config, 2);
+        BatchCheckpoint checkpoint = BatchCheckpoint.open(checkpointFile, config, GameEngine.SEED, 25000, 16);
+        for (int chunk : new int[] {3, 0, 1}) {
+            int from = 25000 * chunk / 16;
+            int to = 25000 * (chunk + 1) / 16;
+            checkpoint.complete(from, to, killedRunner.playGames(from, to));
+        }
+        checkpoint.write();
+
+        BatchCheckpoint reopened = BatchCheckpoint.open(checkpointFile, config, GameEngine.SEED, 25000, 3);
+        assertEquals(16, reopened.getNbChunks());
+        assertTrue(reopened.isCompleted(0, 25000 * 2 / 16));
+        assertFalse(reopened.isCompleted(25000 * 2 / 16, 25000 * 3 / 16));
+        assertEquals(checkpoint.getNbGamesCompleted(), reopened.getNbGamesCompleted());
+
+        BatchRunner resumedRunner = new BatchRunner(config, 3);
+        resumedRunner.setCheckpointFile(checkpointFile);
+        BatchResult resumed = resumedRunner.run(25000);
+        assertEquals(expected.toString(), resumed.toString());
+        assertEquals(25000, BatchCheckpoint.open(checkpointFile, config, GameEngine.SEED, 25000, 1)
+                                                                              .getNbGamesCompleted());
+
+        // A finished batch started again only reads its checkpoint
+        assertEquals(expected.toString(), resumedRunner.run(25000).toString());
+        Files.delete(checkpointFile);
+    }
+
+    @Test
+    public void checkpointOfAnotherBatchIsRejected() throws IOException {
+        GameConfig config = botConfig();
+        Path checkpointFile = Files.createTempFile("lucky", ".checkpoint");
+        Files.delete(checkpointFile);
+        BatchRunner batchRunner = new BatchRunner(config, 1);
+        batchRunner.setCheckpointFile(checkpointFile);
+        batchRunner.run(100);
+        try {
+            batchRunner.run(200);
+            fail("Expected the checkpoint to be rejected");
+        } catch (IllegalStateException expected) {
+            // The file describes 100 games
+        }
+        try {
+            BatchCheckpoint.open(checkpointFile, config.withNbRounds(2), GameEngine.SEED, 100, 1);
+            fail("Expected the checkpoint to be rejected");
+        } catch (IllegalStateException expected) {
+            // The file describes games of another config
+        }
+        Files.delete(checkpointFile);
+    }
+
+    @Test
+    public void checkpointOfAnotherConfigIsRejected() throws IOException {
+        Path checkpointFile = Files.createTempFile("lucky", ".checkpoint");
+        Files.delete(checkpointFile);
+        BatchCheckpoint.open(checkpointFile, botConfig("mcts.iterations", "300"), GameEngine.SEED, 100, 1).write();
+        // The same settings parsed again resume the batch
+        BatchCheckpoint.open(checkpointFile, botConfig("mcts.iterations", "300"), GameEngine.SEED, 100, 1);
+
+        // Each config differs from the one of the file in a setting its description leaves out
+        GameConfig[] otherConfigs = {
+            botConfig(),
+            botConfig("mcts.iterations", "400"),
+            botConfig("endgame.depth", "2"),
+            botConfig("players.1.initialcards", "1H,2H"),
+            botConfig("isAuto", "true"),
+            botConfig("thinkingTime", "5"),
+            botConfig("clock", "virtual")
+        };
+        for (GameConfig otherConfig : otherConfigs) {
+            assertEquals(botConfig().toString(), otherConfig.toString());
+            try {
+                BatchCheckpoint.open(checkpointFile, otherConfig, GameEngine.SEED, 100, 1);
+                fail("Expected the checkpoint to be rejected for " + otherConfig.fingerprint());
+            } catch (IllegalStateException expected) {
+                // The file describes games of another config
+            }
+        }
+        Properties moves = botProperties();
+        moves.setProperty("isAuto", "true");
+        moves.setProperty("players.0.cardsPlayed", "3H-3H");
+        GameConfig withMoves = GameConfig.fromProperties(moves);
+        moves.setProperty("players.0.cardsPlayed", "3H");
+        assertNotEquals(withMoves.fingerprint(), GameConfig.fromProperties(moves).fingerprint());
+        Files.delete(checkpointFile);
+    }
+}
@@ -0,0 +1,41 @@
+import lucky.GameConfig;
+import lucky.PropertiesLoader;
+import lucky.simulation.BatchResult;
+import lucky.simulation.BatchRunner;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestBatchRunner {
+    private static GameConfig botConfig() {
+        return GameConfig.fromProperties(PropertiesLoader.loadPropertiesFile("properties/bots.properties"));
+    }
+
+    private static void assertSameResults(BatchResult expected, BatchResult actual) {
+        assertEquals(expected.getNbGames(), actual.getNbGames());
+        for (int seat = 0; seat < expected.getNbSeats(); seat++) {
+            assertEquals(expected.getWins(seat), actual.getWins(seat));
+            assertEquals(expected.getMeanScore(seat), actual.getMeanScore(seat), 0);
+            assertEquals(expected.getScoreDistribution(seat), actual.getScoreDistribution(seat));
+        }
+    }
+
+    @Test
+    public void resultsDoNotDependOnTheNumberOfThreads() {
+        GameConfig config = botConfig();
+        BatchResult singleThreaded = new BatchRunner(config, 1).run(3000);
+        assertEquals(3000, singleThreaded.getNbGames());
+        for (int nbThreads : new int[] {2, 3, 8}) {
+            assertSameResults(singleThreaded, new BatchRunner(config, nbThreads).run(3000));
+        }
+    }
+
+    @Test
+    public void chunksAddUpToTheWholeBatch() {
+        GameConfig config = botConfig();
+        BatchRunner batchRunner = new BatchRunner(config, 1);
+        BatchResult chunked = batchRunner.playGames(0, 700);
+        chunked.merge(batchRunner.playGames(700, 1000));
+        assertSameResults(new BatchRunner(config, 4).run(1000), chunked);
+    }
+}
@@ -0,0 +1,122 @@
+import lucky.GameEngine;
+import lucky.GameObserver;
+import lucky.GameState;
+import lucky.PropertiesLoader;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.players.BeliefTracker;
+import lucky.players.Player;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestBeliefTracker {
+    private static Properties botProperties() {
+        return PropertiesLoader.loadPropertiesFile("properties/bots.properties");
+    }
+
+    /**
+     * Checks that every particle still weighted deals exactly the unseen cards, two to each opponent
+     * and the rest to the pack.
+     */
+    private static void assertConsistent(BeliefTracker tracker, int seat, int nbPlayers) {
+        double totalWeight = 0;
+        for (int particle = 0; particle < tracker.getNbParticles(); particle++) {
+            totalWeight += tracker.getWeight(particle);
+            if (tracker.getWeight(particle) == 0) {
+                continue; // Ruled out, never sampled again
+            }
+            long cards = tracker.getPack(particle);
+            int nbCards = CardSet.size(cards);
+            for (int player = 0; player < nbPlayers; player++) {
+                if (player != seat) {
+                    cards = CardSet.add(cards, tracker.getCard(particle, player, 0));
+                    cards = CardSet.add(cards, tracker.getCard(particle, player, 1));
+                    nbCards += 2;
+                }
+            }
+            assertEquals(tracker.getUnseenCards(), cards);
+            assertEquals(CardSet.size(cards), nbCards);
+        }
+        assertEquals(1, totalWeight, 1e-9);
+    }
+
+    @Test
+    public void particlesFollowTheGame() {
+        int seat = 0;
+        double[] beliefs = new double[2]; // Believed and uniform probabilities of the opponents' true cards
+        // Random discards tell nothing of the hand kept, so every opponent keeps its better cards
+        Properties properties = botProperties();
+        properties.setProperty("players.2", "clever");
+        properties.setProperty("players.3", "clever");
+        for (long seed = 0; seed < 30; seed++) {
+            GameEngine gameEngine = new GameEngine(properties, seed);
+            gameEngine.setVerbose(false);
+            BeliefTracker tracker = new BeliefTracker(seat, 500, new SplittableRandom(seed));
+            gameEngine.setObserver(new GameObserver() {
+                @Override
+                public void onGameInitialised(GameState gameState) {
+                    gameState.getEventBus().subscribe(tracker, seat);
+                }
+
+                @Override
+                public void onTurnEnded(GameState gameState, int player) {
+                    assertConsistent(tracker, seat, gameState.getNbPlayers());
+                    int nbUnseen = CardSet.size(tracker.getUnseenCards());
+                    Player[] players = gameState.getPlayers();
+                    for (int opponent = 1; opponent < players.length; opponent++) {
+                        for (GameCard card : players[opponent].getHand().getCardList()) {
+                            beliefs[0] += tracker.getHoldingProbability(opponent, card.getCardId());
+                            beliefs[1] += 2.0 / nbUnseen;
+                        }
+                    }
+                }
+            });
+            gameEngine.runGame();
+        }
+        // Discards tell something of the hands kept, so the true cards are believed more likely than by chance
+        assertTrue(beliefs[0] > 1.1 * beliefs[1]);
+    }
+
+    @Test
+    public void sampledParticlesFollowTheWeights() {
+        GameEngine gameEngine = new GameEngine(botProperties(), 5);
+        gameEngine.setVerbose(false);
+        BeliefTracker tracker = new BeliefTracker(1, 64, new SplittableRandom(5));
+        gameEngine.setObserver(new GameObserver() {
+            @Override
+            public void onGameInitialised(GameState gameState) {
+                gameState.getEventBus().subscribe(tracker, 1);
+            }
+        });
+        gameEngine.runGame();
+
+        SplittableRandom random = new SplittableRandom(11);
+        int[] counts = new int[tracker.getNbParticles()];
+        int nbSamples = 640000;
+        for (int i = 0; i < nbSamples; i++) {
+            counts[tracker.sample(random)]++;
+        }
+        for (int particle = 0; particle < tracker.getNbParticles(); particle++) {
+            assertEquals(tracker.getWeight(particle), (double) counts[particle] / nbSamples, 0.005);
+        }
+    }
+
+    @Test
+    public void searchPlaysWithABelief() {
+        Properties properties = botProperties();
+        properties.setProperty("players.0", "mcts");
+        properties.setProperty("mcts.iterations", "200");
+        properties.setProperty("mcts.particles", "200");
+        for (long seed = 0; seed < 5; seed++) {
+            GameEngine gameEngine = new GameEngine(properties, seed);
+            gameEngine.setVerbose(false);
+            gameEngine.runGame();
+            assertEquals(16, gameEngine.getGameState().getCardsPlayed().size());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.Rank;
+import lucky.gameobjects.Suit;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestCardSet {
+    @Test
+    public void cardIdsRoundTripThroughNamesSuitsAndRanks() {
+        long seen = CardSet.EMPTY;
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                int cardId = CardSet.cardId(suit, rank);
+                assertTrue(cardId >= 0 && cardId < CardSet.NB_CARDS);
+                assertFalse("Duplicate id " + cardId, CardSet.contains(seen, cardId));
+                seen = CardSet.add(seen, cardId);
+
+                assertEquals(suit, CardSet.suitOf(cardId));
+                assertEquals(rank, CardSet.rankOf(cardId));
+                assertEquals(suit.ordinal(), CardSet.suitIndex(cardId));
+                assertEquals(rank.ordinal(), CardSet.rankIndex(cardId));
+                assertEquals(cardId, CardSet.cardId(GameCard.of(suit, rank)));
+
+                String cardName = CardSet.cardName(cardId);
+                assertEquals(rank.getRankCardValue() + suit.getSuitShortHand(), cardName);
+                assertEquals(cardId, CardSet.parseCardId(cardName));
+            }
+        }
+        assertEquals(CardSet.FULL_DECK, seen);
+    }
+
+    @Test
+    public void badCardNamesAreRejected() {
+        String[] badNames = {"", "H", "1", "0H", "14H", "99H", "1X", "1h", "AH", "-1H", "1 H", "H1", "1HH",
+                             "4294967297H", "100000000000000000001H"};
+        for (String badName : badNames) {
+            assertEquals(badName, -1, CardSet.parseCardId(badName));
+        }
+    }
+
+    @Test
+    public void setOperationsMatchSingleCards() {
+        long hearts = CardSet.EMPTY;
+        for (Rank rank : Rank.values()) {
+            hearts = CardSet.add(hearts, CardSet.cardId(Suit.HEARTS, rank));
+        }
+        long aces = CardSet.EMPTY;
+        for (Suit suit : Suit.values()) {
+            aces = CardSet.union(aces, CardSet.of(CardSet.cardId(suit, Rank.ACE)));
+        }
+        int aceOfHearts = CardSet.cardId(Suit.HEARTS, Rank.ACE);
+
+        assertEquals(CardSet.NB_RANKS, CardSet.size(hearts));
+        assertEquals(CardSet.of(aceOfHearts), CardSet.intersection(hearts, aces));
+        assertEquals(CardSet.NB_RANKS + CardSet.NB_SUITS - 1, CardSet.size(CardSet.union(hearts, aces)));
+        long heartsButAce = CardSet.difference(hearts, aces);
+        assertEquals(CardSet.NB_RANKS - 1, CardSet.size(heartsButAce));
+        assertFalse(CardSet.contains(heartsButAce, aceOfHearts));
+        assertEquals(heartsButAce, CardSet.remove(hearts, aceOfHearts));
+        assertEquals(CardSet.EMPTY, CardSet.difference(aces, CardSet.FULL_DECK));
+        assertEquals(CardSet.FULL_DECK, CardSet.difference(CardSet.FULL_DECK, CardSet.EMPTY));
+        assertTrue(CardSet.isEmpty(CardSet.difference(hearts, hearts)));
+        assertEquals(CardSet.NB_CARDS, CardSet.size(CardSet.FULL_DECK));
+    }
+
+    @Test
+    public void nthWalksTheSetInIdOrder() {
+        SplittableRandom random = new SplittableRandom(13);
+        for (int trial = 0; trial < 200; trial++) {
+            long cards = random.nextLong() & CardSet.FULL_DECK;
+            int n = 0;
+            for (int cardId = 0; cardId < CardSet.NB_CARDS; cardId++) {
+                if (CardSet.contains(cards, cardId)) {
+                    assertEquals(cardId, CardSet.nth(cards, n++));
+                }
+            }
+            assertEquals(CardSet.size(cards), n);
+            if (!CardSet.isEmpty(cards)) {
+                assertEquals(CardSet.nth(cards, 0), CardSet.first(cards));
+                assertTrue(CardSet.contains(cards, CardSet.randomCard(cards, random)));
+            }
+        }
+        for (int cardId = 0; cardId < CardSet.NB_CARDS; cardId++) {
+            assertEquals(cardId, CardSet.nth(CardSet.FULL_DECK, cardId));
+            assertEquals(cardId, CardSet.first(CardSet.of(cardId)));
+        }
+    }
+
+    @Test
+    public void ranksAndSuitRanksIgnoreTheOtherSuits() {
+        SplittableRandom random = new SplittableRandom(52);
+        for (int trial = 0; trial < 200; trial++) {
+            long cards = random.nextLong() & CardSet.FULL_DECK;
+            int expectedRanks = 0;
+            for (int suitIndex = 0; suitIndex < CardSet.NB_SUITS; suitIndex++) {
+                int expectedSuitRanks = 0;
+                for (int rankIndex = 0; rankIndex < CardSet.NB_RANKS; rankIndex++) {
+                    if (CardSet.contains(cards, suitIndex * CardSet.NB_RANKS + rankIndex)) {
+                        expectedSuitRanks |= 1 << rankIndex;
+                    }
+                }
+                assertEquals(expectedSuitRanks, CardSet.suitRanks(cards, suitIndex));
+                expectedRanks |= expectedSuitRanks;
+            }
+            assertEquals(expectedRanks, CardSet.ranks(cards));
+        }
+        assertEquals((1 << CardSet.NB_RANKS) - 1, CardSet.ranks(CardSet.FULL_DECK));
+        assertEquals(0, CardSet.ranks(CardSet.EMPTY));
+        assertEquals(1 << Rank.KING.ordinal(), CardSet.ranks(CardSet.of(CardSet.cardId(Suit.CLUBS, Rank.KING))));
+    }
+}
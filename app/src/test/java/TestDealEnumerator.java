@@ -0,0 +1,71 @@
+import lucky.score.MaxScoreTable;
+import lucky.simulation.DealEnumerator;
+import lucky.simulation.DealOutcomes;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestDealEnumerator {
+    private static BigInteger binomialPairs(int nbCards) {
+        return BigInteger.valueOf(nbCards * (nbCards - 1) / 2);
+    }
+
+    @Test
+    public void singlePlayerMatchesEveryCardDeal() {
+        long[] counts = new long[2];
+        long[] scoreSums = new long[2];
+        int[] privateCards = new int[2];
+        int[] scores = new int[1];
+        for (int public1 = 0; public1 < 52; public1++) {
+            for (int public2 = public1 + 1; public2 < 52; public2++) {
+                for (int private1 = 0; private1 < 52; private1++) {
+                    for (int private2 = private1 + 1; private2 < 52; private2++) {
+                        if (private1 == public1 || private1 == public2 || private2 == public1 || private2 == public2) {
+                            continue;
+                        }
+                        privateCards[0] = private1;
+                        privateCards[1] = private2;
+                        MaxScoreTable.scoreEndOfGame(privateCards, public1, public2, scores);
+                        int nbThirteen = MaxScoreTable.isThirteen(private1, private2, public1, public2) ? 1 : 0;
+                        counts[nbThirteen]++;
+                        scoreSums[nbThirteen] += scores[0];
+                    }
+                }
+            }
+        }
+
+        DealOutcomes outcomes = new DealEnumerator(1).enumerate(2);
+        for (int nbThirteen = 0; nbThirteen <= 1; nbThirteen++) {
+            assertEquals(BigInteger.valueOf(counts[nbThirteen]), outcomes.getNbDeals(nbThirteen));
+            assertEquals(BigInteger.valueOf(scoreSums[nbThirteen] * DealOutcomes.SCORE_SCALE),
+                         outcomes.getScaledScoreSum(nbThirteen));
+        }
+    }
+
+    @Test
+    public void everyDealIsCountedOnce() {
+        for (int nbPlayers = 1; nbPlayers <= 3; nbPlayers++) {
+            BigInteger expected = binomialPairs(52);
+            for (int i = 0; i < nbPlayers; i++) {
+                expected = expected.multiply(binomialPairs(50 - 2 * i));
+            }
+            DealOutcomes outcomes = new DealEnumerator(nbPlayers).enumerate(4);
+            assertEquals(expected, outcomes.getNbDeals());
+            // Any one seat is dealt like the single player, whoever else sits down
+            assertEquals(new DealEnumerator(1).enumerate(1).getThirteenProbability(),
+                         outcomes.getThirteenProbability(), 1e-12);
+        }
+    }
+
+    @Test
+    public void resultDoesNotDependOnThreads() {
+        DealOutcomes oneThread = new DealEnumerator(2).enumerate(1);
+        DealOutcomes fourThreads = new DealEnumerator(2).enumerate(4);
+        for (int nbThirteen = 0; nbThirteen <= 2; nbThirteen++) {
+            assertEquals(oneThread.getNbDeals(nbThirteen), fourThreads.getNbDeals(nbThirteen));
+            assertEquals(oneThread.getScaledScoreSum(nbThirteen), fourThreads.getScaledScoreSum(nbThirteen));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+import lucky.clock.VirtualGameClock;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import lucky.players.Player;
+import lucky.players.PlayerFactory;
+import lucky.score.EndgameBatch;
+import lucky.score.EndgameBatchScorer;
+import lucky.score.ScoreActors;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestEndgameBatchScorer {
+    // Not a multiple of any vector length, so the scalar tail is checked too
+    private static final int NB_POSITIONS = 10007;
+
+    /**
+     * Deals random end-of-game positions into a batch and scores each one with ScoreActors,
+     * which applies the ScoreStrategy classes.
+     */
+    private static int[][] dealAndScore(EndgameBatch batch, long seed) {
+        int nbPlayers = batch.getNbPlayers();
+        Random random = new Random(seed);
+        Player[] players = new Player[nbPlayers];
+        for (int i = 0; i < nbPlayers; i++) {
+            players[i] = PlayerFactory.getInstance().createPlayer("random", 0, new VirtualGameClock());
+        }
+        int[][] expected = new int[NB_POSITIONS][nbPlayers];
+        int[] privateCards = new int[2 * nbPlayers];
+        for (int position = 0; position < NB_POSITIONS; position++) {
+            GameHand pack = GameDeck.getInstance().toHand();
+            GameHand playingArea = new GameHand();
+            playingArea.dealACardToHand(pack, random);
+            playingArea.dealACardToHand(pack, random);
+            for (int i = 0; i < nbPlayers; i++) {
+                GameHand hand = new GameHand();
+                privateCards[2 * i] = hand.dealACardToHand(pack, random).getCardId();
+                privateCards[2 * i + 1] = hand.dealACardToHand(pack, random).getCardId();
+                players[i].setHand(hand);
+            }
+            ScoreActors.getInstance().calculateScoreEndOfGame(playingArea, players, expected[position]);
+            batch.add(privateCards, playingArea.get(0).getCardId(), playingArea.get(1).getCardId());
+        }
+        return expected;
+    }
+
+    private static void assertScores(EndgameBatchScorer scorer, int nbPlayers) {
+        EndgameBatch batch = new EndgameBatch(nbPlayers, NB_POSITIONS);
+        int[][] expected = dealAndScore(batch, 30008 + nbPlayers);
+        scorer.score(batch);
+        for (int position = 0; position < NB_POSITIONS; position++) {
+            for (int player = 0; player < nbPlayers; player++) {
+                assertEquals("position " + position + " player " + player, expected[position][player],
+                                                                         batch.getScore(position, player));
+            }
+        }
+    }
+
+    @Test
+    public void scalarScorerMatchesScoreActors() {
+        for (int nbPlayers = 2; nbPlayers <= 4; nbPlayers++) {
+            assertScores(new EndgameBatchScorer(), nbPlayers);
+        }
+    }
+
+    @Test
+    public void createdScorerMatchesScoreActors() {
+        EndgameBatchScorer scorer = EndgameBatchScorer.create();
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            assertNotEquals(EndgameBatchScorer.class, scorer.getClass());
+        }
+        for (int nbPlayers = 2; nbPlayers <= 4; nbPlayers++) {
+            assertScores(scorer, nbPlayers);
+        }
+    }
+}
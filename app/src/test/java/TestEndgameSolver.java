@@ -0,0 +1,67 @@
+import lucky.gameobjects.CardSet;
+import lucky.players.EndgameSolver;
+import lucky.score.MaxScoreTable;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestEndgameSolver {
+    private static final double OPPONENT_THIRTEEN_PROBABILITY = 0.4;
+
+    // Plain expectimax without a transposition table
+    private static double expectedScore(int card1, int card2, int public1, int public2, long unseenCards,
+                                                                                            int nbDrawsLeft) {
+        if (nbDrawsLeft == 0) {
+            int maxScore = MaxScoreTable.getMaxScore(card1, card2, public1, public2);
+            double noThirteen = 1 - OPPONENT_THIRTEEN_PROBABILITY;
+            return maxScore > 0 ? noThirteen * 100 + (1 - noThirteen) * maxScore
+                                : noThirteen * MaxScoreTable.getPrivateScore(card1, card2);
+        }
+        double total = 0;
+        for (int drawn = 0; drawn < CardSet.NB_CARDS; drawn++) {
+            if (!CardSet.contains(unseenCards, drawn)) continue;
+            long remaining = CardSet.remove(unseenCards, drawn);
+            total += Math.max(expectedScore(card1, card2, public1, public2, remaining, nbDrawsLeft - 1),
+                     Math.max(expectedScore(card1, drawn, public1, public2, remaining, nbDrawsLeft - 1),
+                              expectedScore(card2, drawn, public1, public2, remaining, nbDrawsLeft - 1)));
+        }
+        return total / CardSet.size(unseenCards);
+    }
+
+    @Test
+    public void solverMatchesPlainExpectimax() {
+        Random random = new Random(30008);
+        EndgameSolver solver = new EndgameSolver();
+        double[] expectedScores = new double[3];
+        for (int position = 0; position < 50; position++) {
+            long cards = CardSet.FULL_DECK;
+            int[] hand = new int[3];
+            for (int i = 0; i < hand.length; i++) {
+                hand[i] = CardSet.randomCard(cards, random);
+                cards = CardSet.remove(cards, hand[i]);
+            }
+            int public1 = CardSet.randomCard(cards, random);
+            cards = CardSet.remove(cards, public1);
+            int public2 = CardSet.randomCard(cards, random);
+            cards = CardSet.remove(cards, public2);
+            // Some cards already discarded, as after a few rounds
+            for (int i = 0; i < 10; i++) {
+                cards = CardSet.remove(cards, CardSet.randomCard(cards, random));
+            }
+            int nbDrawsLeft = position % 3;
+
+            int best = solver.solve(hand, public1, public2, cards, nbDrawsLeft, OPPONENT_THIRTEEN_PROBABILITY,
+                                                                                                expectedScores);
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int discard = 0; discard < 3; discard++) {
+                double expected = expectedScore(hand[(discard + 1) % 3], hand[(discard + 2) % 3], public1, public2,
+                                                                                            cards, nbDrawsLeft);
+                assertEquals("position " + position, expected, expectedScores[discard], 1e-9);
+                bestScore = Math.max(bestScore, expected);
+            }
+            assertEquals("position " + position, bestScore, expectedScores[best], 1e-9);
+        }
+    }
+}
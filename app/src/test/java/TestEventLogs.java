@@ -0,0 +1,101 @@
+import lucky.GameEngine;
+import lucky.PropertiesLoader;
+import lucky.clock.VirtualGameClock;
+import lucky.events.LineEventWriter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestEventLogs {
+    // One round where the human seat's predefined move draws without discarding
+    private static Properties drawOnlyProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("isAuto", "true");
+        properties.setProperty("nbRounds", "1");
+        properties.setProperty("players.0", "human");
+        properties.setProperty("players.1", "basic");
+        properties.setProperty("players.2", "clever");
+        properties.setProperty("players.3", "random");
+        properties.setProperty("shared.initialcards", "8H,9H");
+        properties.setProperty("players.0.initialcards", "1H,2H");
+        properties.setProperty("players.1.initialcards", "1D,2D");
+        properties.setProperty("players.2.initialcards", "1C,2C");
+        properties.setProperty("players.3.initialcards", "1S,2S");
+        properties.setProperty("players.0.cardsPlayed", "3H");
+        properties.setProperty("players.1.cardsPlayed", "3D-1D");
+        properties.setProperty("players.2.cardsPlayed", "3C-3C");
+        properties.setProperty("players.3.cardsPlayed", "3S-2S");
+        return properties;
+    }
+
+    private static GameEngine newGame(Properties properties) {
+        GameEngine gameEngine = new GameEngine(properties);
+        gameEngine.setClock(new VirtualGameClock());
+        gameEngine.setVerbose(false);
+        return gameEngine;
+    }
+
+    @Test
+    public void textLogListsEveryTurnEvenWithoutADiscard() {
+        String log = newGame(drawOnlyProperties()).runGame();
+        assertEquals("Round1:P0-1H-2H-3H,P1-2D-3D,P2-1C-2C,P3-1S-3S,Score:0,0,0,0,\n"
+                     + "EndGame:9,10,3,16,\n"
+                     + "Winners:3", log);
+    }
+
+    @Test
+    public void textLogHasOneEntryPerTurn() {
+        for (int t = 1; t <= 5; t++) {
+            Properties properties = PropertiesLoader.loadPropertiesFile("properties/test" + t + ".properties");
+            String[] lines = newGame(properties).runGame().split("\n");
+            assertEquals(4 + 2, lines.length);
+            for (int round = 1; round <= 4; round++) {
+                String line = lines[round - 1];
+                assertEquals(line, "Round" + round + ":", line.substring(0, line.indexOf(':') + 1));
+                assertEquals(line, 4, line.split(",P|:P").length - 1);
+            }
+        }
+    }
+
+    @Test
+    public void lineWriterWritesOneEventPerLine() throws IOException {
+        StringWriter output = new StringWriter();
+        LineEventWriter writer = new LineEventWriter(output);
+        GameEngine gameEngine = newGame(drawOnlyProperties());
+        gameEngine.setEventSink(writer);
+        gameEngine.runGame();
+        writer.flush();
+        assertEquals("G " + GameEngine.SEED + " 8H-9H 1H-2H 1D-2D 1C-2C 1S-2S\n"
+                     + "R 1\n"
+                     + "D 0 3H\n"
+                     + "D 1 3D\n"
+                     + "X 1 1D\n"
+                     + "D 2 3C\n"
+                     + "X 2 3C\n"
+                     + "D 3 3S\n"
+                     + "X 3 2S\n"
+                     + "S 1 0,0,0,0\n"
+                     + "E 9,10,3,16 3\n", output.toString());
+    }
+
+    @Test
+    public void lineWriterAppendsGamesOneAfterAnother() throws IOException {
+        StringWriter output = new StringWriter();
+        try (LineEventWriter writer = new LineEventWriter(output)) {
+            for (int i = 0; i < 2; i++) {
+                GameEngine gameEngine = newGame(drawOnlyProperties());
+                gameEngine.setEventSink(writer);
+                gameEngine.runGame();
+            }
+        }
+        String[] lines = output.toString().split("\n");
+        assertEquals(2 * 11, lines.length);
+        for (int i = 0; i < 11; i++) {
+            assertEquals(lines[i], lines[i + 11]);
+        }
+    }
+}
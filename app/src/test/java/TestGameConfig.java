@@ -0,0 +1,114 @@
+import lucky.GameConfig;
+import lucky.PropertiesLoader;
+import lucky.gameobjects.CardSet;
+import lucky.players.PlayerSettings;
+import lucky.simulation.BatchResult;
+import lucky.simulation.SweepRunner;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestGameConfig {
+    private static Properties botProperties() {
+        return PropertiesLoader.loadPropertiesFile("properties/bots.properties");
+    }
+
+    private static void assertInvalid(Properties properties) {
+        try {
+            GameConfig.fromProperties(properties);
+            fail("Expected an invalid config");
+        } catch (IllegalArgumentException expected) {
+            // Rejected before any game is played
+        }
+    }
+
+    @Test
+    public void cardNamesAreResolvedOnce() {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/test5.properties");
+        GameConfig config = GameConfig.fromProperties(properties);
+        assertEquals(4, config.getNbPlayers());
+        assertEquals(GameConfig.DEFAULT_NB_ROUNDS, config.getNbRounds());
+        assertArrayEquals(new int[] {CardSet.parseCardId("7H"), CardSet.parseCardId("8H")},
+                                                                          config.getSharedInitialCards());
+        assertArrayEquals(new int[] {CardSet.parseCardId("1D"), CardSet.parseCardId("2D")}, config.getInitialCards(0));
+        assertEquals(4, config.getNbAutoMoves(2));
+        assertEquals(CardSet.parseCardId("3C"), config.getAutoDraw(2, 0));
+        assertEquals(CardSet.parseCardId("3C"), config.getAutoDiscard(2, 0));
+    }
+
+    @Test
+    public void playerSettingsAreParsedOnce() {
+        Properties properties = botProperties();
+        properties.setProperty("mcts.iterations", "300");
+        properties.setProperty("mcts.budget", "time");
+        properties.setProperty("endgame.depth", "2");
+        GameConfig config = GameConfig.fromProperties(properties);
+        properties.setProperty("mcts.iterations", "400");
+
+        PlayerSettings settings = config.getPlayerSettings();
+        assertEquals(300, settings.getMctsIterations());
+        assertEquals(PlayerSettings.DEFAULTS.getMctsThreads(), settings.getMctsThreads());
+        assertTrue(settings.isMctsTimeBudget());
+        assertEquals(PlayerSettings.DEFAULTS.getMctsParticles(), settings.getMctsParticles());
+        assertEquals(2, settings.getEndgameDepth());
+        assertSame(settings, config.withNbRounds(2).getPlayerSettings());
+    }
+
+    @Test
+    public void invalidPlayerSettingsAreRejected() {
+        String[][] badSettings = {{"mcts.iterations", "abc"}, {"mcts.iterations", "0"}, {"mcts.threads", "0"},
+                                  {"mcts.budget", "timed"}, {"mcts.particles", "-1"}, {"endgame.depth", "-1"},
+                                  {"mcts.iteration", "300"}};
+        for (String[] badSetting : badSettings) {
+            Properties properties = botProperties();
+            properties.setProperty(badSetting[0], badSetting[1]);
+            assertInvalid(properties);
+        }
+    }
+
+    @Test
+    public void invalidSettingsAreRejected() {
+        Properties unknownType = botProperties();
+        unknownType.setProperty("players.3", "cheater");
+        assertInvalid(unknownType);
+
+        Properties unknownCard = botProperties();
+        unknownCard.setProperty("shared.initialcards", "14H");
+        assertInvalid(unknownCard);
+
+        Properties dealtTwice = botProperties();
+        dealtTwice.setProperty("shared.initialcards", "8H,9H");
+        dealtTwice.setProperty("players.1.initialcards", "9H");
+        assertInvalid(dealtTwice);
+
+        Properties tooManyRounds = botProperties();
+        tooManyRounds.setProperty("nbRounds", "12");
+        assertInvalid(tooManyRounds);
+    }
+
+    @Test
+    public void sweepCoversTheGrid() {
+        Properties properties = botProperties();
+        properties.setProperty("sweep.players", "clever,basic,random,random;basic,random,random");
+        properties.setProperty("sweep.shared.initialcards", ";8H,9H");
+        properties.setProperty("sweep.nbRounds", "2,4");
+        List<GameConfig> configs = SweepRunner.grid(properties);
+        assertEquals(8, configs.size());
+        assertEquals(3, configs.get(7).getNbPlayers());
+        assertEquals(2, configs.get(7).getSharedInitialCards().length);
+        assertEquals(4, configs.get(7).getNbRounds());
+
+        List<BatchResult> results = new SweepRunner(2).run(configs, 50);
+        for (int i = 0; i < configs.size(); i++) {
+            assertEquals(50, results.get(i).getNbGames());
+            assertEquals(configs.get(i).getNbPlayers(), results.get(i).getNbSeats());
+        }
+    }
+}
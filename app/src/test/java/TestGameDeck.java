@@ -0,0 +1,53 @@
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import lucky.gameobjects.Rank;
+import lucky.gameobjects.Suit;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class TestGameDeck {
+    @Test
+    public void cardsAreSharedWithTheirScores() {
+        for (Suit suit : Suit.getSuitValues()) {
+            for (Rank rank : Rank.getRankValues()) {
+                GameCard card = GameCard.of(suit, rank);
+                assertSame(card, GameCard.of(CardSet.cardId(suit, rank)));
+                assertEquals(rank.getScoreCardValue() * suit.getMultiplicationFactor(), card.getScorePrivateCard());
+                assertEquals(rank.getScoreCardValue() * Suit.PUBLIC_CARD_MULTIPLICATION_FACTOR,
+                                                                                    card.getScorePublicCard());
+                assertEquals(rank.getRankCardValue() * suit.getMultiplicationFactor(), card.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void resetPackMatchesANewPack() {
+        GameDeck deck = GameDeck.getInstance();
+        GameHand fresh = deck.toHand();
+        GameHand pack = deck.toHand();
+        Random random = new Random(7);
+        for (int i = 0; i < 40; i++) {
+            pack.remove(pack.randomCard(random));
+        }
+        deck.resetPack(pack);
+
+        assertEquals(fresh.getCardList(), pack.getCardList());
+        assertEquals(CardSet.FULL_DECK, pack.getCardMask());
+        assertEquals(fresh.getNbThirteenPairs(), pack.getNbThirteenPairs());
+        for (int i = 0; i < pack.getNumberOfCards(); i++) {
+            assertSame(fresh.get(i), pack.get(i));
+        }
+
+        pack.clear();
+        assertEquals(0, pack.getNumberOfCards());
+        assertEquals(0, pack.getNbThirteenPairs());
+        assertFalse(pack.hasThirteenPair());
+    }
+}
@@ -0,0 +1,93 @@
+import lucky.GameEngine;
+import lucky.GameState;
+import lucky.events.GameEventBus;
+import lucky.events.GameEventSink;
+import lucky.events.SeenCardCounter;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+import lucky.gameobjects.Rank;
+import lucky.gameobjects.Suit;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestGameEventBus {
+    @Test
+    public void seatsOnlySeeTheirOwnDraws() {
+        GameEventBus bus = new GameEventBus();
+        List<Integer> seat1Draws = new ArrayList<>();
+        List<Integer> allDraws = new ArrayList<>();
+        List<Integer> seat1Discards = new ArrayList<>();
+        bus.subscribe(new GameEventSink() {
+            @Override
+            public void onCardDrawn(int player, GameCard card) {
+                seat1Draws.add(player);
+            }
+
+            @Override
+            public void onCardDiscarded(int player, GameCard card) {
+                seat1Discards.add(player);
+            }
+        }, 1);
+        bus.subscribe(new GameEventSink() {
+            @Override
+            public void onCardDrawn(int player, GameCard card) {
+                allDraws.add(player);
+            }
+        }, GameEventBus.ALL_SEATS);
+
+        GameCard card = GameCard.of(Suit.HEARTS, Rank.ACE);
+        for (int player = 0; player < 4; player++) {
+            bus.onCardDrawn(player, card);
+            bus.onCardDiscarded(player, card);
+        }
+        assertEquals(List.of(1), seat1Draws);
+        assertEquals(List.of(0, 1, 2, 3), allDraws);
+        assertEquals(List.of(0, 1, 2, 3), seat1Discards);
+    }
+
+    @Test
+    public void seenCardsMatchTheDiscards() {
+        Properties properties = new Properties();
+        properties.setProperty("players.0", "clever");
+        properties.setProperty("players.1", "clever");
+        properties.setProperty("players.2", "basic");
+        properties.setProperty("players.3", "random");
+        for (long seed = 0; seed < 50; seed++) {
+            GameEngine gameEngine = new GameEngine(properties, seed);
+            gameEngine.setVerbose(false);
+            gameEngine.runGame();
+            GameState gameState = gameEngine.getGameState();
+            SeenCardCounter seenCards = gameState.getSeenCards();
+
+            GameHand discards = new GameHand();
+            for (GameCard card : gameState.getCardsPlayed()) {
+                discards.insert(card);
+            }
+            assertEquals(16, seenCards.getNbCards());
+            assertEquals(discards.getCardMask(), seenCards.getCardMask());
+            for (Rank rank : Rank.getRankValues()) {
+                assertEquals(discards.getNbMatchingCards(rank), seenCards.getNbMatchingCards(rank));
+                assertEquals(CardSet.size(seenCards.getCardMask() & rankMask(rank)), seenCards.getNbCards(rank));
+            }
+            int total = 0;
+            for (Suit suit : Suit.getSuitValues()) {
+                total += seenCards.getNbCards(suit);
+            }
+            assertEquals(seenCards.getNbCards(), total);
+        }
+    }
+
+    private static long rankMask(Rank rank) {
+        long mask = CardSet.EMPTY;
+        for (Suit suit : Suit.getSuitValues()) {
+            mask = CardSet.add(mask, CardSet.cardId(suit, rank));
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,53 @@
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import lucky.gameobjects.Rank;
+import lucky.score.ThirteenTable;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestHandThirteenTracking {
+    private static int countThirteenPairs(GameHand hand) {
+        int count = 0;
+        for (int i = 0; i < hand.getNumberOfCards(); i++) {
+            for (int j = i + 1; j < hand.getNumberOfCards(); j++) {
+                if (ThirteenTable.isThirteen(hand.get(i).getRank(), hand.get(j).getRank())) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void trackingMatchesPairwiseScan() {
+        Random random = new Random(30008);
+        GameHand pack = GameDeck.getInstance().toHand();
+        GameHand hand = new GameHand();
+        for (int step = 0; step < 5000; step++) {
+            // Grow the hand up to a dozen cards, then shrink it, so every size is covered
+            boolean isGrowing = (step / 12) % 2 == 0;
+            if (isGrowing && !pack.isEmpty() || hand.isEmpty()) {
+                hand.dealACardToHand(pack, random);
+            } else {
+                GameCard card = hand.randomCard(random);
+                hand.remove(card);
+                pack.insert(card);
+            }
+
+            assertEquals("step " + step, countThirteenPairs(hand), hand.getNbThirteenPairs());
+            for (Rank rank : Rank.values()) {
+                int matching = 0;
+                for (GameCard card : hand.getCardList()) {
+                    if (ThirteenTable.isThirteen(rank, card.getRank())) {
+                        matching++;
+                    }
+                }
+                assertEquals("step " + step + " " + rank, matching, hand.getNbMatchingCards(rank));
+            }
+        }
+    }
+}
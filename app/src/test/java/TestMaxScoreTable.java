@@ -0,0 +1,91 @@
+import lucky.clock.VirtualGameClock;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import lucky.players.Player;
+import lucky.players.PlayerFactory;
+import lucky.score.CompositeMaxScoreStrategy;
+import lucky.score.MaxScoreTable;
+import lucky.score.ScoreActors;
+import lucky.score.ScoreStrategyFactory;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class TestMaxScoreTable {
+    private static final int NB_PLAYERS = 4;
+    private final CompositeMaxScoreStrategy compositeMaxScoreStrategy =
+                                         ScoreStrategyFactory.getInstance().getCompositeMaxScoreStrategy();
+
+    private static GameCard card(int cardId) {
+        return GameCard.of(CardSet.suitOf(cardId), CardSet.rankOf(cardId));
+    }
+
+    private static GameHand hand(int cardId1, int cardId2) {
+        GameHand hand = new GameHand();
+        hand.insert(card(cardId1));
+        hand.insert(card(cardId2));
+        return hand;
+    }
+
+    private static Player newPlayer() {
+        return PlayerFactory.getInstance().createPlayer("random", 0, new VirtualGameClock());
+    }
+
+    @Test
+    public void tableMatchesCompositeMaxScoreStrategy() {
+        Player player = newPlayer();
+        for (int private1 = 0; private1 < CardSet.NB_CARDS; private1++) {
+            for (int private2 = 0; private2 < CardSet.NB_CARDS; private2++) {
+                if (private1 == private2) continue;
+                player.setHand(hand(private1, private2));
+                for (int rank1 = 0; rank1 < CardSet.NB_RANKS; rank1++) {
+                    for (int rank2 = 0; rank2 < CardSet.NB_RANKS; rank2++) {
+                        // Public cards taken from two different suits so the playing area holds two cards
+                        int public1 = 2 * CardSet.NB_RANKS + rank1;
+                        int public2 = 3 * CardSet.NB_RANKS + rank2;
+                        int expected = compositeMaxScoreStrategy.calculateScore(player, hand(public1, public2));
+                        String position = CardSet.toString(CardSet.of(private1) | CardSet.of(private2)) + " "
+                                        + CardSet.toString(CardSet.of(public1) | CardSet.of(public2));
+                        assertEquals(position, expected, MaxScoreTable.getMaxScore(private1, private2,
+                                                                                      public1, public2));
+                        assertEquals(position, expected, MaxScoreTable.computeScore(private1, private2,
+                                                                                       public1, public2));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void endOfGameScoresMatchScoreActors() {
+        Random random = new Random(30008);
+        Player[] players = new Player[NB_PLAYERS];
+        for (int i = 0; i < NB_PLAYERS; i++) {
+            players[i] = newPlayer();
+        }
+        int[] expected = new int[NB_PLAYERS];
+        int[] actual = new int[NB_PLAYERS];
+        int[] privateCards = new int[2 * NB_PLAYERS];
+        for (int game = 0; game < 20000; game++) {
+            GameHand pack = GameDeck.getInstance().toHand();
+            GameHand playingArea = new GameHand();
+            playingArea.dealACardToHand(pack, random);
+            playingArea.dealACardToHand(pack, random);
+            for (int i = 0; i < NB_PLAYERS; i++) {
+                GameHand hand = new GameHand();
+                privateCards[2 * i] = hand.dealACardToHand(pack, random).getCardId();
+                privateCards[2 * i + 1] = hand.dealACardToHand(pack, random).getCardId();
+                players[i].setHand(hand);
+            }
+            ScoreActors.getInstance().calculateScoreEndOfGame(playingArea, players, expected);
+            MaxScoreTable.scoreEndOfGame(privateCards, playingArea.get(0).getCardId(),
+                                                              playingArea.get(1).getCardId(), actual);
+            assertArrayEquals("game " + game, expected, actual);
+        }
+    }
+}
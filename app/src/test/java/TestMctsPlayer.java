@@ -0,0 +1,106 @@
+import lucky.GameEngine;
+import lucky.GameState;
+import lucky.PropertiesLoader;
+import lucky.clock.VirtualGameClock;
+import lucky.events.GameEventSink;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+import lucky.gameobjects.Rank;
+import lucky.gameobjects.Suit;
+import lucky.players.MctsPlayer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TestMctsPlayer {
+    private static final int SEAT = 1;
+
+    // Follows the cards of the search seat and checks that each of its discards is in its hand
+    private static class MoveRecorder implements GameEventSink {
+        private final List<Integer> moves = new ArrayList<>();
+        private long hand;
+
+        @Override
+        public void onGameStarted(long seed, GameState gameState) {
+            hand = gameState.getPlayers()[SEAT].getHand().getCardMask();
+        }
+
+        @Override
+        public void onCardDrawn(int player, GameCard card) {
+            if (player == SEAT) {
+                assertEquals(2, CardSet.size(hand));
+                hand = CardSet.add(hand, card.getCardId());
+                moves.add(card.getCardId());
+            }
+        }
+
+        @Override
+        public void onCardDiscarded(int player, GameCard card) {
+            if (player == SEAT) {
+                assertTrue("Discarded a card not in hand", CardSet.contains(hand, card.getCardId()));
+                hand = CardSet.remove(hand, card.getCardId());
+                moves.add(card.getCardId());
+            }
+        }
+    }
+
+    private static List<Integer> playGame(String nbThreads, long seed) {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/bots.properties");
+        properties.setProperty("players.1", "mcts");
+        properties.setProperty("mcts.iterations", "300");
+        properties.setProperty("mcts.threads", nbThreads);
+        GameEngine gameEngine = new GameEngine(properties, seed);
+        gameEngine.setClock(new VirtualGameClock());
+        gameEngine.setVerbose(false);
+        MoveRecorder recorder = new MoveRecorder();
+        gameEngine.setEventSink(recorder);
+        gameEngine.runGame();
+        assertEquals(2, CardSet.size(recorder.hand));
+        assertEquals(recorder.hand, gameEngine.getGameState().getPlayers()[SEAT].getHand().getCardMask());
+        return recorder.moves;
+    }
+
+    @Test
+    public void movesAreLegalAndReproducible() {
+        for (long seed = 0; seed < 5; seed++) {
+            List<Integer> moves = playGame("1", seed);
+            assertEquals(2 * 4, moves.size());
+            assertEquals(moves, playGame("1", seed));
+        }
+    }
+
+    @Test
+    public void rootParallelSearchIsLegalAndReproducible() {
+        boolean isAnyMoveDifferent = false;
+        for (long seed = 0; seed < 5; seed++) {
+            List<Integer> moves = playGame("4", seed);
+            assertEquals(2 * 4, moves.size());
+            // Each thread searches a fixed share of the iterations from its own seed, whatever the scheduling
+            assertEquals(moves, playGame("4", seed));
+            isAnyMoveDifferent |= !moves.equals(playGame("1", seed));
+        }
+        assertTrue("Four trees should not always agree with one tree", isAnyMoveDifferent);
+    }
+
+    @Test
+    public void emptyPackDiscardsTheLowestCard() {
+        MctsPlayer player = new MctsPlayer(0, new VirtualGameClock(), 300, 2, false);
+        GameHand hand = new GameHand();
+        GameCard king = GameCard.of(Suit.SPADES, Rank.KING);
+        GameCard three = GameCard.of(Suit.HEARTS, Rank.THREE);
+        hand.insert(king);
+        hand.insert(three);
+        player.setHand(hand);
+
+        assertSame(three, player.getSelectedCard(new GameHand(), new SplittableRandom(1)));
+        assertEquals(2, hand.getNumberOfCards());
+    }
+}
@@ -0,0 +1,56 @@
+import lucky.GameEngine;
+import lucky.GameState;
+import lucky.events.GameEventSink;
+import lucky.gameobjects.GameCard;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class TestRandomStreams {
+    private static List<String> playDeal(String seat0Type, long seed) {
+        Properties properties = new Properties();
+        properties.setProperty("players.0", seat0Type);
+        properties.setProperty("players.1", "random");
+        properties.setProperty("players.2", "random");
+        properties.setProperty("players.3", "basic");
+        List<String> deal = new ArrayList<>();
+        GameEngine gameEngine = new GameEngine(properties, seed);
+        gameEngine.setVerbose(false);
+        gameEngine.setEventSink(new GameEventSink() {
+            @Override
+            public void onGameStarted(long seed, GameState gameState) {
+                deal.add(gameState.getPlayingArea().toString());
+                for (int i = 0; i < gameState.getNbPlayers(); i++) {
+                    deal.add(gameState.getPlayers()[i].getHand().toString());
+                }
+            }
+
+            @Override
+            public void onCardDrawn(int player, GameCard card) {
+                deal.add(player + ":" + card);
+            }
+        });
+        gameEngine.runGame();
+        return deal;
+    }
+
+    @Test
+    public void botsDoNotChangeTheCardsDealt() {
+        for (long seed = 0; seed < 20; seed++) {
+            List<String> deal = playDeal("random", seed);
+            assertEquals("seed " + seed, deal, playDeal("clever", seed));
+            assertEquals("seed " + seed, deal, playDeal("basic", seed));
+            assertEquals("seed " + seed, deal, playDeal("random", seed));
+        }
+    }
+
+    @Test
+    public void gamesDependOnTheirSeed() {
+        assertNotEquals(playDeal("random", 1), playDeal("random", 2));
+    }
+}
@@ -0,0 +1,140 @@
+import lucky.GameEngine;
+import lucky.PropertiesLoader;
+import lucky.events.BinaryReplayWriter;
+import lucky.events.GameRecord;
+import lucky.events.ReplayReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestReplay {
+    private static final int NB_GAMES = 5;
+
+    @Test
+    public void recordedGamesReplayToTheSameScores() throws IOException {
+        Path replayFile = Files.createTempFile("lucky", ".lt13");
+        List<int[]> expectedScores = new ArrayList<>();
+        List<Properties> gameProperties = new ArrayList<>();
+        try (BinaryReplayWriter writer = BinaryReplayWriter.toFile(replayFile)) {
+            for (int t = 1; t <= NB_GAMES; t++) {
+                Properties properties = PropertiesLoader.loadPropertiesFile("properties/test" + t + ".properties");
+                GameEngine gameEngine = new GameEngine(properties);
+                gameEngine.setVerbose(false);
+                gameEngine.setEventSink(writer);
+                gameEngine.runGame();
+                expectedScores.add(gameEngine.getGameState().getScores().clone());
+                gameProperties.add(properties);
+            }
+        }
+
+        try (ReplayReader reader = new ReplayReader(replayFile)) {
+            int[] scores = new int[4];
+            for (int t = 0; t < NB_GAMES; t++) {
+                GameRecord record = reader.next();
+                assertEquals(GameEngine.SEED, record.getSeed());
+                for (int i = 0; i < scores.length; i++) {
+                    scores[i] = record.getScore(i);
+                }
+                assertArrayEquals("test" + (t + 1), expectedScores.get(t), scores);
+
+                record.rescore(scores);
+                assertArrayEquals("rescored test" + (t + 1), expectedScores.get(t), scores);
+
+                GameEngine replay = new GameEngine(record.toProperties(gameProperties.get(t)));
+                replay.setVerbose(false);
+                replay.runGame();
+                assertArrayEquals("replayed test" + (t + 1), expectedScores.get(t), replay.getGameState().getScores());
+            }
+            assertNull(reader.next());
+        } finally {
+            Files.delete(replayFile);
+        }
+    }
+
+    @Test
+    public void turnsOfSeatsBeyondTheFourthAreRecorded() throws IOException {
+        for (int nbPlayers : new int[] {5, 8}) {
+            Properties properties = new Properties();
+            properties.setProperty("nbPlayers", Integer.toString(nbPlayers));
+            properties.setProperty("nbRounds", "3");
+            for (int i = 0; i < nbPlayers; i++) {
+                properties.setProperty("players." + i, i % 2 == 0 ? "clever" : "basic");
+            }
+            Path replayFile = Files.createTempFile("lucky", ".lt13");
+            GameEngine gameEngine = new GameEngine(properties, 5);
+            gameEngine.setVerbose(false);
+            try (BinaryReplayWriter writer = BinaryReplayWriter.toFile(replayFile)) {
+                gameEngine.setEventSink(writer);
+                gameEngine.runGame();
+            }
+
+            try (ReplayReader reader = new ReplayReader(replayFile)) {
+                GameRecord record = reader.next();
+                assertEquals(nbPlayers, record.getNbPlayers());
+                assertEquals(3 * nbPlayers, record.getNbTurns());
+                for (int turn = 0; turn < record.getNbTurns(); turn++) {
+                    assertEquals(turn % nbPlayers, record.getTurnPlayer(turn));
+                    assertTrue(record.getDrawnCard(turn) >= 0);
+                    assertTrue(record.getDiscardedCard(turn) >= 0);
+                }
+                int[] scores = new int[nbPlayers];
+                for (int i = 0; i < nbPlayers; i++) {
+                    scores[i] = record.getScore(i);
+                }
+                assertArrayEquals(gameEngine.getGameState().getScores(), scores);
+
+                GameEngine replay = new GameEngine(record.toProperties(properties));
+                replay.setVerbose(false);
+                replay.runGame();
+                assertArrayEquals(scores, replay.getGameState().getScores());
+                assertNull(reader.next());
+            } finally {
+                Files.delete(replayFile);
+            }
+        }
+    }
+
+    @Test
+    public void truncatedRecordsAreReported() throws IOException {
+        Path replayFile = Files.createTempFile("lucky", ".lt13");
+        try {
+            try (BinaryReplayWriter writer = BinaryReplayWriter.toFile(replayFile)) {
+                for (int t = 1; t <= 3; t++) {
+                    GameEngine gameEngine = new GameEngine(
+                            PropertiesLoader.loadPropertiesFile("properties/test" + t + ".properties"));
+                    gameEngine.setVerbose(false);
+                    gameEngine.setEventSink(writer);
+                    gameEngine.runGame();
+                }
+            }
+            // A batch killed while writing its last record
+            byte[] bytes = Files.readAllBytes(replayFile);
+            Files.write(replayFile, Arrays.copyOf(bytes, bytes.length - 5));
+
+            try (ReplayReader reader = new ReplayReader(replayFile)) {
+                assertEquals(GameEngine.SEED, reader.next().getSeed());
+                assertEquals(GameEngine.SEED, reader.next().getSeed());
+                try {
+                    reader.next();
+                    fail("Expected the truncated record to be reported");
+                } catch (IOException expected) {
+                    assertTrue(expected.getMessage().startsWith("Truncated replay record"));
+                }
+            }
+        } finally {
+            Files.delete(replayFile);
+        }
+    }
+}
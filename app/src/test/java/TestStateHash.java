@@ -0,0 +1,93 @@
+import lucky.GameEngine;
+import lucky.GameObserver;
+import lucky.GameState;
+import lucky.gameobjects.CardSet;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameDeck;
+import lucky.gameobjects.GameHand;
+import lucky.gameobjects.ZobristKeys;
+import lucky.players.Player;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestStateHash {
+    private static long scratchHash(GameState gameState) {
+        long discards = CardSet.EMPTY;
+        for (GameCard card : gameState.getCardsPlayed()) {
+            discards = CardSet.add(discards, card.getCardId());
+        }
+        long hash = ZobristKeys.hash(ZobristKeys.PLAYING_AREA, gameState.getPlayingArea().getCardMask())
+                  ^ ZobristKeys.hash(ZobristKeys.PACK, gameState.getPack().getCardMask())
+                  ^ ZobristKeys.hash(ZobristKeys.DISCARDS, discards);
+        Player[] players = gameState.getPlayers();
+        for (int i = 0; i < players.length; i++) {
+            hash ^= ZobristKeys.hash(ZobristKeys.seat(i), players[i].getHand().getCardMask());
+        }
+        return hash;
+    }
+
+    @Test
+    public void handHashDoesNotDependOnOrder() {
+        GameHand pack = GameDeck.getInstance().toHand();
+        GameHand forward = new GameHand(ZobristKeys.seat(0));
+        GameHand backward = new GameHand(ZobristKeys.seat(0));
+        for (int i = 0; i < 10; i++) {
+            forward.insert(pack.get(i));
+            backward.insert(pack.get(9 - i));
+        }
+        assertEquals(forward.getHash(), backward.getHash());
+        assertEquals(ZobristKeys.hash(ZobristKeys.seat(0), forward.getCardMask()), forward.getHash());
+
+        GameHand otherSeat = new GameHand(ZobristKeys.seat(1));
+        for (int i = 0; i < 10; i++) {
+            otherSeat.insert(pack.get(i));
+        }
+        assertNotEquals(forward.getHash(), otherSeat.getHash());
+
+        Random random = new Random(3);
+        for (int i = 0; i < 30; i++) {
+            pack.remove(pack.randomCard(random));
+        }
+        assertEquals(ZobristKeys.hash(ZobristKeys.LOOSE, pack.getCardMask()), pack.getHash());
+        GameDeck.getInstance().resetPack(pack);
+        assertEquals(GameDeck.getInstance().toHand().getHash(), pack.getHash());
+        pack.clear();
+        assertEquals(0, pack.getHash());
+    }
+
+    @Test
+    public void stateHashFollowsEveryTurn() {
+        Properties properties = new Properties();
+        properties.setProperty("players.0", "clever");
+        properties.setProperty("players.1", "basic");
+        properties.setProperty("players.2", "random");
+        properties.setProperty("players.3", "random");
+        Set<Long> hashes = new HashSet<>();
+        int[] nbTurns = new int[1];
+        for (long seed = 0; seed < 20; seed++) {
+            GameEngine gameEngine = new GameEngine(properties, seed);
+            gameEngine.setVerbose(false);
+            gameEngine.setObserver(new GameObserver() {
+                @Override
+                public void onTurnEnded(GameState gameState, int player) {
+                    assertEquals(scratchHash(gameState), gameState.getHash());
+                    hashes.add(gameState.getHash());
+                    nbTurns[0]++;
+                }
+            });
+            gameEngine.runGame();
+            assertEquals(scratchHash(gameEngine.getGameState()), gameEngine.getStateHash());
+        }
+        // Every turn reaches a new position, so distinct positions get distinct hashes
+        assertTrue(nbTurns[0] > 0);
+        assertEquals(nbTurns[0], hashes.size());
+    }
+}
@@ -0,0 +1,43 @@
+import lucky.GameConfig;
+import lucky.PropertiesLoader;
+import lucky.simulation.ComparisonResult;
+import lucky.simulation.StrategyComparator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestStrategyComparator {
+    private static GameConfig game2Config() {
+        return GameConfig.fromProperties(PropertiesLoader.loadPropertiesFile("properties/game2.properties"));
+    }
+
+    @Test
+    public void betterStrategyIsFoundEarly() {
+        StrategyComparator comparator = StrategyComparator.forPlayerTypes(game2Config(), 0, "clever", "random", 2);
+        ComparisonResult result = comparator.compare(20000);
+        assertEquals(ComparisonResult.Decision.A_BETTER, result.getDecision());
+        assertTrue(result.getNbGames() < 20000);
+        assertTrue(result.getWinRateA() > result.getWinRateB());
+    }
+
+    @Test
+    public void identicalStrategiesAreInconclusive() {
+        StrategyComparator comparator = StrategyComparator.forPlayerTypes(game2Config(), 0, "basic", "basic", 2);
+        comparator.setMetric(StrategyComparator.Metric.MEAN_SCORE);
+        ComparisonResult result = comparator.compare(300);
+        assertEquals(ComparisonResult.Decision.INCONCLUSIVE, result.getDecision());
+        assertEquals(300, result.getNbGames());
+        assertEquals(result.getMeanScoreA(), result.getMeanScoreB(), 0);
+    }
+
+    @Test
+    public void stoppingPointDoesNotDependOnThreads() {
+        GameConfig config = game2Config();
+        ComparisonResult oneThread = StrategyComparator.forPlayerTypes(config, 0, "clever", "basic", 1).compare(5000);
+        ComparisonResult fourThreads = StrategyComparator.forPlayerTypes(config, 0, "clever", "basic", 4).compare(5000);
+        assertEquals(oneThread.getDecision(), fourThreads.getDecision());
+        assertEquals(oneThread.getNbGames(), fourThreads.getNbGames());
+        assertEquals(oneThread.getLogLikelihoodRatio(), fourThreads.getLogLikelihoodRatio(), 0);
+    }
+}
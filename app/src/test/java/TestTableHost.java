@@ -0,0 +1,131 @@
+import lucky.GameConfig;
+import lucky.GameObserver;
+import lucky.GameState;
+import lucky.PropertiesLoader;
+import lucky.events.NoOpEventSink;
+import lucky.gameobjects.GameCard;
+import lucky.gameobjects.GameHand;
+import lucky.host.Table;
+import lucky.host.TableHost;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TestTableHost {
+    private static final int NB_TABLES = 200;
+
+    private static GameConfig humanConfig() {
+        Properties properties = PropertiesLoader.loadPropertiesFile("properties/bots.properties");
+        properties.setProperty("players.0", "human");
+        return GameConfig.fromProperties(properties);
+    }
+
+    @Test
+    public void humanMovesFromAnotherThreadFinishEveryTable() throws Exception {
+        BlockingQueue<Integer> waitingTables = new LinkedBlockingQueue<>();
+        List<Table> tables = new ArrayList<>();
+        try (TableHost host = new TableHost()) {
+            for (int i = 0; i < NB_TABLES; i++) {
+                int tableIndex = i;
+                GameObserver observer = new GameObserver() {
+                    @Override
+                    public void onHumanTurn(GameState gameState, int player) {
+                        waitingTables.add(tableIndex);
+                    }
+                };
+                tables.add(host.openTable(humanConfig(), i, observer, NoOpEventSink.getInstance()));
+            }
+
+            // A single thread plays the human seat of every table, like a front end would
+            int nbMoves = 0;
+            while (nbMoves < NB_TABLES * GameConfig.DEFAULT_NB_ROUNDS) {
+                Integer tableIndex = waitingTables.poll(10, TimeUnit.SECONDS);
+                if (tableIndex == null) {
+                    fail("No table waiting for a human move");
+                }
+                Table table = tables.get(tableIndex);
+                table.selectCard(table.getGameState().getPlayers()[0].getHand().get(0));
+                nbMoves++;
+            }
+
+            for (Table table : tables) {
+                List<Integer> winners = table.getWinners().get(10, TimeUnit.SECONDS);
+                assertFalse(winners.isEmpty());
+                int[] scores = table.getGameState().getScores();
+                for (int winner : winners) {
+                    for (int score : scores) {
+                        assertTrue(scores[winner] >= score);
+                    }
+                }
+            }
+            assertEquals(0, host.getNbOpenTables());
+        }
+    }
+
+    @Test
+    public void cardsTheHumanDoesNotHoldAreRejected() throws Exception {
+        BlockingQueue<Integer> waitingSeats = new LinkedBlockingQueue<>();
+        GameObserver observer = new GameObserver() {
+            @Override
+            public void onHumanTurn(GameState gameState, int player) {
+                waitingSeats.add(player);
+            }
+        };
+        try (TableHost host = new TableHost()) {
+            Table table = host.openTable(humanConfig(), 3, observer, NoOpEventSink.getInstance());
+            for (int round = 0; round < GameConfig.DEFAULT_NB_ROUNDS; round++) {
+                Integer seat = waitingSeats.poll(10, TimeUnit.SECONDS);
+                if (seat == null) {
+                    fail("No human move asked for");
+                }
+                GameHand hand = table.getGameState().getPlayers()[seat].getHand();
+                GameCard notHeld = table.getGameState().getPlayers()[1].getHand().get(0);
+                assertFalse(table.selectCard(notHeld));
+                assertFalse(table.selectCard(null));
+                assertFalse(table.isOver());
+                assertEquals(3, hand.getNumberOfCards());
+                assertTrue(table.selectCard(hand.get(0)));
+            }
+
+            table.getWinners().get(10, TimeUnit.SECONDS);
+            assertEquals(2, table.getGameState().getPlayers()[0].getHand().getNumberOfCards());
+            assertFalse(table.selectCard(table.getGameState().getPlayers()[0].getHand().get(0)));
+        }
+    }
+
+    @Test
+    public void closingTheHostCancelsWaitingTables() throws Exception {
+        CountDownLatch waiting = new CountDownLatch(1);
+        GameObserver observer = new GameObserver() {
+            @Override
+            public void onHumanTurn(GameState gameState, int player) {
+                waiting.countDown();
+            }
+        };
+        TableHost host = new TableHost();
+        Table table = host.openTable(humanConfig(), 1, observer, NoOpEventSink.getInstance());
+        assertTrue(waiting.await(10, TimeUnit.SECONDS));
+        assertEquals(1, host.getNbOpenTables());
+
+        host.close();
+        try {
+            table.getWinners().get(10, TimeUnit.SECONDS);
+            fail("Expected the waiting table to be cancelled");
+        } catch (CancellationException expected) {
+            // The game thread was interrupted while waiting for the human move
+        }
+        assertEquals(0, host.getNbOpenTables());
+    }
+}
@@ -0,0 +1,38 @@
+import lucky.gameobjects.Rank;
+import lucky.score.ScoreActors;
+import lucky.score.ThirteenTable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestThirteenTable {
+    private final ScoreActors scoreActors = ScoreActors.getInstance();
+
+    @Test
+    public void pairTableMatchesPossibleValues() {
+        for (Rank rank1 : Rank.values()) {
+            for (Rank rank2 : Rank.values()) {
+                boolean expected = scoreActors.isThirteenFromPossibleValues(rank1.getPossibleSumValues(),
+                                                                 rank2.getPossibleSumValues(), null, null);
+                assertEquals(rank1 + "+" + rank2, expected, ThirteenTable.isThirteen(rank1, rank2));
+            }
+        }
+    }
+
+    @Test
+    public void quadTableMatchesPossibleValues() {
+        for (Rank rank1 : Rank.values()) {
+            for (Rank rank2 : Rank.values()) {
+                for (Rank rank3 : Rank.values()) {
+                    for (Rank rank4 : Rank.values()) {
+                        boolean expected = scoreActors.isThirteenFromPossibleValues(rank1.getPossibleSumValues(),
+                                rank2.getPossibleSumValues(), rank3.getPossibleSumValues(),
+                                rank4.getPossibleSumValues());
+                        assertEquals(rank1 + "+" + rank2 + "+" + rank3 + "+" + rank4, expected,
+                                                         ThirteenTable.isThirteen(rank1, rank2, rank3, rank4));
+                    }
+                }
+            }
+        }
+    }
+}